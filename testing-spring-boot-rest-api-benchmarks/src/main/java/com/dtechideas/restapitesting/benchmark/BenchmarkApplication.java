@@ -0,0 +1,70 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.TestingSpringBootRestApiApplication;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeBatchResult;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/* Starts the real application against an in-memory H2 database, so the numbers do not depend on a MySQL server */
+final class BenchmarkApplication {
+
+	private static final List<String> DEFAULT_ARGS = Arrays.asList(
+			"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+			"--spring.datasource.driverClassName=org.h2.Driver",
+			"--spring.datasource.username=sa",
+			"--spring.datasource.password=",
+			"--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+			"--spring.jpa.hibernate.ddl-auto=create-drop",
+			"--spring.jpa.show-sql=false",
+			"--server.port=0",
+			"--logging.level.root=WARN");
+
+	private BenchmarkApplication() {
+	}
+
+	/*
+	 * Passed as command line arguments, they have to win over the MySQL settings in application.properties. An extra
+	 * argument replaces the default for the same property, repeated command line properties would be joined instead.
+	 */
+	static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+		List<String> args = new ArrayList<>();
+		for (String defaultArg : DEFAULT_ARGS) {
+			if (Arrays.stream(extraArgs).noneMatch(extraArg -> propertyName(extraArg).equals(propertyName(defaultArg)))) {
+				args.add(defaultArg);
+			}
+		}
+		args.addAll(Arrays.asList(extraArgs));
+		return new SpringApplicationBuilder(TestingSpringBootRestApiApplication.class)
+				.web(webApplicationType)
+				.run(args.toArray(new String[0]));
+	}
+
+	static List<Long> seed(EmployeeService employeeService, int count) {
+		List<Employee> employees = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			employees.add(employee(i));
+		}
+		List<Long> ids = new ArrayList<>(count);
+		for (EmployeeBatchResult result : employeeService.saveEmployees(employees)) {
+			ids.add(result.getEmployee().getId());
+		}
+		return ids;
+	}
+
+	private static String propertyName(String arg) {
+		int separator = arg.indexOf('=');
+		return separator < 0 ? arg : arg.substring(0, separator);
+	}
+
+	static Employee employee(long number) {
+		return new Employee("First" + number, "Last" + number, "employee" + number + "@dtechideas.com");
+	}
+}
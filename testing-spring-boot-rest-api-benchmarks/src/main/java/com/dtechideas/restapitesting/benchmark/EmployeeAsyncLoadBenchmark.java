@@ -0,0 +1,143 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.async.EmployeeRequestExecutor;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/*
+ * Blocking against asynchronous EmployeeController over real HTTP with the same 8 Tomcat threads and 8 connections,
+ * while every SQL statement takes 20 ms. Database throughput is the same in both modes, the difference is how many
+ * requests can be in flight and whether a request that needs no database (health) still gets a thread. The blocking
+ * mode has no EmployeeRequestExecutor, its requests in flight are bounded by the Tomcat threads and peakInFlight stays 0.
+ *
+ * JMH adds aux counters up across measurement iterations, peakInFlight is only meaningful with a single one.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 1, time = 20)
+@Fork(1)
+public class EmployeeAsyncLoadBenchmark {
+
+	private static final int THREADS = 8;
+	private static final int CLIENTS = 64;
+	private static final long STATEMENT_LATENCY_MILLIS = 20;
+
+	@Param({ "false", "true" })
+	private boolean async;
+
+	private ConfigurableApplicationContext context;
+	private String baseUrl;
+	private EmployeeRequestExecutor employeeRequestExecutor;
+
+	/* Responses of the load clients rejected because EmployeeRequestExecutor was full, reset by JMH every iteration */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Rejections {
+
+		public long tooManyRequests;
+	}
+
+	/* Highest EmployeeRequestExecutor in-flight count the health probe saw, there is one probe thread */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class InFlight {
+
+		public int peakInFlight;
+	}
+
+	/* Set by class name through hibernate.session_factory.statement_inspector */
+	public static class SlowStatements implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String inspect(String sql) {
+			try {
+				Thread.sleep(STATEMENT_LATENCY_MILLIS);
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			}
+			return sql;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+				"--spring.jpa.properties." + AvailableSettings.STATEMENT_INSPECTOR + "=" + SlowStatements.class.getName(),
+				"--employees.metrics.enabled=false", "--management.health.db.enabled=false",
+				"--server.tomcat.threads.max=" + THREADS, "--server.tomcat.threads.min-spare=" + THREADS,
+				"--spring.datasource.hikari.maximum-pool-size=" + THREADS, "--employees.async.enabled=" + this.async,
+				"--employees.async.pool-size=" + THREADS, "--employees.async.queue-capacity=" + (CLIENTS * 2));
+		BenchmarkApplication.seed(this.context.getBean(EmployeeService.class), 1);
+		this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) this.context).getWebServer().getPort();
+		this.employeeRequestExecutor = this.async ? this.context.getBean(EmployeeRequestExecutor.class) : null;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	@Group("load")
+	@GroupThreads(CLIENTS)
+	public int getEmployeesPage(Rejections rejections) throws IOException {
+		int status = get(this.baseUrl + "/api/v1/employees");
+		if (status == 429) {
+			rejections.tooManyRequests++;
+		}
+		return status;
+	}
+
+	@Benchmark
+	@Group("load")
+	@GroupThreads(1)
+	public int health(InFlight inFlight) throws IOException {
+		int status = get(this.baseUrl + "/actuator/health");
+		if (this.employeeRequestExecutor != null) {
+			inFlight.peakInFlight = Math.max(inFlight.peakInFlight, this.employeeRequestExecutor.inFlight());
+		}
+		return status;
+	}
+
+	private static int get(String url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		int status = connection.getResponseCode();
+		try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+			while (body != null && body.read() != -1) {
+				// drain the body so the connection can be reused
+			}
+		}
+		return status;
+	}
+}
@@ -0,0 +1,152 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.converter.ContentCoding;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/*
+ * CPU per GET /api/v1/employees?unpaged=true: "identity" only serializes, "gzip"/"deflate" serialize and compress on
+ * every request as Tomcat does, the "precompressed" variants write the body EmployeeBulkBodyCache compressed once for
+ * the snapshot version. The bytes on the wire of each coding are printed once per trial. The service is a stub that
+ * returns the same versioned list, so neither the database nor the snapshot is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeCompressionBenchmark {
+
+	@Param({ "100", "100000" })
+	private int size;
+
+	private List<Employee> employees;
+	private ObjectWriter employeesWriter;
+	private EmployeeBulkBodyCache employeeBulkBodyCache;
+	private final CountingOutputStream wire = new CountingOutputStream();
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		this.employeesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+		this.employees = new ArrayList<>(this.size);
+		for (long id = 1; id <= this.size; id++) {
+			Employee employee = BenchmarkApplication.employee(id);
+			employee.setId(id);
+			employee.setVersion(id % 5);
+			this.employees.add(employee);
+		}
+		EmployeeService employeeService = (EmployeeService) Proxy.newProxyInstance(EmployeeService.class.getClassLoader(),
+				new Class<?>[] { EmployeeService.class }, (proxy, method, arguments) -> {
+					switch (method.getName()) {
+					case "getAllEmployees":
+						return this.employees;
+					case "getEmployeesVersion":
+						return OptionalLong.of(1);
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+		this.employeeBulkBodyCache = new EmployeeBulkBodyCache(employeeService, objectMapper, DataSize.ofKilobytes(2));
+		long identity = identity();
+		long gzip = perRequest(ContentCoding.GZIP);
+		long deflate = perRequest(ContentCoding.DEFLATE);
+		System.out.printf("%nbytes on the wire for %d employees - identity: %d, gzip: %d (%.1f%%), deflate: %d (%.1f%%)%n", this.size,
+				identity, gzip, 100.0 * gzip / identity, deflate, 100.0 * deflate / identity);
+	}
+
+	@Benchmark
+	public long identity() throws IOException {
+		this.wire.reset();
+		this.employeesWriter.writeValue(this.wire, this.employees);
+		return this.wire.count;
+	}
+
+	@Benchmark
+	public long gzip() throws IOException {
+		return perRequest(ContentCoding.GZIP);
+	}
+
+	@Benchmark
+	public long deflate() throws IOException {
+		return perRequest(ContentCoding.DEFLATE);
+	}
+
+	@Benchmark
+	public long gzipPrecompressed() throws IOException {
+		return precompressed(ContentCoding.GZIP);
+	}
+
+	@Benchmark
+	public long deflatePrecompressed() throws IOException {
+		return precompressed(ContentCoding.DEFLATE);
+	}
+
+	private long perRequest(ContentCoding contentCoding) throws IOException {
+		this.wire.reset();
+		try (OutputStream outputStream = contentCoding.wrap(this.wire)) {
+			this.employeesWriter.writeValue(outputStream, this.employees);
+		}
+		return this.wire.count;
+	}
+
+	private long precompressed(ContentCoding contentCoding) throws IOException {
+		this.wire.reset();
+		byte[] body = this.employeeBulkBodyCache.getAllEmployees(MediaType.APPLICATION_JSON, contentCoding)
+				.orElseThrow(() -> new IllegalStateException("the body is below min-response-size"));
+		this.wire.write(body, 0, body.length);
+		return this.wire.count;
+	}
+
+	/* Stands in for the socket: counts what is written and keeps nothing */
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		private void reset() {
+			this.count = 0;
+		}
+
+		@Override
+		public void write(int b) {
+			this.count++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			this.count += length;
+		}
+
+		/* The writers close their target, the count has to survive that */
+		@Override
+		public void close() {
+		}
+	}
+}
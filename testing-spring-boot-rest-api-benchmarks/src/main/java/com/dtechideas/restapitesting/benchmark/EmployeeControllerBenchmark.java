@@ -0,0 +1,113 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* Full MockMvc dispatch (filters, argument resolution, message conversion) for every EmployeeController endpoint */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerBenchmark {
+
+	private static final int EMPLOYEES = 1000;
+
+	private ConfigurableApplicationContext context;
+	private MockMvc mockMvc;
+	private ObjectMapper objectMapper;
+	private List<Long> ids;
+	private final AtomicLong nextNumber = new AtomicLong(EMPLOYEES);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+		this.mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) this.context).build();
+		this.objectMapper = this.context.getBean(ObjectMapper.class);
+		this.ids = BenchmarkApplication.seed(this.context.getBean(EmployeeService.class), EMPLOYEES);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public String getAllEmployeesPage() throws Exception {
+		return perform(get("/api/v1/employees"), HttpStatus.OK);
+	}
+
+	@Benchmark
+	public String getAllEmployeesUnpaged() throws Exception {
+		return perform(get("/api/v1/employees").param("unpaged", "true"), HttpStatus.OK);
+	}
+
+	@Benchmark
+	public String getEmployeeById() throws Exception {
+		return perform(get("/api/v1/employees/{id}", randomId()), HttpStatus.OK);
+	}
+
+	@Benchmark
+	public String updateEmployee() throws Exception {
+		Long id = randomId();
+		Employee employee = new Employee("Updated", "Last" + id, "updated" + id + "@dtechideas.com");
+		return perform(put("/api/v1/employees/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content(this.objectMapper.writeValueAsBytes(employee)), HttpStatus.OK);
+	}
+
+	/* POST and DELETE are measured together so the table keeps its size across iterations */
+	@Benchmark
+	public String createAndDeleteEmployee() throws Exception {
+		Employee employee = BenchmarkApplication.employee(this.nextNumber.incrementAndGet());
+		String created = perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(this.objectMapper.writeValueAsBytes(employee)), HttpStatus.CREATED);
+		Long id = this.objectMapper.readValue(created, Employee.class).getId();
+		return perform(delete("/api/v1/employees/{id}", id), HttpStatus.OK);
+	}
+
+	private String perform(RequestBuilder request, HttpStatus expectedStatus) throws Exception {
+		MockHttpServletResponse response = this.mockMvc.perform(request).andReturn().getResponse();
+		if (response.getStatus() != expectedStatus.value()) {
+			throw new IllegalStateException("Expected " + expectedStatus + " but got " + response.getStatus());
+		}
+		return response.getContentAsString();
+	}
+
+	private Long randomId() {
+		return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+	}
+}
@@ -0,0 +1,70 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/*
+ * Deleting many employees one id at a time against the chunked "id in (...)" bulk delete. Every iteration seeds a
+ * fresh set of employees and times deleting all of them once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EmployeeDeleteBenchmark {
+
+	@Param({ "5000" })
+	private int employees;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private List<Long> ids;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.NONE, "--employees.metrics.enabled=false");
+		this.employeeService = this.context.getBean(EmployeeService.class);
+	}
+
+	@Setup(Level.Iteration)
+	public void seed() {
+		this.ids = BenchmarkApplication.seed(this.employeeService, this.employees);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public void deleteEmployeeById() {
+		for (Long id : this.ids) {
+			this.employeeService.deleteEmployeeById(id);
+		}
+	}
+
+	@Benchmark
+	public int deleteEmployeesByIds() {
+		return this.employeeService.deleteEmployeesByIds(this.ids);
+	}
+}
@@ -0,0 +1,65 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeIdGenerator;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/*
+ * Concurrent saveEmployee() throughput with one id per sequence round-trip (the old behaviour) against block
+ * allocation. Every allocation size runs in its own fork, so the in-memory schema and its sequence are created with
+ * that increment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class EmployeeIdAllocationBenchmark {
+
+	@Param({ "1", "50" })
+	private int allocationSize;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	/* Numbers of the employees created during the run, every insert needs a unique email */
+	private final AtomicLong nextNumber = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.NONE,
+				"--" + EmployeeIdGenerator.ALLOCATION_SIZE_SETTING + "=" + this.allocationSize, "--employees.metrics.enabled=false");
+		this.employeeService = this.context.getBean(EmployeeService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Employee saveEmployee() {
+		return this.employeeService.saveEmployee(BenchmarkApplication.employee(this.nextNumber.incrementAndGet()));
+	}
+}
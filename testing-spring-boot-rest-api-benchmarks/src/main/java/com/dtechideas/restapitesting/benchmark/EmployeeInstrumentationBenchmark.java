@@ -0,0 +1,83 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/*
+ * Cost of the metrics (service timers, repository timers, SQL statement counting) on the hottest read path.
+ * Compare the "instrumented" rows, the difference is what leaving them on in production costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeInstrumentationBenchmark {
+
+	private static final int EMPLOYEES = 1000;
+
+	@Param({ "true", "false" })
+	private boolean instrumented;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private MockMvc mockMvc;
+	private List<Long> ids;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+				"--employees.metrics.enabled=" + this.instrumented,
+				"--management.metrics.data.repository.autotime.enabled=" + this.instrumented);
+		this.employeeService = this.context.getBean(EmployeeService.class);
+		this.mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) this.context).build();
+		this.ids = BenchmarkApplication.seed(this.employeeService, EMPLOYEES);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	/* Served from the cache, so the timers are a large share of the work */
+	@Benchmark
+	public Employee getEmployeeById() {
+		return this.employeeService.getEmployeeById(randomId());
+	}
+
+	/* Goes to the database every time and through the SQL statement filter */
+	@Benchmark
+	public int getEmployeesPageRequest() throws Exception {
+		return this.mockMvc.perform(get("/api/v1/employees")).andReturn().getResponse().getContentLength();
+	}
+
+	private Long randomId() {
+		return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+	}
+}
@@ -0,0 +1,88 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* Jackson (de)serialization of a single Employee and of List<Employee>, configured the way Spring MVC configures it */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+	private ObjectMapper objectMapper;
+	private Employee employee;
+	private byte[] employeeJson;
+
+	/* Only the list benchmarks depend on the list size */
+	@State(Scope.Benchmark)
+	public static class EmployeeList {
+
+		@Param({ "10", "500" })
+		private int size;
+
+		private List<Employee> employees;
+		private JavaType type;
+		private byte[] json;
+
+		@Setup
+		public void setUp(EmployeeJsonBenchmark benchmark) throws JsonProcessingException {
+			this.employees = new ArrayList<>(this.size);
+			for (long id = 1; id <= this.size; id++) {
+				Employee employee = BenchmarkApplication.employee(id);
+				employee.setId(id);
+				this.employees.add(employee);
+			}
+			this.type = benchmark.objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+			this.json = benchmark.objectMapper.writeValueAsBytes(this.employees);
+		}
+	}
+
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		this.employee = new Employee(1L, "Ramesh", "Fadatare", "ramesh.fadatare@dtechideas.com");
+		this.employeeJson = this.objectMapper.writeValueAsBytes(this.employee);
+	}
+
+	@Benchmark
+	public byte[] serializeEmployee() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(this.employee);
+	}
+
+	@Benchmark
+	public Employee deserializeEmployee() throws Exception {
+		return this.objectMapper.readValue(this.employeeJson, Employee.class);
+	}
+
+	@Benchmark
+	public byte[] serializeEmployeeList(EmployeeList list) throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(list.employees);
+	}
+
+	@Benchmark
+	public List<Employee> deserializeEmployeeList(EmployeeList list) throws Exception {
+		return this.objectMapper.readValue(list.json, list.type);
+	}
+}
@@ -0,0 +1,105 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Writing the body of GET /api/v1/employees/{id} for a hot set of employees: "objectMapper" is the Jackson message
+ * converter serializing the Employee, "jsonCache" the byte[] converter writing the body cached by EmployeeJsonCache.
+ * The output message is reused so only the converters count. Run with "-prof gc" for the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonCacheBenchmark {
+
+	@Param({ "1000" })
+	private int employees;
+
+	private List<Employee> hotEmployees;
+	private MappingJackson2HttpMessageConverter jacksonConverter;
+	private ByteArrayHttpMessageConverter byteArrayConverter;
+	private EmployeeJsonCache employeeJsonCache;
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+	private final HttpHeaders headers = new HttpHeaders();
+	private final HttpOutputMessage outputMessage = new HttpOutputMessage() {
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	};
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		this.jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+		this.byteArrayConverter = new ByteArrayHttpMessageConverter();
+		this.employeeJsonCache = new EmployeeJsonCache(objectMapper, DataSize.ofMegabytes(16));
+		this.hotEmployees = new ArrayList<>(this.employees);
+		for (long id = 1; id <= this.employees; id++) {
+			Employee employee = BenchmarkApplication.employee(id);
+			employee.setId(id);
+			this.hotEmployees.add(employee);
+			this.employeeJsonCache.get(employee);
+		}
+	}
+
+	@Benchmark
+	public int objectMapper() throws IOException {
+		this.jacksonConverter.write(randomEmployee(), MediaType.APPLICATION_JSON, resetOutputMessage());
+		return this.body.size();
+	}
+
+	@Benchmark
+	public int jsonCache() throws IOException {
+		this.byteArrayConverter.write(this.employeeJsonCache.get(randomEmployee()), MediaType.APPLICATION_JSON, resetOutputMessage());
+		return this.body.size();
+	}
+
+	private HttpOutputMessage resetOutputMessage() {
+		this.body.reset();
+		this.headers.clear();
+		return this.outputMessage;
+	}
+
+	private Employee randomEmployee() {
+		return this.hotEmployees.get(ThreadLocalRandom.current().nextInt(this.hotEmployees.size()));
+	}
+}
@@ -0,0 +1,125 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.dtechideas.restapitesting.controller.EmployeeController;
+import com.dtechideas.restapitesting.controller.EmployeeETags;
+import com.dtechideas.restapitesting.exception.GloablExceptionHandler;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * GET /api/v1/employees/{id} when most ids do not exist, as when scanners probe the API. "optional" is EmployeeController,
+ * which maps an empty findEmployeeById() to 404, "exception" is the previous controller, where getEmployeeById() throws
+ * and GloablExceptionHandler answers. Both use a standalone MockMvc over the same service, missing ids stay in the
+ * negative cache so the database is out of the picture. Both paths need a long warmup before they settle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMissBenchmark {
+
+	private static final int EMPLOYEES = 1000;
+
+	@Param({ "0.5", "0.95" })
+	private double missRatio;
+
+	private ConfigurableApplicationContext context;
+	private MockMvc optionalMockMvc;
+	private MockMvc exceptionMockMvc;
+	private List<Long> ids;
+	private List<Long> missingIds;
+
+	/* Not a @RestController, component scanning would map it next to EmployeeController in every servlet benchmark */
+	@RequestMapping(path = "/api/v1/employees")
+	public static class ExceptionEmployeeController {
+
+		private final EmployeeService employeeService;
+
+		ExceptionEmployeeController(EmployeeService employeeService) {
+			this.employeeService = employeeService;
+		}
+
+		@GetMapping(path = "/{id}")
+		public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long employeeId) {
+			Employee foundEmployee = this.employeeService.getEmployeeById(employeeId);
+			return ResponseEntity.ok().eTag(EmployeeETags.of(foundEmployee)).body(foundEmployee);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.context = BenchmarkApplication.start(WebApplicationType.NONE);
+		EmployeeService employeeService = this.context.getBean(EmployeeService.class);
+		GloablExceptionHandler exceptionHandler = new GloablExceptionHandler(this.context.getBean(ObjectMapper.class));
+		this.optionalMockMvc = MockMvcBuilders.standaloneSetup(this.context.getBean(EmployeeController.class)).setControllerAdvice(exceptionHandler).build();
+		this.exceptionMockMvc = MockMvcBuilders.standaloneSetup(new ExceptionEmployeeController(employeeService))
+				.setControllerAdvice(exceptionHandler).build();
+		this.ids = BenchmarkApplication.seed(employeeService, EMPLOYEES);
+		long firstMissingId = Collections.max(this.ids) + 1;
+		this.missingIds = new ArrayList<>(EMPLOYEES);
+		for (int i = 0; i < EMPLOYEES; i++) {
+			this.missingIds.add(firstMissingId + i);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public String optional() throws Exception {
+		return perform(this.optionalMockMvc);
+	}
+
+	@Benchmark
+	public String exception() throws Exception {
+		return perform(this.exceptionMockMvc);
+	}
+
+	private String perform(MockMvc mockMvc) throws Exception {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		boolean miss = random.nextDouble() < this.missRatio;
+		List<Long> candidates = miss ? this.missingIds : this.ids;
+		MockHttpServletResponse response = mockMvc.perform(get("/api/v1/employees/{id}", candidates.get(random.nextInt(candidates.size()))))
+				.andReturn().getResponse();
+		if (response.getStatus() != (miss ? 404 : 200)) {
+			throw new IllegalStateException("Unexpected status " + response.getStatus());
+		}
+		return response.getContentAsString();
+	}
+}
@@ -0,0 +1,80 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dtechideas.restapitesting.index.EmployeeNameIndex;
+import com.dtechideas.restapitesting.model.Employee;
+
+/* Autocomplete lookups in EmployeeNameIndex, the retained heap per indexed term is printed after the setup */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeNameIndexBenchmark {
+
+	private static final int PREFIXES = 4096;
+
+	@Param({ "1000000" })
+	private int employees;
+
+	@Param({ "10" })
+	private int limit;
+
+	private EmployeeNameIndex employeeNameIndex;
+	private String[] prefixes;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		long heapBefore = usedHeap();
+		this.employeeNameIndex = new EmployeeNameIndex();
+		for (long id = 1; id <= this.employees; id++) {
+			Employee employee = BenchmarkApplication.employee(id);
+			employee.setId(id);
+			this.employeeNameIndex.put(employee);
+		}
+		long heapAfter = usedHeap();
+		int terms = this.employeeNameIndex.size();
+		System.out.printf("%n%d terms of %d employees, %.1f MB, %.1f bytes per term%n", terms, this.employees,
+				(heapAfter - heapBefore) / 1_048_576.0, (double) (heapAfter - heapBefore) / terms);
+
+		/* "last12", "first1234", "employee98" ... from random employees, so every prefix has matches */
+		Random random = new Random(42);
+		String[] fields = { "first", "last", "employee" };
+		this.prefixes = new String[PREFIXES];
+		for (int i = 0; i < PREFIXES; i++) {
+			String number = Integer.toString(1 + random.nextInt(this.employees));
+			this.prefixes[i] = fields[random.nextInt(fields.length)] + number.substring(0, 1 + random.nextInt(number.length()));
+		}
+	}
+
+	@Benchmark
+	public List<Long> search() {
+		String prefix = this.prefixes[this.next++ & (PREFIXES - 1)];
+		return this.employeeNameIndex.search(prefix, this.limit);
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
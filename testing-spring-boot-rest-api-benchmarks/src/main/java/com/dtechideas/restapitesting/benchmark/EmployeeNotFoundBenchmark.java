@@ -0,0 +1,121 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.dtechideas.restapitesting.exception.GloablExceptionHandler;
+import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * The 404 path of GET /api/v1/employees/{id}: throw from "depth" frames below the handler, catch, build the error body.
+ * "previous" is the path as it was, a stack-filled exception with a String.format message, a Date and a WebRequest
+ * description serialized through the ObjectMapper, "current" goes through GloablExceptionHandler.
+ * Run with "-prof gc" to compare the allocation per 404 as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeNotFoundBenchmark {
+
+	/* A servlet request reaches the service through roughly a hundred frames of filters, MVC and proxies */
+	@Param({ "10", "100" })
+	private int depth;
+
+	private ObjectMapper objectMapper;
+	private GloablExceptionHandler exceptionHandler;
+	private MockHttpServletRequest request;
+	private long id;
+
+	@Setup
+	public void setUp() {
+		this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		this.exceptionHandler = new GloablExceptionHandler(this.objectMapper);
+		this.request = new MockHttpServletRequest("GET", "/api/v1/employees/404");
+	}
+
+	@Benchmark
+	public byte[] previous() throws JsonProcessingException {
+		try {
+			throwFrom(this.depth, true, ++this.id);
+			throw new IllegalStateException();
+		} catch (PreviousResourceNotFoundException exception) {
+			PreviousErrorDetail errorDetail = new PreviousErrorDetail(new Date(), exception.getMessage(),
+					new ServletWebRequest(this.request).getDescription(false));
+			return this.objectMapper.writeValueAsBytes(errorDetail);
+		}
+	}
+
+	@Benchmark
+	public byte[] current() throws JsonProcessingException {
+		try {
+			throwFrom(this.depth, false, ++this.id);
+			throw new IllegalStateException();
+		} catch (ResourceNotFoundException exception) {
+			return this.exceptionHandler.handleResourceNotFoundException(exception, this.request).getBody();
+		}
+	}
+
+	private static void throwFrom(int depth, boolean previous, long id) {
+		if (depth > 0) {
+			throwFrom(depth - 1, previous, id);
+		} else if (previous) {
+			throw new PreviousResourceNotFoundException("Employee", "id", id);
+		} else {
+			throw new ResourceNotFoundException("Employee", "id", id);
+		}
+	}
+
+	static class PreviousResourceNotFoundException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		PreviousResourceNotFoundException(String resourceName, String fieldName, Long fieldValue) {
+			super(String.format("Resource %s with %s : '%s' not found", resourceName, fieldName, fieldValue));
+		}
+	}
+
+	public static class PreviousErrorDetail {
+
+		private final Date timestamp;
+		private final String message;
+		private final String detail;
+
+		PreviousErrorDetail(Date timestamp, String message, String detail) {
+			this.timestamp = timestamp;
+			this.message = message;
+			this.detail = detail;
+		}
+
+		public Date getTimestamp() {
+			return timestamp;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		public String getDetail() {
+			return detail;
+		}
+	}
+}
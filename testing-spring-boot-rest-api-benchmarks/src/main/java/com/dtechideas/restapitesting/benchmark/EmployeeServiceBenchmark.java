@@ -0,0 +1,90 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.dtechideas.restapitesting.service.impl.EmployeeServiceImpl;
+
+/* EmployeeServiceImpl operations through the Spring context, with the repository backed by in-memory H2 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+	private static final int EMPLOYEES = 1000;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private List<Long> ids;
+	/* Numbers for employees created during the run, above the seeded ones so emails never collide */
+	private final AtomicLong nextNumber = new AtomicLong(EMPLOYEES);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.NONE);
+		this.employeeService = this.context.getBean(EmployeeService.class);
+		this.ids = BenchmarkApplication.seed(this.employeeService, EMPLOYEES);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Employee getEmployeeById() {
+		return this.employeeService.getEmployeeById(randomId());
+	}
+
+	@Benchmark
+	public EmployeePage getEmployeesPage() {
+		return this.employeeService.getEmployeesPage(null, EmployeeServiceImpl.DEFAULT_PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployees() {
+		return this.employeeService.getAllEmployees();
+	}
+
+	@Benchmark
+	public Employee updateEmployee() {
+		Long id = randomId();
+		Employee employee = this.employeeService.getEmployeeById(id);
+		return this.employeeService.updateEmployee(id, new Employee("Updated", employee.getLastName(), employee.getEmail()));
+	}
+
+	/* Creates and deletes in the same invocation so the table keeps its size across iterations */
+	@Benchmark
+	public Employee saveAndDeleteEmployee() {
+		Employee savedEmployee = this.employeeService.saveEmployee(BenchmarkApplication.employee(this.nextNumber.incrementAndGet()));
+		this.employeeService.deleteEmployeeById(savedEmployee.getId());
+		return savedEmployee;
+	}
+
+	private Long randomId() {
+		return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+	}
+}
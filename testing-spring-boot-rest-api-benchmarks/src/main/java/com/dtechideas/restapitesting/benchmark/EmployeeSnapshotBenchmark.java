@@ -0,0 +1,102 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshot;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshotStore;
+
+/*
+ * Bulk reads through findAll() in a read-only transaction (managed entities, as under open-in-view) against the
+ * EmployeeSnapshot. The setup prints the heap each of them retains for the whole table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSnapshotBenchmark {
+
+	@Param({ "100000" })
+	private int employees;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeRepository employeeRepository;
+	private TransactionTemplate readOnlyTransaction;
+	private EmployeeSnapshot snapshot;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.NONE, "--employees.snapshot.enabled=true",
+				"--employees.snapshot.refresh-interval=1h");
+		this.employeeRepository = this.context.getBean(EmployeeRepository.class);
+		this.readOnlyTransaction = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+		this.readOnlyTransaction.setReadOnly(true);
+		BenchmarkApplication.seed(this.context.getBean(EmployeeService.class), this.employees);
+
+		long heapBefore = usedHeap();
+		long managedBytes = this.readOnlyTransaction.execute(status -> {
+			List<Employee> loaded = this.employeeRepository.findAll();
+			long retained = usedHeap() - heapBefore;
+			return loaded.size() == this.employees ? retained : -1;
+		});
+		usedHeap();
+		long snapshotHeapBefore = usedHeap();
+		this.snapshot = this.context.getBean(EmployeeSnapshotStore.class).refresh();
+		long snapshotBytes = usedHeap() - snapshotHeapBefore;
+		System.out.printf("%nretained heap for %d employees - findAll(): %.1f MB (%.0f bytes/employee), snapshot: %.1f MB (%.0f bytes/employee)%n",
+				this.employees, managedBytes / 1_048_576.0, (double) managedBytes / this.employees,
+				snapshotBytes / 1_048_576.0, (double) snapshotBytes / this.employees);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public int findAll() {
+		return this.readOnlyTransaction.execute(status -> this.employeeRepository.findAll().size());
+	}
+
+	@Benchmark
+	public int snapshotToList() {
+		return this.snapshot.toList().size();
+	}
+
+	@Benchmark
+	public void snapshotForEach(Blackhole blackhole) {
+		this.snapshot.forEach(blackhole::consume);
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
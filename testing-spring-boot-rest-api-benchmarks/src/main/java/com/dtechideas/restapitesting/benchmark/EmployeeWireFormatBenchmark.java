@@ -0,0 +1,87 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.dtechideas.restapitesting.converter.EmployeeCbor;
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/*
+ * List<Employee> bodies as Jackson JSON against application/cbor (EmployeeCbor): encode and decode time, and the
+ * payload size of each format, printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeWireFormatBenchmark {
+
+	@Param({ "10", "1000" })
+	private int size;
+
+	private List<Employee> employees;
+	private ObjectWriter jsonWriter;
+	private ObjectReader jsonReader;
+	private byte[] json;
+	private byte[] cbor;
+
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+		this.jsonWriter = objectMapper.writerFor(type);
+		this.jsonReader = objectMapper.readerFor(type);
+		this.employees = new ArrayList<>(this.size);
+		for (long id = 1; id <= this.size; id++) {
+			Employee employee = BenchmarkApplication.employee(id);
+			employee.setId(100000 + id);
+			employee.setVersion(id % 5);
+			this.employees.add(employee);
+		}
+		this.json = this.jsonWriter.writeValueAsBytes(this.employees);
+		this.cbor = EmployeeCbor.encode(this.employees);
+		System.out.printf("%npayload for %d employees - json: %d bytes, cbor: %d bytes (%.0f%%)%n", this.size, this.json.length,
+				this.cbor.length, 100.0 * this.cbor.length / this.json.length);
+	}
+
+	@Benchmark
+	public byte[] encodeJson() throws JsonProcessingException {
+		return this.jsonWriter.writeValueAsBytes(this.employees);
+	}
+
+	@Benchmark
+	public byte[] encodeCbor() {
+		return EmployeeCbor.encode(this.employees);
+	}
+
+	@Benchmark
+	public List<Employee> decodeJson() throws Exception {
+		return this.jsonReader.readValue(this.json);
+	}
+
+	@Benchmark
+	public List<Employee> decodeCbor() {
+		return EmployeeCbor.decodeEmployees(this.cbor);
+	}
+}
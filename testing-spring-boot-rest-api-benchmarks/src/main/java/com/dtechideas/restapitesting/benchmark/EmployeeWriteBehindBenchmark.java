@@ -0,0 +1,83 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.dtechideas.restapitesting.writebehind.EmployeeWriteBehindQueue;
+
+/*
+ * Bursts of updateEmployee() against the same few ids, written through (findById + save per update) against written
+ * behind (log append per update, fsync'ed by group commit, one UPDATE per id and flush). Every iteration seeds the employees again and
+ * times all updates of the burst, including the final flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EmployeeWriteBehindBenchmark {
+
+	private static final int EMPLOYEES = 50;
+	private static final int UPDATES_PER_EMPLOYEE = 100;
+
+	@Param({ "false", "true" })
+	private boolean writeBehind;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private EmployeeRepository employeeRepository;
+	private List<Long> ids;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = BenchmarkApplication.start(WebApplicationType.NONE, "--employees.metrics.enabled=false",
+				"--employees.write-behind.enabled=" + this.writeBehind, "--employees.write-behind.log-dir=target/employee-updates-benchmark");
+		this.employeeService = this.context.getBean(EmployeeService.class);
+		this.employeeRepository = this.context.getBean(EmployeeRepository.class);
+	}
+
+	@Setup(Level.Iteration)
+	public void seed() {
+		this.employeeRepository.deleteAllInBatch();
+		this.ids = BenchmarkApplication.seed(this.employeeService, EMPLOYEES);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public void updateEmployee() {
+		for (int round = 0; round < UPDATES_PER_EMPLOYEE; round++) {
+			for (int number = 0; number < EMPLOYEES; number++) {
+				Employee employee = BenchmarkApplication.employee(number);
+				employee.setFirstName(employee.getFirstName() + "-" + round);
+				this.employeeService.updateEmployee(this.ids.get(number), employee);
+			}
+		}
+		if (this.writeBehind) {
+			this.context.getBean(EmployeeWriteBehindQueue.class).flush();
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.dtechideas.restapitesting.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dtechideas.restapitesting.reactive.ReactiveEmployeeApplication;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/*
+ * Servlet/JPA against reactive/R2DBC variant of the employee API with 256 concurrent clients reading pages over HTTP.
+ * Next to throughput, the footprint probe reports the JVM threads the server added under load and the heap in use at
+ * peak. The reactive side runs on H2 through r2dbc-h2, which wraps the blocking H2 engine, so throughput says little
+ * about a non-blocking MySQL driver - threads and memory do. Its schema and rows are created by the JPA application,
+ * which is closed again before the reactive one starts.
+ *
+ * Both stacks get a connection per client, the reactive one opens an unpooled r2dbc-h2 connection per request. Behind
+ * r2dbc-pool the blocking H2 calls pull the requests of other event loops onto whichever loop released a connection,
+ * until that loop only serves the others and its own channels starve.
+ *
+ * JMH adds aux counters up across measurement iterations, the footprint peaks are only meaningful with a single one.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 1, time = 20)
+@Fork(1)
+public class ReactiveEmployeeLoadBenchmark {
+
+	private static final int CLIENTS = 256;
+	private static final int EMPLOYEES = 100;
+	private static final String PAGE_URI = "/api/v1/employees?size=20";
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+	@Param({ "servlet", "reactive" })
+	private String stack;
+
+	private ConfigurableApplicationContext context;
+	private String pageUrl;
+	/* Taken once the server is up and the JMH worker threads exist, so only threads added by the load count */
+	private int baselineThreads;
+
+	/* Peaks seen by the single probe thread during the iteration, reset by JMH before each one */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+
+		public int threadsAdded;
+
+		public long heapUsedMegabytes;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		if ("servlet".equals(this.stack)) {
+			this.context = BenchmarkApplication.start(WebApplicationType.SERVLET, "--employees.metrics.enabled=false",
+					"--spring.datasource.hikari.maximum-pool-size=" + CLIENTS);
+			BenchmarkApplication.seed(this.context.getBean(EmployeeService.class), EMPLOYEES);
+		} else {
+			try (ConfigurableApplicationContext schema = BenchmarkApplication.start(WebApplicationType.NONE,
+					"--spring.jpa.hibernate.ddl-auto=create", "--employees.metrics.enabled=false")) {
+				BenchmarkApplication.seed(schema.getBean(EmployeeService.class), EMPLOYEES);
+			}
+			this.context = ReactiveEmployeeApplication.builder().run("--server.port=0", "--logging.level.root=WARN",
+					"--employees.reactive.r2dbc.url=r2dbc:h2:mem:///benchmark?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+					"--employees.reactive.r2dbc.username=sa", "--employees.reactive.r2dbc.password=");
+		}
+		this.pageUrl = "http://localhost:" + ((WebServerApplicationContext) this.context).getWebServer().getPort() + PAGE_URI;
+		System.gc();
+		this.baselineThreads = THREADS.getThreadCount();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	@Group("load")
+	@GroupThreads(CLIENTS)
+	public int getEmployeesPage() throws IOException {
+		int status = get(this.pageUrl);
+		if (status != 200) {
+			throw new IllegalStateException("Expected 200 but got " + status);
+		}
+		return status;
+	}
+
+	@Benchmark
+	@Group("load")
+	@GroupThreads(1)
+	public void footprint(Footprint footprint) throws InterruptedException {
+		footprint.threadsAdded = Math.max(footprint.threadsAdded, THREADS.getThreadCount() - this.baselineThreads);
+		footprint.heapUsedMegabytes = Math.max(footprint.heapUsedMegabytes, MEMORY.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+		TimeUnit.MILLISECONDS.sleep(10);
+	}
+
+	private static int get(String url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		int status = connection.getResponseCode();
+		try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+			while (body != null && body.read() != -1) {
+				// drain the body so the connection can be reused
+			}
+		}
+		return status;
+	}
+}
@@ -0,0 +1,94 @@
+package com.dtechideas.restapitesting.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.dtechideas.restapitesting.datasource.ReadYourWritesContext;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * Runs the service work of asynchronous EmployeeController requests off the Tomcat threads.
+ * At most maxInFlight requests are running or waiting at any time, the next one is rejected right away
+ * instead of queueing without bound while the database is slow.
+ */
+public class EmployeeRequestExecutor implements Executor, MeterBinder {
+
+	private final ExecutorService delegate;
+	private final int maxInFlight;
+	private final Semaphore permits;
+
+	public EmployeeRequestExecutor(ExecutorService delegate, int maxInFlight) {
+		this.delegate = delegate;
+		this.maxInFlight = maxInFlight;
+		this.permits = new Semaphore(maxInFlight);
+	}
+
+	/* Platform threads, as many as the connection pool can serve, the rest wait in the queue */
+	public static EmployeeRequestExecutor bounded(int poolSize, int queueCapacity) {
+		return new EmployeeRequestExecutor(Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("employee-request-")),
+				poolSize + queueCapacity);
+	}
+
+	/* One virtual thread per request, looked up reflectively because the code is still compiled for Java 8 */
+	public static EmployeeRequestExecutor virtual(int maxInFlight) {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return new EmployeeRequestExecutor((ExecutorService) factory.invoke(null), maxInFlight);
+		} catch (NoSuchMethodException exception) {
+			throw new IllegalStateException("Virtual threads need JDK 21 or newer, running on " + System.getProperty("java.version"), exception);
+		} catch (ReflectiveOperationException exception) {
+			throw new IllegalStateException("Could not create a virtual thread executor", exception);
+		}
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		if (!this.permits.tryAcquire()) {
+			throw new RejectedExecutionException(this.maxInFlight + " employee requests are already in flight");
+		}
+		/* The read-your-writes position of the request travels with its work, see ReadYourWritesFilter */
+		Long minimumPosition = ReadYourWritesContext.get();
+		try {
+			this.delegate.execute(() -> {
+				ReadYourWritesContext.set(minimumPosition);
+				try {
+					task.run();
+				} finally {
+					ReadYourWritesContext.set(null);
+					this.permits.release();
+				}
+			});
+		} catch (RejectedExecutionException exception) {
+			this.permits.release();
+			throw exception;
+		}
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	public int inFlight() {
+		return this.maxInFlight - this.permits.availablePermits();
+	}
+
+	public void shutdown() {
+		this.delegate.shutdown();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("employees.async.in.flight", this, EmployeeRequestExecutor::inFlight)
+				.description("Asynchronous employee requests running or waiting for a thread")
+				.register(registry);
+	}
+}
@@ -0,0 +1,209 @@
+package com.dtechideas.restapitesting.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.dtechideas.restapitesting.converter.ContentCoding;
+import com.dtechideas.restapitesting.converter.EmployeeCbor;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * Compressed bodies of the bulk responses (GET /api/v1/employees?unpaged=true, /export), built once per version of
+ * the rows and reused by every later request that accepts the same coding. Versions come from
+ * EmployeeService.getEmployeesVersion(), so bodies are only cached while bulk reads come from the snapshot
+ * (employees.snapshot.enabled=true). Only the bodies of the newest version are kept, the next snapshot drops them.
+ * Bodies smaller than server.compression.min-response-size are not compressed at all.
+ */
+@Component
+public class EmployeeBulkBodyCache implements MeterBinder {
+
+	/* Marks a body below the threshold, it is sent as it is */
+	private static final byte[] UNCOMPRESSED = new byte[0];
+
+	private final EmployeeService employeeService;
+	private final ObjectWriter employeesWriter;
+	private final long minResponseSize;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private volatile Bodies bodies;
+
+	@Autowired
+	public EmployeeBulkBodyCache(EmployeeService employeeService, ObjectMapper objectMapper,
+			@Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+		this.employeeService = employeeService;
+		this.employeesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+		this.minResponseSize = minResponseSize.toBytes();
+	}
+
+	/* getAllEmployees() as application/json or application/cbor, compressed with contentCoding */
+	public Optional<byte[]> getAllEmployees(MediaType mediaType, ContentCoding contentCoding) {
+		if (MediaType.APPLICATION_CBOR.includes(mediaType)) {
+			return get("unpaged.cbor", contentCoding, outputStream -> outputStream.write(EmployeeCbor.encode(this.employeeService.getAllEmployees())));
+		}
+		return get("unpaged.json", contentCoding, outputStream -> this.employeesWriter.writeValue(outputStream, this.employeeService.getAllEmployees()));
+	}
+
+	/*
+	 * The body writes to, compressed with contentCoding, under name. Empty when the rows have no version or the body is
+	 * below the threshold, the caller then responds as without this cache. The version is read before the body is
+	 * written and snapshots only move forward, so a cached body is never older than the version it is kept under.
+	 */
+	public Optional<byte[]> get(String name, ContentCoding contentCoding, StreamingResponseBody body) {
+		OptionalLong version = this.employeeService.getEmployeesVersion();
+		if (!version.isPresent()) {
+			return Optional.empty();
+		}
+		Bodies versionBodies = bodiesOf(version.getAsLong());
+		if (versionBodies == null) {
+			this.misses.increment();
+			return compressed(encode(body, contentCoding));
+		}
+		String key = name + ':' + contentCoding.getToken();
+		CompletableFuture<byte[]> cached = versionBodies.byKey.get(key);
+		if (cached == null) {
+			CompletableFuture<byte[]> encoding = new CompletableFuture<>();
+			cached = versionBodies.byKey.putIfAbsent(key, encoding);
+			if (cached == null) {
+				/* Concurrent requests for the same body wait for this one instead of compressing it again */
+				this.misses.increment();
+				try {
+					encoding.complete(encode(body, contentCoding));
+				} catch (RuntimeException exception) {
+					versionBodies.byKey.remove(key, encoding);
+					encoding.completeExceptionally(exception);
+					throw exception;
+				}
+				return compressed(encoding.join());
+			}
+		}
+		this.hits.increment();
+		try {
+			return compressed(cached.join());
+		} catch (CompletionException exception) {
+			throw exception.getCause() instanceof RuntimeException ? (RuntimeException) exception.getCause() : exception;
+		}
+	}
+
+	/* Total size of the cached compressed bodies */
+	public long getSize() {
+		Bodies versionBodies = this.bodies;
+		if (versionBodies == null) {
+			return 0;
+		}
+		long size = 0;
+		for (CompletableFuture<byte[]> body : versionBodies.byKey.values()) {
+			size += body.getNow(UNCOMPRESSED).length;
+		}
+		return size;
+	}
+
+	/* cache.gets tagged cache=employees.bulk, as for the Caffeine caches, plus the bytes held */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets", this.hits, LongAdder::sum)
+				.tags("cache", "employees.bulk", "result", "hit")
+				.description("Bulk responses served from an already compressed body")
+				.register(registry);
+		FunctionCounter.builder("cache.gets", this.misses, LongAdder::sum)
+				.tags("cache", "employees.bulk", "result", "miss")
+				.description("Bulk responses that had to be compressed")
+				.register(registry);
+		Gauge.builder("employees.bulk.cache.size", this, EmployeeBulkBodyCache::getSize)
+				.description("Total size of the cached compressed bulk bodies")
+				.baseUnit("bytes")
+				.register(registry);
+	}
+
+	/* Null for a version older than the cached one, a request that read its version before the last refresh */
+	private Bodies bodiesOf(long version) {
+		Bodies versionBodies = this.bodies;
+		if (versionBodies != null && versionBodies.version == version) {
+			return versionBodies;
+		}
+		synchronized (this) {
+			if (this.bodies == null || this.bodies.version < version) {
+				this.bodies = new Bodies(version);
+			}
+			return this.bodies.version == version ? this.bodies : null;
+		}
+	}
+
+	private byte[] encode(StreamingResponseBody body, ContentCoding contentCoding) {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		CountingOutputStream uncompressed;
+		try (OutputStream outputStream = contentCoding.wrap(compressed)) {
+			uncompressed = new CountingOutputStream(outputStream);
+			body.writeTo(uncompressed);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		return uncompressed.count < this.minResponseSize ? UNCOMPRESSED : compressed.toByteArray();
+	}
+
+	private static Optional<byte[]> compressed(byte[] body) {
+		return body == UNCOMPRESSED ? Optional.empty() : Optional.of(body);
+	}
+
+	private static final class Bodies {
+
+		private final long version;
+		private final ConcurrentMap<String, CompletableFuture<byte[]>> byKey = new ConcurrentHashMap<>();
+
+		private Bodies(long version) {
+			this.version = version;
+		}
+	}
+
+	/* Counts the bytes written before compression, the size the threshold applies to */
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		private CountingOutputStream(OutputStream outputStream) {
+			super(outputStream);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+			this.count++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			this.out.write(bytes, offset, length);
+			this.count += length;
+		}
+
+		/* The body must not close the compressing stream, encode() finishes it */
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.dtechideas.restapitesting.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/*
+ * Read-through cache of employees by id (Caffeine, size bounded W-TinyLFU with expire-after-write). Ids that do not
+ * exist are remembered in a second, short lived cache so clients scanning for ids do not reach the database each time.
+ *
+ * Caffeine loads a key atomically, an invalidate() of that key waits for a running load to finish. Invalidating after
+ * the write committed therefore guarantees no reader sees the old record once the write has returned. The missing ids
+ * are not loaded through Caffeine: a miss is only remembered if no invalidation of the id happened while it was
+ * loaded, otherwise a create committing during the load would be hidden for the whole short TTL.
+ */
+@Component
+public class EmployeeCache implements MeterBinder {
+
+	private static final int GENERATION_STRIPES = 1024;
+
+	private final Cache<Long, Employee> employees;
+	private final Cache<Long, Boolean> missingEmployees;
+	/* Bumped by every invalidation of an id of the stripe, ids sharing a stripe at worst skip remembering a miss */
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+	@Autowired
+	public EmployeeCache(@Value("${employees.cache.maximum-size:10000}") long maximumSize,
+			@Value("${employees.cache.expire-after-write:10m}") Duration expireAfterWrite,
+			@Value("${employees.cache.missing.maximum-size:10000}") long missingMaximumSize,
+			@Value("${employees.cache.missing.expire-after-write:5s}") Duration missingExpireAfterWrite) {
+		this.employees = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		this.missingEmployees = Caffeine.newBuilder()
+				.maximumSize(missingMaximumSize)
+				.expireAfterWrite(missingExpireAfterWrite)
+				.recordStats()
+				.build();
+	}
+
+	public Optional<Employee> get(Long id, Function<Long, Optional<Employee>> loader) {
+		if (this.missingEmployees.getIfPresent(id) != null) {
+			return Optional.empty();
+		}
+		long generation = generation(id);
+		Employee employee = this.employees.get(id, key -> loader.apply(key).orElse(null));
+		if (employee == null) {
+			rememberMissing(id, generation);
+		}
+		return Optional.ofNullable(employee);
+	}
+
+	/* Bulk read-through, the ids that are neither cached nor known to be missing are loaded with one loader call */
+	public Map<Long, Employee> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, Employee>> loader) {
+		List<Long> candidateIds = new ArrayList<>(ids.size());
+		Map<Long, Long> generations = new HashMap<>();
+		for (Long id : ids) {
+			if (this.missingEmployees.getIfPresent(id) == null) {
+				candidateIds.add(id);
+				generations.put(id, generation(id));
+			}
+		}
+		Map<Long, Employee> employees = this.employees.getAll(candidateIds, missingIds -> {
+			Set<Long> idsToLoad = new HashSet<>();
+			missingIds.forEach(idsToLoad::add);
+			return loader.apply(idsToLoad);
+		});
+		for (Long id : candidateIds) {
+			if (!employees.containsKey(id)) {
+				rememberMissing(id, generations.get(id));
+			}
+		}
+		return employees;
+	}
+
+	/* The generation is bumped first, rememberMissing() relies on it */
+	public void invalidate(Long id) {
+		this.generations.incrementAndGet(stripe(id));
+		this.employees.invalidate(id);
+		this.missingEmployees.invalidate(id);
+	}
+
+	public void invalidateAll() {
+		for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+			this.generations.incrementAndGet(stripe);
+		}
+		this.employees.invalidateAll();
+		this.missingEmployees.invalidateAll();
+	}
+
+	/* Runs after the commit of the surrounding transaction, or right away when the write was not transactional */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		invalidate(event.getEmployeeId());
+	}
+
+	/*
+	 * Put before the generation is checked again: an invalidate() racing with it either bumped the generation before
+	 * the check, and the entry is taken back, or removes the entry itself after the put.
+	 */
+	private void rememberMissing(Long id, long generation) {
+		this.missingEmployees.put(id, Boolean.TRUE);
+		if (generation(id) != generation) {
+			this.missingEmployees.asMap().remove(id, Boolean.TRUE);
+		}
+	}
+
+	private long generation(Long id) {
+		return this.generations.get(stripe(id));
+	}
+
+	private static int stripe(Long id) {
+		return Math.floorMod(id.hashCode(), GENERATION_STRIPES);
+	}
+
+	/* Hit, miss, load and eviction counters, published as cache.* meters tagged cache=employees / employees.missing */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.employees, "employees");
+		CaffeineCacheMetrics.monitor(registry, this.missingEmployees, "employees.missing");
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.dtechideas.restapitesting.cache;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/*
+ * UTF-8 JSON of single employees, ready to be written as the body of GET /api/v1/employees/{id}. Entries are bounded
+ * by their estimated size on the heap (see weigh()) and remember the version and fields they were serialized from. A cached body is only
+ * used for the same id, version and fields, so a change made on another node, or a write-behind update coalesced
+ * under the same version, is never answered with the old JSON. Committed writes evict their entry to free the space.
+ */
+@Component
+public class EmployeeJsonCache implements MeterBinder {
+
+	/*
+	 * Heap of an entry besides the body and the field characters, 64-bit JVM with compressed oops and rounded up: the
+	 * cache node, the Long key, the EmployeeJson, the array header of the body and the three copied Strings.
+	 */
+	static final int ENTRY_OVERHEAD = 256;
+
+	private final Cache<Long, EmployeeJson> employees;
+	private final ObjectWriter employeeWriter;
+
+	@Autowired
+	public EmployeeJsonCache(ObjectMapper objectMapper,
+			@Value("${employees.json-cache.maximum-size:16MB}") DataSize maximumSize) {
+		this.employees = Caffeine.newBuilder()
+				.maximumWeight(maximumSize.toBytes())
+				.weigher((Long id, EmployeeJson json) -> json.weigh())
+				.recordStats()
+				.build();
+		this.employeeWriter = objectMapper.writerFor(Employee.class);
+	}
+
+	/* The JSON the Jackson message converter would write for the employee, serialized once per id and version */
+	public byte[] get(Employee employee) {
+		EmployeeJson json = this.employees.getIfPresent(employee.getId());
+		if (json == null || !json.isOf(employee)) {
+			json = new EmployeeJson(employee, serialize(employee));
+			this.employees.put(employee.getId(), json);
+		}
+		return json.bytes;
+	}
+
+	public void invalidate(Long id) {
+		this.employees.invalidate(id);
+	}
+
+	public void invalidateAll() {
+		this.employees.invalidateAll();
+	}
+
+	/* Estimated heap of the cached entries, the figure employees.json-cache.maximum-size bounds */
+	public long getWeightedSize() {
+		/* Caffeine weighs new entries asynchronously, apply the pending ones so they are counted */
+		this.employees.cleanUp();
+		return this.employees.policy().eviction().get().weightedSize().getAsLong();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		invalidate(event.getEmployeeId());
+	}
+
+	/* cache.* meters tagged cache=employees.json, plus the bytes held */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.employees, "employees.json");
+		Gauge.builder("employees.json.cache.size", this, EmployeeJsonCache::getWeightedSize)
+				.description("Estimated heap held by the cached employee JSON bodies")
+				.baseUnit("bytes")
+				.register(registry);
+	}
+
+	private byte[] serialize(Employee employee) {
+		try {
+			return this.employeeWriter.writeValueAsBytes(employee);
+		} catch (JsonProcessingException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	private static final class EmployeeJson {
+
+		private final long version;
+		private final String firstName;
+		private final String lastName;
+		private final String email;
+		private final byte[] bytes;
+
+		/* The fields are copied, the employee instance itself may be a managed entity that changes later */
+		private EmployeeJson(Employee employee, byte[] bytes) {
+			this.version = employee.getVersion();
+			this.firstName = employee.getFirstName();
+			this.lastName = employee.getLastName();
+			this.email = employee.getEmail();
+			this.bytes = bytes;
+		}
+
+		/*
+		 * Small bodies are about as large as what is kept to validate them, counting the body alone let the cache hold
+		 * several times its maximum size. The copied fields play the part an ETag would, two bytes per char.
+		 */
+		private int weigh() {
+			return ENTRY_OVERHEAD + this.bytes.length + 2 * (length(this.firstName) + length(this.lastName) + length(this.email));
+		}
+
+		private static int length(String value) {
+			return value == null ? 0 : value.length();
+		}
+
+		private boolean isOf(Employee employee) {
+			return this.version == employee.getVersion() && Objects.equals(this.firstName, employee.getFirstName())
+					&& Objects.equals(this.lastName, employee.getLastName()) && Objects.equals(this.email, employee.getEmail());
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+/* Tells every other node that its cached copy of an employee is no longer valid */
+public class EmployeeInvalidation {
+
+	private final String originNodeId;
+	private final Long employeeId;
+
+	public String getOriginNodeId() {
+		return originNodeId;
+	}
+
+	public Long getEmployeeId() {
+		return employeeId;
+	}
+
+	public EmployeeInvalidation(String originNodeId, Long employeeId) {
+		this.originNodeId = originNodeId;
+		this.employeeId = employeeId;
+	}
+
+	@Override
+	public String toString() {
+		return "EmployeeInvalidation [originNodeId=" + originNodeId + ", employeeId=" + employeeId + "]";
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.dtechideas.restapitesting.cache.EmployeeCache;
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+
+/*
+ * Keeps the EmployeeCache of every node coherent. Each committed write on this node is published to the other nodes,
+ * and an invalidation coming from another node evicts only the id it names, so a cached employee is reloaded from the
+ * database only after it was actually changed somewhere. The local cache is evicted by its own listener.
+ *
+ * In-memory structures that are not a cache, like the email and name indexes, can not just drop an entry. They
+ * subscribe here and get the change of another node as an EmployeeChangedEvent, built from the employee the loader
+ * reads again from the primary: UPDATED with its current state, DELETED when it is gone.
+ */
+public class EmployeeInvalidationBus {
+
+	private final String nodeId;
+	private final EmployeeInvalidationTransport transport;
+	private final EmployeeCache employeeCache;
+	private final Function<Long, Optional<Employee>> primaryLoader;
+	private final List<Consumer<EmployeeChangedEvent>> remoteChangeSubscribers = new CopyOnWriteArrayList<>();
+
+	public EmployeeInvalidationBus(String nodeId, EmployeeInvalidationTransport transport, EmployeeCache employeeCache,
+			Function<Long, Optional<Employee>> primaryLoader) {
+		this.nodeId = nodeId;
+		this.transport = transport;
+		this.employeeCache = employeeCache;
+		this.primaryLoader = primaryLoader;
+		this.transport.subscribe(this::onInvalidation);
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	/* Called on the transport's thread for changes committed on other nodes only */
+	public void subscribeToRemoteChanges(Consumer<EmployeeChangedEvent> subscriber) {
+		this.remoteChangeSubscribers.add(subscriber);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		this.transport.publish(new EmployeeInvalidation(this.nodeId, event.getEmployeeId()));
+	}
+
+	private void onInvalidation(EmployeeInvalidation invalidation) {
+		if (this.nodeId.equals(invalidation.getOriginNodeId())) {
+			return;
+		}
+		this.employeeCache.invalidate(invalidation.getEmployeeId());
+		if (!this.remoteChangeSubscribers.isEmpty()) {
+			Optional<Employee> employee = this.primaryLoader.apply(invalidation.getEmployeeId());
+			EmployeeChangedEvent event = employee.isPresent() ? EmployeeChangedEvent.updated(employee.get())
+					: EmployeeChangedEvent.deleted(invalidation.getEmployeeId());
+			for (Consumer<EmployeeChangedEvent> subscriber : this.remoteChangeSubscribers) {
+				subscriber.accept(event);
+			}
+		}
+	}
+
+}
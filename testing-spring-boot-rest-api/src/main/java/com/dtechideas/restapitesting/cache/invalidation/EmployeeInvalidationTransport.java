@@ -0,0 +1,15 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/*
+ * Carries invalidations between the nodes of a cluster. Delivery is at-least-once to every subscriber, including the
+ * publishing node itself, filtering a node's own messages is left to the caller.
+ */
+public interface EmployeeInvalidationTransport {
+
+	void publish(EmployeeInvalidation invalidation);
+
+	void subscribe(Consumer<EmployeeInvalidation> subscriber);
+
+}
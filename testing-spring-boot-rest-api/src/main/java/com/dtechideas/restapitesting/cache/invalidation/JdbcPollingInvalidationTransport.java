@@ -0,0 +1,154 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/*
+ * Broker-less transport: invalidations are appended to the employee_invalidations table of the shared database and
+ * every node polls for rows it has not seen yet.
+ *
+ * Auto-increment ids become visible out of order when concurrent inserts commit in a different order than they got
+ * their ids. Ids skipped by a poll are therefore remembered as gaps and looked up again until "gap-timeout" passed,
+ * after that they are treated as rolled back. Rows older than "retention" are purged.
+ */
+public class JdbcPollingInvalidationTransport implements EmployeeInvalidationTransport, InitializingBean, DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JdbcPollingInvalidationTransport.class);
+
+	private static final int MAX_TRACKED_GAPS = 10_000;
+
+	/* Also run by the reactive application, which appends its invalidations over R2DBC */
+	public static final String CREATE_TABLE = "create table if not exists employee_invalidations ("
+			+ "id bigint not null auto_increment primary key, "
+			+ "employee_id bigint not null, "
+			+ "origin_node varchar(64) not null, "
+			+ "created_at timestamp not null)";
+
+	private static final RowMapper<InvalidationRow> ROW_MAPPER = (resultSet, rowNum) -> new InvalidationRow(
+			resultSet.getLong("id"), new EmployeeInvalidation(resultSet.getString("origin_node"), resultSet.getLong("employee_id")));
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Duration pollInterval;
+	private final Duration gapTimeout;
+	private final Duration retention;
+	private final List<Consumer<EmployeeInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+	/* Row ids below highestSeenId that were not visible yet, mapped to the time they stop being looked up */
+	private final Map<Long, Long> gaps = new LinkedHashMap<>();
+	private long highestSeenId;
+	private long nextPurgeAt;
+	private ScheduledExecutorService poller;
+
+	public JdbcPollingInvalidationTransport(DataSource dataSource, Duration pollInterval, Duration gapTimeout, Duration retention) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.pollInterval = pollInterval;
+		this.gapTimeout = gapTimeout;
+		this.retention = retention;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		this.jdbcTemplate.execute(CREATE_TABLE);
+		/* Only changes made after this node started are of interest, its cache starts empty */
+		Long highestId = this.jdbcTemplate.queryForObject("select max(id) from employee_invalidations", Long.class);
+		this.highestSeenId = highestId == null ? 0 : highestId;
+		this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-invalidation-poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.poller.scheduleWithFixedDelay(this::pollQuietly, this.pollInterval.toMillis(), this.pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		if (this.poller != null) {
+			this.poller.shutdownNow();
+		}
+	}
+
+	@Override
+	public void publish(EmployeeInvalidation invalidation) {
+		this.jdbcTemplate.update("insert into employee_invalidations (employee_id, origin_node, created_at) values (?, ?, ?)",
+				invalidation.getEmployeeId(), invalidation.getOriginNodeId(), new Timestamp(System.currentTimeMillis()));
+	}
+
+	@Override
+	public void subscribe(Consumer<EmployeeInvalidation> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+
+	/* Delivers every row that became visible since the previous poll, called by the poller thread and by tests */
+	synchronized void poll() {
+		long now = System.currentTimeMillis();
+		List<InvalidationRow> rows = new ArrayList<>(this.jdbcTemplate.query(
+				"select id, employee_id, origin_node from employee_invalidations where id > ? order by id", ROW_MAPPER, this.highestSeenId));
+		this.gaps.values().removeIf(deadline -> deadline < now);
+		if (!this.gaps.isEmpty()) {
+			String gapIds = this.gaps.keySet().stream().map(String::valueOf).collect(Collectors.joining(","));
+			rows.addAll(this.jdbcTemplate.query("select id, employee_id, origin_node from employee_invalidations where id in (" + gapIds + ")", ROW_MAPPER));
+		}
+		for (InvalidationRow row : rows) {
+			if (this.gaps.remove(row.id) == null) {
+				if (row.id <= this.highestSeenId) {
+					continue;
+				}
+				for (long missingId = this.highestSeenId + 1; missingId < row.id && this.gaps.size() < MAX_TRACKED_GAPS; missingId++) {
+					this.gaps.put(missingId, now + this.gapTimeout.toMillis());
+				}
+				this.highestSeenId = row.id;
+			}
+			for (Consumer<EmployeeInvalidation> subscriber : this.subscribers) {
+				subscriber.accept(row.invalidation);
+			}
+		}
+		if (now >= this.nextPurgeAt) {
+			this.jdbcTemplate.update("delete from employee_invalidations where created_at < ?", new Timestamp(now - this.retention.toMillis()));
+			this.nextPurgeAt = now + this.retention.toMillis();
+		}
+	}
+
+	private void pollQuietly() {
+		try {
+			poll();
+		} catch (RuntimeException exception) {
+			/* Keep the schedule alive, the rows are still there for the next poll */
+			LOGGER.warn("Polling employee invalidations failed", exception);
+		}
+	}
+
+	private static class InvalidationRow {
+
+		private final long id;
+		private final EmployeeInvalidation invalidation;
+
+		private InvalidationRow(long id, EmployeeInvalidation invalidation) {
+			this.id = id;
+			this.invalidation = invalidation;
+		}
+	}
+
+	/* Visible for tests */
+	synchronized int trackedGaps() {
+		return this.gaps.size();
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/*
+ * In-JVM transport that hands every invalidation straight to all subscribers on the calling thread. With a single
+ * node it only loops back to itself; tests share one instance between several buses to simulate a cluster.
+ */
+public class LoopbackInvalidationTransport implements EmployeeInvalidationTransport {
+
+	private final List<Consumer<EmployeeInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(EmployeeInvalidation invalidation) {
+		for (Consumer<EmployeeInvalidation> subscriber : this.subscribers) {
+			subscriber.accept(invalidation);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<EmployeeInvalidation> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+
+}
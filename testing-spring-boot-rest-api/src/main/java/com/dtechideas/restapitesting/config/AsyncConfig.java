@@ -0,0 +1,24 @@
+package com.dtechideas.restapitesting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dtechideas.restapitesting.async.EmployeeRequestExecutor;
+
+@Configuration
+@ConditionalOnProperty(name = "employees.async.enabled", havingValue = "true")
+public class AsyncConfig {
+
+	/* The pool defaults to the Hikari pool size, more threads would only wait for a connection */
+	@Bean(destroyMethod = "shutdown")
+	public EmployeeRequestExecutor employeeRequestExecutor(@Value("${employees.async.executor:bounded}") String executor,
+			@Value("${employees.async.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+			@Value("${employees.async.queue-capacity:100}") int queueCapacity) {
+		if ("virtual".equals(executor)) {
+			return EmployeeRequestExecutor.virtual(poolSize + queueCapacity);
+		}
+		return EmployeeRequestExecutor.bounded(poolSize, queueCapacity);
+	}
+}
@@ -0,0 +1,54 @@
+package com.dtechideas.restapitesting.config;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dtechideas.restapitesting.cache.EmployeeCache;
+import com.dtechideas.restapitesting.cache.invalidation.EmployeeInvalidationBus;
+import com.dtechideas.restapitesting.cache.invalidation.EmployeeInvalidationTransport;
+import com.dtechideas.restapitesting.cache.invalidation.JdbcPollingInvalidationTransport;
+import com.dtechideas.restapitesting.cache.invalidation.LoopbackInvalidationTransport;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+	/* Single node deployments, nothing leaves the JVM */
+	@Bean
+	@ConditionalOnProperty(name = "employees.cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+	public EmployeeInvalidationTransport loopbackInvalidationTransport() {
+		return new LoopbackInvalidationTransport();
+	}
+
+	/* Several replicas sharing one database, no broker required */
+	@Bean
+	@ConditionalOnProperty(name = "employees.cache.invalidation.transport", havingValue = "jdbc")
+	public EmployeeInvalidationTransport jdbcPollingInvalidationTransport(DataSource dataSource,
+			@Value("${employees.cache.invalidation.jdbc.poll-interval:1s}") Duration pollInterval,
+			@Value("${employees.cache.invalidation.jdbc.gap-timeout:10s}") Duration gapTimeout,
+			@Value("${employees.cache.invalidation.jdbc.retention:10m}") Duration retention) {
+		return new JdbcPollingInvalidationTransport(dataSource, pollInterval, gapTimeout, retention);
+	}
+
+	/*
+	 * The loader joins a read-write transaction, so the read-only finder is not routed to a replica that may not have
+	 * the change yet
+	 */
+	@Bean
+	public EmployeeInvalidationBus employeeInvalidationBus(EmployeeInvalidationTransport transport, EmployeeCache employeeCache,
+			EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+			@Value("${employees.cache.invalidation.node-id:}") String nodeId) {
+		TransactionTemplate primaryTransaction = new TransactionTemplate(transactionManager);
+		return new EmployeeInvalidationBus(nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId, transport, employeeCache,
+				id -> primaryTransaction.execute(status -> employeeRepository.findProjectedById(id)));
+	}
+}
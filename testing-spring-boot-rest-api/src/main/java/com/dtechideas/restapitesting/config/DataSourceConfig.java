@@ -0,0 +1,39 @@
+package com.dtechideas.restapitesting.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.dtechideas.restapitesting.datasource.ReadOnlyRoutingDataSource;
+import com.dtechideas.restapitesting.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * spring.datasource.* describes the primary. The DataSource the application uses is a LazyConnectionDataSourceProxy,
+ * so a transaction borrows a pooled connection only once it runs its first statement: reads answered from the caches,
+ * the snapshot or the write-behind buffer cost no connection and no read-only/commit round-trips. With replicas
+ * (DataSourceRoutingConfig) the proxy also lets ReadOnlyRoutingDataSource route by the transaction's read-only flag.
+ */
+@Configuration
+public class DataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ObjectProvider<ReplicaSet> replicaSet) {
+		ReplicaSet replicas = replicaSet.getIfAvailable();
+		return new LazyConnectionDataSourceProxy(replicas == null ? primaryDataSource : new ReadOnlyRoutingDataSource(primaryDataSource, replicas));
+	}
+}
@@ -0,0 +1,69 @@
+package com.dtechideas.restapitesting.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.dtechideas.restapitesting.datasource.ReadYourWritesFilter;
+import com.dtechideas.restapitesting.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Read replica support, only active when employees.datasource.replica.urls is set. spring.datasource.* still
+ * describes the primary, with a ReplicaSet DataSourceConfig routes read-only transactions to the replicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employees.datasource.replica.urls")
+public class DataSourceRoutingConfig {
+
+	/*
+	 * One pool per url, with the primary's credentials unless the replicas have their own and the pool settings of
+	 * employees.datasource.replica.hikari.* The schema script is for embedded stand-in replicas in tests, ddl-auto
+	 * only sees the primary.
+	 */
+	@Bean
+	public ReplicaSet replicaSet(@Qualifier("primaryDataSource") DataSource primaryDataSource, Environment environment,
+			ResourceLoader resourceLoader, @Value("${employees.datasource.replica.urls}") String[] urls,
+			@Value("${employees.datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${employees.datasource.replica.password:${spring.datasource.password:}}") String password,
+			@Value("${employees.datasource.replica.schema:}") String schema,
+			@Value("${employees.datasource.replica.check-interval:1s}") Duration checkInterval,
+			@Value("${employees.datasource.replica.max-lag:30}") long maxLag) {
+		List<DataSource> replicas = new ArrayList<>(urls.length);
+		for (String url : urls) {
+			HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+					.url(url.trim()).username(username).password(password).build();
+			Binder.get(environment).bind("employees.datasource.replica.hikari", Bindable.ofInstance(replica));
+			replica.setPoolName("replica-" + replicas.size());
+			replica.setReadOnly(true);
+			if (!schema.isEmpty()) {
+				DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(resourceLoader.getResource(schema)), replica);
+			}
+			replicas.add(replica);
+		}
+		return new ReplicaSet(primaryDataSource, replicas, checkInterval, maxLag);
+	}
+
+	@Bean
+	public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaSet replicaSet) {
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaSet));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+}
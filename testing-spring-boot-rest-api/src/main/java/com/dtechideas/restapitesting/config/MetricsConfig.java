@@ -0,0 +1,37 @@
+package com.dtechideas.restapitesting.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dtechideas.restapitesting.metrics.EmployeeServiceMetricsAspect;
+import com.dtechideas.restapitesting.metrics.SqlStatementCounter;
+import com.dtechideas.restapitesting.metrics.SqlStatementMetricsFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/* Repository timings come from Spring Boot's own spring.data.repository.invocations metric, this adds the rest */
+@Configuration
+@ConditionalOnProperty(name = "employees.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+	@Bean
+	public EmployeeServiceMetricsAspect employeeServiceMetricsAspect(MeterRegistry meterRegistry) {
+		return new EmployeeServiceMetricsAspect(meterRegistry);
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+		return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+	}
+
+	@Bean
+	public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+		FilterRegistrationBean<SqlStatementMetricsFilter> registration = new FilterRegistrationBean<>(new SqlStatementMetricsFilter(meterRegistry));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+}
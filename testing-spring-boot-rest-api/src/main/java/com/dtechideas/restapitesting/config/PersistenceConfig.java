@@ -0,0 +1,19 @@
+package com.dtechideas.restapitesting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dtechideas.restapitesting.model.EmployeeIdGenerator;
+
+@Configuration
+public class PersistenceConfig {
+
+	/* Hands the application property over to Hibernate, where EmployeeIdGenerator reads it while the mapping is built */
+	@Bean
+	public HibernatePropertiesCustomizer employeeIdAllocationSizeCustomizer(
+			@Value("${" + EmployeeIdGenerator.ALLOCATION_SIZE_SETTING + ":" + EmployeeIdGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+		return hibernateProperties -> hibernateProperties.put(EmployeeIdGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+	}
+}
@@ -0,0 +1,112 @@
+package com.dtechideas.restapitesting.config;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.dtechideas.restapitesting.reactive.controller.EmployeeHandler;
+import com.dtechideas.restapitesting.reactive.repository.ReactiveEmployeeIdAllocator;
+import com.dtechideas.restapitesting.reactive.repository.ReactiveEmployeeInvalidationPublisher;
+import com.dtechideas.restapitesting.reactive.repository.ReactiveEmployeeRepository;
+import com.dtechideas.restapitesting.reactive.service.ReactiveEmployeeService;
+import com.dtechideas.restapitesting.reactive.service.impl.ReactiveEmployeeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/*
+ * Beans of ReactiveEmployeeApplication. The R2DBC auto-configuration is excluded in application.properties so the
+ * servlet application does not pick it up, the connection factory is built from employees.reactive.r2dbc.* here.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeConfig {
+
+	private static final String EMPLOYEES_PATH = "/api/v1/employees";
+
+	/* An r2dbc:pool: url wraps the driver in r2dbc-pool */
+	@Bean
+	public ConnectionFactory connectionFactory(@Value("${employees.reactive.r2dbc.url}") String url,
+			@Value("${employees.reactive.r2dbc.username:}") String username,
+			@Value("${employees.reactive.r2dbc.password:}") String password) {
+		ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+		if (!username.isEmpty()) {
+			options.option(ConnectionFactoryOptions.USER, username).option(ConnectionFactoryOptions.PASSWORD, password);
+		}
+		return ConnectionFactories.get(options.build());
+	}
+
+	@Bean
+	public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+		return DatabaseClient.create(connectionFactory);
+	}
+
+	/* The servlet application owns the schema (ddl-auto), this is for running the reactive one on its own */
+	@Bean
+	@ConditionalOnProperty(name = "employees.reactive.r2dbc.schema")
+	public ConnectionFactoryInitializer connectionFactoryInitializer(ConnectionFactory connectionFactory, ResourceLoader resourceLoader,
+			@Value("${employees.reactive.r2dbc.schema}") String schema) {
+		ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+		initializer.setConnectionFactory(connectionFactory);
+		initializer.setDatabasePopulator(new ResourceDatabasePopulator(resourceLoader.getResource(schema)));
+		return initializer;
+	}
+
+	@Bean
+	public ReactiveEmployeeIdAllocator reactiveEmployeeIdAllocator(DatabaseClient databaseClient,
+			@Value("${employees.id.allocation-size:50}") int allocationSize) {
+		return new ReactiveEmployeeIdAllocator(databaseClient, allocationSize);
+	}
+
+	@Bean
+	public ReactiveEmployeeRepository reactiveEmployeeRepository(DatabaseClient databaseClient, ReactiveEmployeeIdAllocator idAllocator) {
+		return new ReactiveEmployeeRepository(databaseClient, idAllocator);
+	}
+
+	/* Same table and node id settings as the jdbc transport in CacheInvalidationConfig */
+	@Bean
+	@ConditionalOnProperty(name = "employees.cache.invalidation.transport", havingValue = "jdbc")
+	public ReactiveEmployeeInvalidationPublisher reactiveEmployeeInvalidationPublisher(DatabaseClient databaseClient,
+			@Value("${employees.cache.invalidation.node-id:}") String nodeId) {
+		return new ReactiveEmployeeInvalidationPublisher(databaseClient, nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId);
+	}
+
+	@Bean
+	public ReactiveEmployeeService reactiveEmployeeService(ReactiveEmployeeRepository employeeRepository,
+			ObjectProvider<ReactiveEmployeeInvalidationPublisher> invalidationPublisher) {
+		return new ReactiveEmployeeServiceImpl(employeeRepository, invalidationPublisher.getIfAvailable());
+	}
+
+	@Bean
+	public EmployeeHandler employeeHandler(ReactiveEmployeeService employeeService, ObjectMapper objectMapper) {
+		return new EmployeeHandler(employeeService, objectMapper);
+	}
+
+	@Bean
+	public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler employeeHandler) {
+		return RouterFunctions.route()
+				.POST(EMPLOYEES_PATH, employeeHandler::createEmployee)
+				.GET(EMPLOYEES_PATH, queryParam("unpaged", "true"::equals), employeeHandler::getAllEmployees)
+				.GET(EMPLOYEES_PATH, employeeHandler::getEmployeesPage)
+				.GET(EMPLOYEES_PATH + "/{id}", employeeHandler::getEmployeeById)
+				.PUT(EMPLOYEES_PATH + "/{id}", employeeHandler::updateEmployee)
+				.DELETE(EMPLOYEES_PATH + "/{id}", employeeHandler::deleteEmployeeById)
+				.build();
+	}
+}
@@ -0,0 +1,22 @@
+package com.dtechideas.restapitesting.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshotStore;
+
+@Configuration
+@ConditionalOnProperty(name = "employees.snapshot.enabled", havingValue = "true")
+public class SnapshotConfig {
+
+	@Bean
+	public EmployeeSnapshotStore employeeSnapshotStore(EmployeeRepository employeeRepository,
+			@Value("${employees.snapshot.refresh-interval:30s}") Duration refreshInterval) {
+		return new EmployeeSnapshotStore(employeeRepository, refreshInterval);
+	}
+}
@@ -0,0 +1,22 @@
+package com.dtechideas.restapitesting.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.dtechideas.restapitesting.converter.EmployeeCborHttpMessageConverter;
+
+/*
+ * Employees are also served as CBOR to callers that send Accept or Content-Type application/cbor. The converter goes
+ * after the default ones, so a request that accepts anything (or sends no Accept) keeps getting JSON.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(new EmployeeCborHttpMessageConverter());
+	}
+}
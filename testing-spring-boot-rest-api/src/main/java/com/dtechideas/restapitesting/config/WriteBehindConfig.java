@@ -0,0 +1,31 @@
+package com.dtechideas.restapitesting.config;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.writebehind.EmployeeWriteBehindQueue;
+
+@Configuration
+@ConditionalOnProperty(name = "employees.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+	/* The log directory has to survive restarts, pending updates are only replayed from there */
+	@Bean
+	public EmployeeWriteBehindQueue employeeWriteBehindQueue(EmployeeRepository employeeRepository,
+			PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+			@Value("${employees.write-behind.log-dir:employee-updates}") String logDirectory,
+			@Value("${employees.write-behind.flush-interval:1s}") Duration flushInterval,
+			@Value("${employees.write-behind.max-pending:1000}") int maxPending,
+			@Value("${employees.write-behind.batch-size:500}") int batchSize) {
+		return new EmployeeWriteBehindQueue(employeeRepository, transactionManager, eventPublisher, Paths.get(logDirectory),
+				flushInterval, maxPending, batchSize);
+	}
+}
@@ -0,0 +1,117 @@
+package com.dtechideas.restapitesting.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dtechideas.restapitesting.async.EmployeeRequestExecutor;
+import com.dtechideas.restapitesting.exception.TooManyRequestsException;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
+
+/*
+ * The mappings of EmployeeController, but the Tomcat thread is released while the service waits on the database.
+ * The same EmployeeHandlers bodies run on EmployeeRequestExecutor, when it is full the request fails fast with 429.
+ * Anything read from the servlet request is read here, before the work leaves the Tomcat thread.
+ */
+@RestController
+@RequestMapping(path = "/api/v1/employees")
+@ConditionalOnProperty(name = "employees.async.enabled", havingValue = "true")
+public class AsyncEmployeeController {
+
+	@Autowired
+	private EmployeeHandlers employeeHandlers;
+
+	@Autowired
+	private EmployeeRequestExecutor employeeRequestExecutor;
+
+	@PostMapping
+	public CompletableFuture<ResponseEntity<Employee>> createEmployee(@RequestBody Employee employee) {
+		return submit(() -> this.employeeHandlers.createEmployee(employee));
+	}
+
+	@GetMapping
+	public CompletableFuture<ResponseEntity<EmployeePage>> getEmployeesPage(@RequestParam(name = "cursor", required = false) String cursor,
+			@RequestParam(name = "size", defaultValue = "50") int size) {
+		return submit(() -> this.employeeHandlers.getEmployeesPage(cursor, size));
+	}
+
+	@GetMapping(params = "unpaged=true")
+	public CompletableFuture<ResponseEntity<?>> getAllEmployees(
+			@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return submit(() -> this.employeeHandlers.getAllEmployees(MediaType.APPLICATION_JSON, acceptEncoding));
+	}
+
+	@GetMapping(params = "unpaged=true", produces = MediaType.APPLICATION_CBOR_VALUE)
+	public CompletableFuture<ResponseEntity<?>> getAllEmployeesAsCbor(
+			@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return submit(() -> this.employeeHandlers.getAllEmployees(MediaType.APPLICATION_CBOR, acceptEncoding));
+	}
+
+	@GetMapping(path = "/search")
+	public CompletableFuture<ResponseEntity<EmployeePage>> searchEmployees(EmployeeSearchCriteria criteria,
+			@RequestParam(name = "cursor", required = false) String cursor, @RequestParam(name = "size", defaultValue = "50") int size) {
+		return submit(() -> this.employeeHandlers.searchEmployees(criteria, cursor, size));
+	}
+
+	@GetMapping(path = "/autocomplete")
+	public CompletableFuture<ResponseEntity<List<Employee>>> autocompleteEmployees(@RequestParam("q") String prefix,
+			@RequestParam(name = "limit", defaultValue = "10") int limit) {
+		return submit(() -> this.employeeHandlers.autocompleteEmployees(prefix, limit));
+	}
+
+	@GetMapping(path = "/{id}")
+	public CompletableFuture<ResponseEntity<?>> getEmployeeById(@PathVariable("id") Long employeeId,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, HttpServletRequest request) {
+		String requestUri = request.getRequestURI();
+		return submit(() -> this.employeeHandlers.getEmployeeById(employeeId, ifNoneMatch, requestUri));
+	}
+
+	@GetMapping(path = "/{id}", produces = MediaType.APPLICATION_CBOR_VALUE)
+	public CompletableFuture<ResponseEntity<?>> getEmployeeByIdAsCbor(@PathVariable("id") Long employeeId, HttpServletRequest request) {
+		String requestUri = request.getRequestURI();
+		return submit(() -> this.employeeHandlers.getEmployeeByIdAsCbor(employeeId, requestUri));
+	}
+
+	@PutMapping("/{id}")
+	public CompletableFuture<ResponseEntity<?>> updateEmployee(@PathVariable("id") Long employeeId, @RequestBody Employee employee,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch, HttpServletRequest request) {
+		String requestUri = request.getRequestURI();
+		return submit(() -> this.employeeHandlers.updateEmployee(employeeId, employee, ifMatch, requestUri));
+	}
+
+	@DeleteMapping(path = "/{id}")
+	public CompletableFuture<ResponseEntity<?>> deleteEmployeeById(@PathVariable("id") Long employeeId, HttpServletRequest request) {
+		String requestUri = request.getRequestURI();
+		return submit(() -> this.employeeHandlers.deleteEmployeeById(employeeId, requestUri));
+	}
+
+	/* Exceptions thrown by the service complete the future and reach GloablExceptionHandler as usual */
+	private <T> CompletableFuture<T> submit(Supplier<T> work) {
+		try {
+			return CompletableFuture.supplyAsync(work, this.employeeRequestExecutor);
+		} catch (RejectedExecutionException exception) {
+			throw new TooManyRequestsException("Employee", this.employeeRequestExecutor.getMaxInFlight());
+		}
+	}
+}
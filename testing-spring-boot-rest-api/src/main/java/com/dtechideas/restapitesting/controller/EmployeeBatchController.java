@@ -0,0 +1,39 @@
+package com.dtechideas.restapitesting.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeBatchResult;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+@RestController
+@RequestMapping(path = "/api/v1/employees")
+public class EmployeeBatchController {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	/* Every item gets its own outcome, so the request succeeds as a whole even when some emails already exist */
+	@PostMapping(path = "/batch")
+	public ResponseEntity<List<EmployeeBatchResult>> createEmployees(@RequestBody List<Employee> employees) {
+		List<EmployeeBatchResult> results = this.employeeService.saveEmployees(employees);
+		return new ResponseEntity<List<EmployeeBatchResult>>(results, HttpStatus.OK);
+	}
+
+	/* Ids that do not exist are ignored, the response reports how many employees were actually deleted */
+	@DeleteMapping(params = "ids")
+	public ResponseEntity<String> deleteEmployees(@RequestParam("ids") List<Long> ids) {
+		int deleted = this.employeeService.deleteEmployeesByIds(ids);
+		return new ResponseEntity<String>(deleted+" employees deleted successfully", HttpStatus.OK);
+	}
+}
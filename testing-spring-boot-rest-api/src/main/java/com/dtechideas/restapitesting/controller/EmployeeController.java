@@ -2,8 +2,12 @@ package com.dtechideas.restapitesting.controller;
 
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,46 +15,85 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.dtechideas.restapitesting.model.Employee;
-import com.dtechideas.restapitesting.service.EmployeeService;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 
+/* Blocking handlers, replaced by AsyncEmployeeController when employees.async.enabled=true. The bodies are in EmployeeHandlers. */
 @RestController
 @RequestMapping(path = "/api/v1/employees")
+@ConditionalOnProperty(name = "employees.async.enabled", havingValue = "false", matchIfMissing = true)
 public class EmployeeController {
 
 	@Autowired
-	private EmployeeService employeeService;
+	private EmployeeHandlers employeeHandlers;
 
 	@PostMapping
 	public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
-		Employee savedEmployee = this.employeeService.saveEmployee(employee);
-		return new ResponseEntity<Employee>(savedEmployee, HttpStatus.CREATED);
+		return this.employeeHandlers.createEmployee(employee);
 	}
 
 	@GetMapping
-	public ResponseEntity<List<Employee>> getAllEmployees() {
-		List<Employee> employees = this.employeeService.getAllEmployees();
-		return new ResponseEntity<List<Employee>>(employees, HttpStatus.OK);
+	public ResponseEntity<EmployeePage> getEmployeesPage(@RequestParam(name = "cursor", required = false) String cursor,
+			@RequestParam(name = "size", defaultValue = "50") int size) {
+		return this.employeeHandlers.getEmployeesPage(cursor, size);
+	}
+
+	/*
+	 * Loads the whole table in one response, callers have to opt in explicitly with ?unpaged=true. A body compressed for
+	 * an earlier request of the same version is sent as it is, otherwise Tomcat compresses the response on the way out.
+	 */
+	@GetMapping(params = "unpaged=true")
+	public ResponseEntity<?> getAllEmployees(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return this.employeeHandlers.getAllEmployees(MediaType.APPLICATION_JSON, acceptEncoding);
 	}
 
+	@GetMapping(params = "unpaged=true", produces = MediaType.APPLICATION_CBOR_VALUE)
+	public ResponseEntity<?> getAllEmployeesAsCbor(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return this.employeeHandlers.getAllEmployees(MediaType.APPLICATION_CBOR, acceptEncoding);
+	}
+
+	/* Filters bind from firstName, lastName, email and match=EXACT|PREFIX, pages are ordered by last name and first name */
+	@GetMapping(path = "/search")
+	public ResponseEntity<EmployeePage> searchEmployees(EmployeeSearchCriteria criteria, @RequestParam(name = "cursor", required = false) String cursor,
+			@RequestParam(name = "size", defaultValue = "50") int size) {
+		return this.employeeHandlers.searchEmployees(criteria, cursor, size);
+	}
+
+	/* Type-ahead over first name, last name and email prefixes, answered from EmployeeNameIndex */
+	@GetMapping(path = "/autocomplete")
+	public ResponseEntity<List<Employee>> autocompleteEmployees(@RequestParam("q") String prefix,
+			@RequestParam(name = "limit", defaultValue = "10") int limit) {
+		return this.employeeHandlers.autocompleteEmployees(prefix, limit);
+	}
+
+	/* A matching If-None-Match gets 304 from the version alone, the cached JSON is not even looked up then */
 	@GetMapping(path = "/{id}")
-	public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long employeeId) {
-		Employee foundEmployee = this.employeeService.getEmployeeById(employeeId);
-		return new ResponseEntity<Employee>(foundEmployee, HttpStatus.OK);
+	public ResponseEntity<?> getEmployeeById(@PathVariable("id") Long employeeId,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, HttpServletRequest request) {
+		return this.employeeHandlers.getEmployeeById(employeeId, ifNoneMatch, request.getRequestURI());
+	}
+
+	/* Callers asking for application/cbor get the employee itself */
+	@GetMapping(path = "/{id}", produces = MediaType.APPLICATION_CBOR_VALUE)
+	public ResponseEntity<?> getEmployeeByIdAsCbor(@PathVariable("id") Long employeeId, HttpServletRequest request) {
+		return this.employeeHandlers.getEmployeeByIdAsCbor(employeeId, request.getRequestURI());
 	}
 
+	/* With If-Match the update only applies while the employee is still at that version, otherwise 412 */
 	@PutMapping("/{id}")
-	public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long employeeId, @RequestBody Employee employee) {
-		Employee updatedEmployee = this.employeeService.updateEmployee(employeeId, employee);
-		return new ResponseEntity<Employee>(updatedEmployee, HttpStatus.OK);
+	public ResponseEntity<?> updateEmployee(@PathVariable("id") Long employeeId, @RequestBody Employee employee,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch, HttpServletRequest request) {
+		return this.employeeHandlers.updateEmployee(employeeId, employee, ifMatch, request.getRequestURI());
 	}
 
 	@DeleteMapping(path = "/{id}")
-	public ResponseEntity<String> deleteEmployeeById(@PathVariable("id") Long employeeId) {
-		this.employeeService.deleteEmployeeById(employeeId);
-		return new ResponseEntity<String>("Employee with Id : "+employeeId+" deleted successfully", HttpStatus.OK);
+	public ResponseEntity<?> deleteEmployeeById(@PathVariable("id") Long employeeId, HttpServletRequest request) {
+		return this.employeeHandlers.deleteEmployeeById(employeeId, request.getRequestURI());
 	}
 }
@@ -0,0 +1,54 @@
+package com.dtechideas.restapitesting.controller;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+/* ETags of employees are their optimistic lock version, quoted as a strong validator */
+public final class EmployeeETags {
+
+	/* Version used for an If-Match value this API never issued, no employee can be at it so the precondition fails */
+	public static final long UNMATCHABLE_VERSION = -1L;
+
+	private EmployeeETags() {
+	}
+
+	public static String of(Employee employee) {
+		return "\"" + employee.getVersion() + "\"";
+	}
+
+	/*
+	 * Whether an If-None-Match header names the employee's current ETag. It is compared weakly as RFC 7232 asks, so
+	 * W/"3" matches version 3 too, and "*" matches any existing employee.
+	 */
+	public static boolean matchesNoneMatch(String ifNoneMatch, Employee employee) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		String current = of(employee);
+		for (String etag : ifNoneMatch.split(",")) {
+			String candidate = etag.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/* The version an If-Match header requires, null when there is no precondition ("*" only asks for existence) */
+	public static Long expectedVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String etag = ifMatch.trim();
+		if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+			return UNMATCHABLE_VERSION;
+		}
+		try {
+			return Long.valueOf(etag.substring(1, etag.length() - 1));
+		} catch (NumberFormatException exception) {
+			return UNMATCHABLE_VERSION;
+		}
+	}
+}
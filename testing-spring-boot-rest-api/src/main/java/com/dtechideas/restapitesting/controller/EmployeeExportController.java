@@ -0,0 +1,72 @@
+package com.dtechideas.restapitesting.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.converter.ContentCoding;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@RestController
+@RequestMapping(path = "/api/v1/employees")
+public class EmployeeExportController {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeBulkBodyCache employeeBulkBodyCache;
+
+	/*
+	 * Streams the whole table as newline delimited JSON, one employee per line, as rows come off the cursor. While the
+	 * rows have a version the export is compressed once for the negotiated coding and later requests get those bytes.
+	 */
+	@GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		ObjectWriter employeeWriter = this.objectMapper.writerFor(Employee.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		StreamingResponseBody responseBody = outputStream -> {
+			JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			this.employeeService.exportEmployees(employee -> {
+				try {
+					employeeWriter.writeValue(generator, employee);
+					generator.writeRaw('\n');
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+			});
+			generator.close();
+		};
+		ContentCoding contentCoding = ContentCoding.negotiate(acceptEncoding);
+		if (contentCoding != null) {
+			Optional<byte[]> body = this.employeeBulkBodyCache.get("export", contentCoding, responseBody);
+			if (body.isPresent()) {
+				byte[] compressedBody = body.get();
+				return EmployeeResponses.encoded(MediaType.APPLICATION_NDJSON, contentCoding).contentLength(compressedBody.length)
+						.body(outputStream -> outputStream.write(compressedBody));
+			}
+		}
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+	}
+}
@@ -0,0 +1,113 @@
+package com.dtechideas.restapitesting.controller;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
+import com.dtechideas.restapitesting.converter.ContentCoding;
+import com.dtechideas.restapitesting.converter.EmployeeCbor;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/*
+ * The handler bodies behind /api/v1/employees. EmployeeController calls them on the Tomcat thread and
+ * AsyncEmployeeController on EmployeeRequestExecutor, so both modes answer every request the same way. Nothing here
+ * touches the servlet request, which is no longer safe to read once the async controller left the Tomcat thread.
+ */
+@Component
+class EmployeeHandlers {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeJsonCache employeeJsonCache;
+
+	@Autowired
+	private EmployeeBulkBodyCache employeeBulkBodyCache;
+
+	ResponseEntity<Employee> createEmployee(Employee employee) {
+		Employee savedEmployee = this.employeeService.saveEmployee(employee);
+		return new ResponseEntity<Employee>(savedEmployee, HttpStatus.CREATED);
+	}
+
+	ResponseEntity<EmployeePage> getEmployeesPage(String cursor, int size) {
+		EmployeePage employeePage = this.employeeService.getEmployeesPage(cursor, size);
+		return new ResponseEntity<EmployeePage>(employeePage, HttpStatus.OK);
+	}
+
+	/* application/json or application/cbor, a body compressed for an earlier request of the same version if there is one */
+	ResponseEntity<?> getAllEmployees(MediaType mediaType, String acceptEncoding) {
+		ContentCoding contentCoding = ContentCoding.negotiate(acceptEncoding);
+		Optional<byte[]> body = contentCoding == null ? Optional.empty() : this.employeeBulkBodyCache.getAllEmployees(mediaType, contentCoding);
+		if (body.isPresent()) {
+			return EmployeeResponses.encoded(mediaType, contentCoding).body(body.get());
+		}
+		List<Employee> employees = this.employeeService.getAllEmployees();
+		/* Encoded here, the CBOR converter only takes a List it can see is a List<Employee> */
+		if (MediaType.APPLICATION_CBOR.equals(mediaType)) {
+			return ResponseEntity.ok().contentType(MediaType.APPLICATION_CBOR).body(EmployeeCbor.encode(employees));
+		}
+		return new ResponseEntity<List<Employee>>(employees, HttpStatus.OK);
+	}
+
+	ResponseEntity<EmployeePage> searchEmployees(EmployeeSearchCriteria criteria, String cursor, int size) {
+		EmployeePage employeePage = this.employeeService.searchEmployees(criteria, cursor, size);
+		return new ResponseEntity<EmployeePage>(employeePage, HttpStatus.OK);
+	}
+
+	ResponseEntity<List<Employee>> autocompleteEmployees(String prefix, int limit) {
+		List<Employee> employees = this.employeeService.autocompleteEmployees(prefix, limit);
+		return new ResponseEntity<List<Employee>>(employees, HttpStatus.OK);
+	}
+
+	/*
+	 * The body is the employee's JSON from EmployeeJsonCache, written as is without the ObjectMapper. A matching
+	 * If-None-Match is answered from the version alone, before the JSON is looked up or serialized.
+	 */
+	ResponseEntity<?> getEmployeeById(Long employeeId, String ifNoneMatch, String requestUri) {
+		Optional<Employee> foundEmployee = this.employeeService.findEmployeeById(employeeId);
+		if (!foundEmployee.isPresent()) {
+			return EmployeeResponses.notFound(employeeId, requestUri);
+		}
+		String eTag = EmployeeETags.of(foundEmployee.get());
+		if (EmployeeETags.matchesNoneMatch(ifNoneMatch, foundEmployee.get())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
+		return ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).body(this.employeeJsonCache.get(foundEmployee.get()));
+	}
+
+	/* The employee itself, written by EmployeeCborHttpMessageConverter */
+	ResponseEntity<?> getEmployeeByIdAsCbor(Long employeeId, String requestUri) {
+		Optional<Employee> foundEmployee = this.employeeService.findEmployeeById(employeeId);
+		if (!foundEmployee.isPresent()) {
+			return EmployeeResponses.notFound(employeeId, requestUri);
+		}
+		return ResponseEntity.ok().eTag(EmployeeETags.of(foundEmployee.get())).body(foundEmployee.get());
+	}
+
+	ResponseEntity<?> updateEmployee(Long employeeId, Employee employee, String ifMatch, String requestUri) {
+		Optional<Employee> updatedEmployee = this.employeeService.updateEmployeeIfExists(employeeId, employee,
+				EmployeeETags.expectedVersion(ifMatch));
+		if (!updatedEmployee.isPresent()) {
+			return EmployeeResponses.notFound(employeeId, requestUri);
+		}
+		return ResponseEntity.ok().eTag(EmployeeETags.of(updatedEmployee.get())).body(updatedEmployee.get());
+	}
+
+	ResponseEntity<?> deleteEmployeeById(Long employeeId, String requestUri) {
+		if (!this.employeeService.deleteEmployeeIfExists(employeeId)) {
+			return EmployeeResponses.notFound(employeeId, requestUri);
+		}
+		return new ResponseEntity<String>("Employee with Id : "+employeeId+" deleted successfully", HttpStatus.OK);
+	}
+}
@@ -0,0 +1,30 @@
+package com.dtechideas.restapitesting.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.dtechideas.restapitesting.converter.ContentCoding;
+import com.dtechideas.restapitesting.exception.ErrorDetail;
+import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+
+/* Responses the employee controllers build themselves: errors the service reports without throwing, precompressed bodies */
+public final class EmployeeResponses {
+
+	private EmployeeResponses() {
+	}
+
+	/* Same status and body GloablExceptionHandler gives a ResourceNotFoundException */
+	public static ResponseEntity<ErrorDetail> notFound(Long employeeId, String requestUri) {
+		ErrorDetail errorDetail = new ErrorDetail(System.currentTimeMillis(), ResourceNotFoundException.message("Employee", "id", employeeId),
+				"uri=" + requestUri);
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(errorDetail);
+	}
+
+	/* Headers of a body that is already compressed, Tomcat does not compress a response with a Content-Encoding again */
+	public static ResponseEntity.BodyBuilder encoded(MediaType contentType, ContentCoding contentCoding) {
+		return ResponseEntity.ok().contentType(contentType).header(HttpHeaders.CONTENT_ENCODING, contentCoding.getToken())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+	}
+}
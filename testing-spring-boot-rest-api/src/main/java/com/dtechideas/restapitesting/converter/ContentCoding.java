@@ -0,0 +1,99 @@
+package com.dtechideas.restapitesting.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * HTTP content codings the JDK can produce: gzip (RFC 1952) and deflate, which HTTP defines as the zlib format of
+ * RFC 1950. Responses without a coding are "identity", negotiate() returns null for them.
+ */
+public enum ContentCoding {
+
+	GZIP("gzip") {
+		@Override
+		public OutputStream wrap(OutputStream outputStream) throws IOException {
+			return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+		}
+	},
+
+	DEFLATE("deflate") {
+		@Override
+		public OutputStream wrap(OutputStream outputStream) {
+			return new DeflaterOutputStream(outputStream);
+		}
+	};
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final String token;
+
+	ContentCoding(String token) {
+		this.token = token;
+	}
+
+	/* The value of the Content-Encoding header */
+	public String getToken() {
+		return token;
+	}
+
+	/* Closing the returned stream finishes the coding and closes outputStream */
+	public abstract OutputStream wrap(OutputStream outputStream) throws IOException;
+
+	/*
+	 * The coding an Accept-Encoding header prefers (RFC 7231 section 5.3.4), null for identity. Codings without a
+	 * q-value have q=1, "*" stands for every coding not listed by name, q=0 rules a coding out, and equal q-values go
+	 * to gzip first.
+	 */
+	public static ContentCoding negotiate(String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+			return null;
+		}
+		ContentCoding[] codings = values();
+		double[] qualities = new double[codings.length];
+		boolean[] listed = new boolean[codings.length];
+		double wildcardQuality = 0;
+		for (String element : acceptEncoding.split(",")) {
+			String[] parameters = element.split(";");
+			String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+			double quality = 1;
+			for (int i = 1; i < parameters.length; i++) {
+				String parameter = parameters[i].trim();
+				if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+					quality = parseQuality(parameter.substring(2));
+				}
+			}
+			if (name.equals("*")) {
+				wildcardQuality = quality;
+			}
+			for (ContentCoding coding : codings) {
+				if (name.equals(coding.token)) {
+					qualities[coding.ordinal()] = quality;
+					listed[coding.ordinal()] = true;
+				}
+			}
+		}
+		ContentCoding preferred = null;
+		double preferredQuality = 0;
+		for (ContentCoding coding : codings) {
+			double quality = listed[coding.ordinal()] ? qualities[coding.ordinal()] : wildcardQuality;
+			if (quality > preferredQuality) {
+				preferred = coding;
+				preferredQuality = quality;
+			}
+		}
+		return preferred;
+	}
+
+	/* A malformed q-value counts as q=0, the coding is then not used */
+	private static double parseQuality(String value) {
+		try {
+			double quality = Double.parseDouble(value.trim());
+			return quality >= 0 && quality <= 1 ? quality : 0;
+		} catch (NumberFormatException exception) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,365 @@
+package com.dtechideas.restapitesting.converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+/*
+ * CBOR (RFC 8949) encoding of Employee and List<Employee>, the binary counterpart of the JSON bodies: an employee is a
+ * map with the same keys as its JSON object, a list is an array of them. Only the types an employee needs are written
+ * (unsigned and negative integers, text strings, null). Any well-formed item is read, so maps and arrays of indefinite
+ * length (what streaming CBOR encoders write), chunked strings, tags and unknown keys are accepted too.
+ */
+public final class EmployeeCbor {
+
+	private static final int MAJOR_UNSIGNED = 0;
+	private static final int MAJOR_NEGATIVE = 1;
+	private static final int MAJOR_BYTES = 2;
+	private static final int MAJOR_TEXT = 3;
+	private static final int MAJOR_ARRAY = 4;
+	private static final int MAJOR_MAP = 5;
+	private static final int MAJOR_TAG = 6;
+	private static final int MAJOR_SIMPLE = 7;
+	private static final int INDEFINITE = 31;
+	private static final int BREAK = 0xff;
+	private static final int NULL = 0xf6;
+	private static final int UNDEFINED = 0xf7;
+	/* Nesting allowed when skipping unknown values, deeper input is rejected instead of overflowing the stack */
+	private static final int MAX_DEPTH = 32;
+
+	private static final byte[] ID = text("id");
+	private static final byte[] FIRST_NAME = text("firstName");
+	private static final byte[] LAST_NAME = text("lastName");
+	private static final byte[] EMAIL = text("email");
+	private static final byte[] VERSION = text("version");
+
+	private EmployeeCbor() {
+	}
+
+	public static byte[] encode(Employee employee) {
+		Writer writer = new Writer(64);
+		writer.writeEmployee(employee);
+		return writer.toByteArray();
+	}
+
+	public static byte[] encode(List<Employee> employees) {
+		Writer writer = new Writer(16 + employees.size() * 64);
+		writer.writeHead(MAJOR_ARRAY, employees.size());
+		for (Employee employee : employees) {
+			writer.writeEmployee(employee);
+		}
+		return writer.toByteArray();
+	}
+
+	/* The version is read-only like in JSON, a version sent by a client is ignored */
+	public static Employee decodeEmployee(byte[] cbor) {
+		Reader reader = new Reader(cbor);
+		Employee employee = reader.readEmployee();
+		reader.expectEnd();
+		return employee;
+	}
+
+	public static List<Employee> decodeEmployees(byte[] cbor) {
+		Reader reader = new Reader(cbor);
+		reader.readHead();
+		if (reader.major != MAJOR_ARRAY) {
+			throw reader.malformed("expected an array of employees");
+		}
+		boolean indefiniteArray = reader.indefinite;
+		long items = reader.argument;
+		List<Employee> employees = new ArrayList<>(indefiniteArray ? 16 : (int) Math.min(items, 1024));
+		for (long i = 0; indefiniteArray ? !reader.nextIsBreak() : i < items; i++) {
+			employees.add(reader.readEmployee());
+		}
+		reader.expectEnd();
+		return employees;
+	}
+
+	private static byte[] text(String value) {
+		Writer writer = new Writer(value.length() + 1);
+		writer.writeText(value);
+		return writer.toByteArray();
+	}
+
+	private static final class Writer {
+
+		private byte[] buffer;
+		private int size;
+
+		private Writer(int capacity) {
+			this.buffer = new byte[capacity];
+		}
+
+		private void writeEmployee(Employee employee) {
+			writeHead(MAJOR_MAP, 5);
+			writeRaw(ID);
+			if (employee.getId() == null) {
+				writeByte(NULL);
+			} else {
+				writeLong(employee.getId());
+			}
+			writeRaw(FIRST_NAME);
+			writeText(employee.getFirstName());
+			writeRaw(LAST_NAME);
+			writeText(employee.getLastName());
+			writeRaw(EMAIL);
+			writeText(employee.getEmail());
+			writeRaw(VERSION);
+			writeLong(employee.getVersion());
+		}
+
+		private void writeLong(long value) {
+			if (value < 0) {
+				writeHead(MAJOR_NEGATIVE, -1 - value);
+			} else {
+				writeHead(MAJOR_UNSIGNED, value);
+			}
+		}
+
+		private void writeText(String value) {
+			if (value == null) {
+				writeByte(NULL);
+				return;
+			}
+			byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+			writeHead(MAJOR_TEXT, utf8.length);
+			writeRaw(utf8);
+		}
+
+		/* Shortest form of the argument, as the preferred serialization of RFC 8949 asks */
+		private void writeHead(int major, long argument) {
+			int initialByte = major << 5;
+			if (argument < 24) {
+				writeByte(initialByte | (int) argument);
+			} else if (argument <= 0xff) {
+				ensureCapacity(2);
+				this.buffer[this.size++] = (byte) (initialByte | 24);
+				this.buffer[this.size++] = (byte) argument;
+			} else if (argument <= 0xffff) {
+				ensureCapacity(3);
+				this.buffer[this.size++] = (byte) (initialByte | 25);
+				this.buffer[this.size++] = (byte) (argument >>> 8);
+				this.buffer[this.size++] = (byte) argument;
+			} else if (argument <= 0xffffffffL) {
+				ensureCapacity(5);
+				this.buffer[this.size++] = (byte) (initialByte | 26);
+				for (int shift = 24; shift >= 0; shift -= 8) {
+					this.buffer[this.size++] = (byte) (argument >>> shift);
+				}
+			} else {
+				ensureCapacity(9);
+				this.buffer[this.size++] = (byte) (initialByte | 27);
+				for (int shift = 56; shift >= 0; shift -= 8) {
+					this.buffer[this.size++] = (byte) (argument >>> shift);
+				}
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity(1);
+			this.buffer[this.size++] = (byte) value;
+		}
+
+		private void writeRaw(byte[] bytes) {
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+			this.size += bytes.length;
+		}
+
+		private void ensureCapacity(int extra) {
+			if (this.size + extra > this.buffer.length) {
+				this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.size + extra));
+			}
+		}
+
+		private byte[] toByteArray() {
+			return this.size == this.buffer.length ? this.buffer : Arrays.copyOf(this.buffer, this.size);
+		}
+	}
+
+	private static final class Reader {
+
+		private final byte[] cbor;
+		private int position;
+		/* The head of the last item read by readHead() */
+		private int major;
+		private int additionalInfo;
+		private long argument;
+		private boolean indefinite;
+
+		private Reader(byte[] cbor) {
+			this.cbor = cbor;
+		}
+
+		private Employee readEmployee() {
+			readHead();
+			if (this.major != MAJOR_MAP) {
+				throw malformed("expected an employee map");
+			}
+			Employee employee = new Employee();
+			boolean indefiniteMap = this.indefinite;
+			long entries = this.argument;
+			for (long i = 0; indefiniteMap ? !nextIsBreak() : i < entries; i++) {
+				String key = readText();
+				if ("id".equals(key)) {
+					employee.setId(readNullableLong());
+				} else if ("firstName".equals(key)) {
+					employee.setFirstName(readText());
+				} else if ("lastName".equals(key)) {
+					employee.setLastName(readText());
+				} else if ("email".equals(key)) {
+					employee.setEmail(readText());
+				} else {
+					skip(0);
+				}
+			}
+			return employee;
+		}
+
+		private Long readNullableLong() {
+			readHead();
+			if (this.major == MAJOR_SIMPLE && (this.additionalInfo == 22 || this.additionalInfo == 23)) {
+				return null;
+			}
+			if (this.major != MAJOR_UNSIGNED && this.major != MAJOR_NEGATIVE) {
+				throw malformed("expected an integer");
+			}
+			return this.major == MAJOR_UNSIGNED ? this.argument : -1 - this.argument;
+		}
+
+		/* Text or null, a chunked text is joined */
+		private String readText() {
+			readHead();
+			if (this.major == MAJOR_SIMPLE && (this.additionalInfo == 22 || this.additionalInfo == 23)) {
+				return null;
+			}
+			if (this.major != MAJOR_TEXT) {
+				throw malformed("expected a text string");
+			}
+			if (!this.indefinite) {
+				return utf8(this.argument);
+			}
+			StringBuilder text = new StringBuilder();
+			while (!nextIsBreak()) {
+				readHead();
+				if (this.major != MAJOR_TEXT || this.indefinite) {
+					throw malformed("expected a definite text chunk");
+				}
+				text.append(utf8(this.argument));
+			}
+			return text.toString();
+		}
+
+		private void skip(int depth) {
+			if (depth > MAX_DEPTH) {
+				throw malformed("nested too deeply");
+			}
+			readHead();
+			switch (this.major) {
+			case MAJOR_UNSIGNED:
+			case MAJOR_NEGATIVE:
+				break;
+			case MAJOR_BYTES:
+			case MAJOR_TEXT:
+				if (this.indefinite) {
+					while (!nextIsBreak()) {
+						skip(depth + 1);
+					}
+				} else {
+					skipBytes(this.argument);
+				}
+				break;
+			case MAJOR_ARRAY:
+			case MAJOR_MAP:
+				long items = this.major == MAJOR_MAP ? this.argument * 2 : this.argument;
+				if (this.indefinite) {
+					while (!nextIsBreak()) {
+						skip(depth + 1);
+					}
+				} else {
+					for (long i = 0; i < items; i++) {
+						skip(depth + 1);
+					}
+				}
+				break;
+			case MAJOR_TAG:
+				skip(depth + 1);
+				break;
+			default:
+				/* Simple values and floats, their bytes were consumed with the head */
+				break;
+			}
+		}
+
+		private void readHead() {
+			int initialByte = next();
+			this.major = initialByte >>> 5;
+			this.additionalInfo = initialByte & 0x1f;
+			this.indefinite = false;
+			if (this.additionalInfo < 24) {
+				this.argument = this.additionalInfo;
+			} else if (this.additionalInfo <= 27) {
+				int length = 1 << (this.additionalInfo - 24);
+				long value = 0;
+				for (int i = 0; i < length; i++) {
+					value = (value << 8) | next();
+				}
+				/* Above Long.MAX_VALUE, no length or employee field can be that large */
+				if (value < 0 && this.major != MAJOR_SIMPLE) {
+					throw malformed("argument out of range");
+				}
+				this.argument = value;
+			} else if (this.additionalInfo == INDEFINITE && this.major >= MAJOR_BYTES && this.major <= MAJOR_MAP) {
+				this.indefinite = true;
+				this.argument = -1;
+			} else {
+				throw malformed("unsupported initial byte 0x" + Integer.toHexString(initialByte));
+			}
+		}
+
+		/* Consumes the break that ends an indefinite-length item when it is next */
+		private boolean nextIsBreak() {
+			if (this.position >= this.cbor.length) {
+				throw malformed("missing break");
+			}
+			if ((this.cbor[this.position] & 0xff) == BREAK) {
+				this.position++;
+				return true;
+			}
+			return false;
+		}
+
+		private String utf8(long length) {
+			int start = this.position;
+			skipBytes(length);
+			return new String(this.cbor, start, (int) length, StandardCharsets.UTF_8);
+		}
+
+		private void skipBytes(long length) {
+			if (length > this.cbor.length - this.position) {
+				throw malformed("truncated");
+			}
+			this.position += (int) length;
+		}
+
+		private int next() {
+			if (this.position >= this.cbor.length) {
+				throw malformed("truncated");
+			}
+			return this.cbor[this.position++] & 0xff;
+		}
+
+		private void expectEnd() {
+			if (this.position != this.cbor.length) {
+				throw malformed("trailing bytes");
+			}
+		}
+
+		private IllegalArgumentException malformed(String reason) {
+			return new IllegalArgumentException("Malformed CBOR at byte " + this.position + ": " + reason);
+		}
+	}
+}
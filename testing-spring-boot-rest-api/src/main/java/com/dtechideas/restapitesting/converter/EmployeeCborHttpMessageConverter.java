@@ -0,0 +1,82 @@
+package com.dtechideas.restapitesting.converter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+/* Reads and writes Employee and List<Employee> as application/cbor, see EmployeeCbor */
+public class EmployeeCborHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+	public EmployeeCborHttpMessageConverter() {
+		super(MediaType.APPLICATION_CBOR);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Employee.class.isAssignableFrom(clazz);
+	}
+
+	/* Asked with the class of the body only, after canWrite() checked a List's element type */
+	@Override
+	public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+		return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : Collections.emptyList();
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return isEmployeeOrEmployeeList(type) && canRead(mediaType);
+	}
+
+	/* Handlers returning ResponseEntity<?> only tell the class of the body */
+	@Override
+	public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+		return (isEmployeeOrEmployeeList(type) || supports(clazz)) && canWrite(mediaType);
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+		byte[] cbor = StreamUtils.copyToByteArray(inputMessage.getBody());
+		try {
+			return type instanceof ParameterizedType ? EmployeeCbor.decodeEmployees(cbor) : EmployeeCbor.decodeEmployee(cbor);
+		} catch (IllegalArgumentException exception) {
+			throw new HttpMessageNotReadableException(exception.getMessage(), exception, inputMessage);
+		}
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+		return read(clazz, null, inputMessage);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+		byte[] cbor = body instanceof Employee ? EmployeeCbor.encode((Employee) body) : EmployeeCbor.encode((List<Employee>) body);
+		outputMessage.getHeaders().setContentLength(cbor.length);
+		outputMessage.getBody().write(cbor);
+	}
+
+	/* Employee, or a List<Employee> as declared by the handler method */
+	private static boolean isEmployeeOrEmployeeList(Type type) {
+		if (type instanceof Class) {
+			return Employee.class.isAssignableFrom((Class<?>) type);
+		}
+		if (type instanceof ParameterizedType) {
+			ParameterizedType parameterizedType = (ParameterizedType) type;
+			return parameterizedType.getRawType() instanceof Class && List.class.isAssignableFrom((Class<?>) parameterizedType.getRawType())
+					&& parameterizedType.getActualTypeArguments()[0] == Employee.class;
+		}
+		return false;
+	}
+}
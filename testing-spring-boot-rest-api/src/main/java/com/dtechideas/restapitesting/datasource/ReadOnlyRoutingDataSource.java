@@ -0,0 +1,46 @@
+package com.dtechideas.restapitesting.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Connections of read-only transactions (@Transactional(readOnly = true), which includes the finders of
+ * SimpleJpaRepository) come from a replica the ReplicaSet picks, everything else and reads no replica qualifies for
+ * from the primary. It has to sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before it publishes the read-only flag of the transaction, the proxy only routes once the first
+ * statement runs.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final int PRIMARY = -1;
+
+	private final ReplicaSet replicaSet;
+
+	public ReadOnlyRoutingDataSource(DataSource primary, ReplicaSet replicaSet) {
+		this.replicaSet = replicaSet;
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		List<DataSource> replicas = replicaSet.getReplicas();
+		for (int replica = 0; replica < replicas.size(); replica++) {
+			targets.put(replica, replicas.get(replica));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return PRIMARY;
+		}
+		int replica = this.replicaSet.choose(ReadYourWritesContext.minimumPosition());
+		return replica < 0 ? PRIMARY : replica;
+	}
+}
@@ -0,0 +1,51 @@
+package com.dtechideas.restapitesting.datasource;
+
+import java.util.function.Supplier;
+
+/*
+ * The replication position reads of the current thread need, set by ReadYourWritesFilter from the
+ * WRITE_POSITION_COOKIE cookie the client got with its last write. A replica that has not reached it yet would not
+ * show the client its own last write.
+ */
+public final class ReadYourWritesContext {
+
+	/* No replica ever reaches it, reads requiring it go to the primary */
+	private static final long PRIMARY_ONLY = Long.MAX_VALUE;
+
+	private static final ThreadLocal<Long> MINIMUM_POSITION = new ThreadLocal<>();
+
+	private ReadYourWritesContext() {
+	}
+
+	/* null when the thread has no requirement */
+	public static Long get() {
+		return MINIMUM_POSITION.get();
+	}
+
+	public static void set(Long minimumPosition) {
+		if (minimumPosition == null) {
+			MINIMUM_POSITION.remove();
+		} else {
+			MINIMUM_POSITION.set(minimumPosition);
+		}
+	}
+
+	/*
+	 * Runs reads whose result outlives the request, like a cache entry, on the primary. A lagging replica would leave
+	 * an old state or a miss in the cache for every client. Only routes a connection the transaction has not used yet.
+	 */
+	public static <T> T onPrimary(Supplier<T> reads) {
+		Long previous = MINIMUM_POSITION.get();
+		MINIMUM_POSITION.set(PRIMARY_ONLY);
+		try {
+			return reads.get();
+		} finally {
+			set(previous);
+		}
+	}
+
+	public static long minimumPosition() {
+		Long minimumPosition = MINIMUM_POSITION.get();
+		return minimumPosition == null ? 0 : minimumPosition;
+	}
+}
@@ -0,0 +1,82 @@
+package com.dtechideas.restapitesting.datasource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/*
+ * Keeps the reads of a client on the primary until the replicas caught up with its last write. After a 2xx response
+ * to a write request the client gets ReplicaSet.writePosition() in a cookie, later requests carrying it publish it
+ * through ReadYourWritesContext. No server-side session is needed. The position is only known once the write
+ * committed, the body of a write request is buffered so the cookie can still be added before the response is committed.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	public static final String WRITE_POSITION_COOKIE = "employees-write-position";
+
+	private static final Set<String> SAFE_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE"));
+
+	private final ReplicaSet replicaSet;
+
+	public ReadYourWritesFilter(ReplicaSet replicaSet) {
+		this.replicaSet = replicaSet;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean write = !SAFE_METHODS.contains(request.getMethod());
+		HttpServletResponse responseToUse = response;
+		/* The async dispatch of a write gets the wrapper of the initial request back */
+		if (write && WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null) {
+			responseToUse = new ContentCachingResponseWrapper(response);
+		}
+		ReadYourWritesContext.set(writePosition(request));
+		try {
+			filterChain.doFilter(request, responseToUse);
+		} finally {
+			ReadYourWritesContext.set(null);
+		}
+		/* Asynchronous requests record the position when their result is dispatched */
+		if (write && !request.isAsyncStarted()) {
+			ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+			/* A refused or failed write changed nothing the client has to see */
+			if (wrapper.getStatus() >= 200 && wrapper.getStatus() < 300) {
+				Cookie cookie = new Cookie(WRITE_POSITION_COOKIE, Long.toString(this.replicaSet.writePosition()));
+				cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+				cookie.setHttpOnly(true);
+				wrapper.addCookie(cookie);
+			}
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	/* A cookie that does not parse is ignored, at worst it sends the client's reads to a replica */
+	private static Long writePosition(HttpServletRequest request) {
+		Cookie cookie = WebUtils.getCookie(request, WRITE_POSITION_COOKIE);
+		if (cookie == null) {
+			return null;
+		}
+		try {
+			return Long.valueOf(cookie.getValue());
+		} catch (NumberFormatException exception) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.dtechideas.restapitesting.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * The replicas behind ReadOnlyRoutingDataSource, with their health and how far they got. Every "check-interval" the
+ * counter in the heartbeat table is bumped on the primary and read back from every replica: the value a replica
+ * returns is the replication position it has applied, a replica that can not answer is unhealthy until it answers
+ * again. Replication applies commits in order, so a replica at position p has every write committed before
+ * heartbeat p was written.
+ *
+ * A read may use a replica that is healthy, at most "max-lag" heartbeats behind the primary and at or past the
+ * minimum position of the caller (see ReadYourWritesContext), the eligible ones take turns.
+ */
+public class ReplicaSet implements InitializingBean, DisposableBean, MeterBinder {
+
+	public static final String HEARTBEAT_TABLE = "employees_replication_heartbeat";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaSet.class);
+	private static final long UNHEALTHY = -1;
+
+	private final JdbcTemplate primary;
+	private final List<DataSource> replicas;
+	private final List<JdbcTemplate> replicaTemplates = new ArrayList<>();
+	private final Duration checkInterval;
+	private final long maxLag;
+	/* Applied position per replica, UNHEALTHY until its first successful check */
+	private final AtomicLongArray positions;
+	private final AtomicInteger next = new AtomicInteger();
+	/* Last heartbeat check() read back from the primary */
+	private volatile long primaryPosition;
+	private ScheduledExecutorService checker;
+
+	public ReplicaSet(DataSource primary, List<DataSource> replicas, Duration checkInterval, long maxLag) {
+		this.primary = new JdbcTemplate(primary);
+		this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+		int queryTimeout = (int) Math.max(1, checkInterval.getSeconds());
+		for (DataSource replica : replicas) {
+			JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+			replicaTemplate.setQueryTimeout(queryTimeout);
+			this.replicaTemplates.add(replicaTemplate);
+		}
+		this.checkInterval = checkInterval;
+		this.maxLag = maxLag;
+		this.positions = new AtomicLongArray(replicas.size());
+		for (int replica = 0; replica < replicas.size(); replica++) {
+			this.positions.set(replica, UNHEALTHY);
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		this.primary.execute("create table if not exists " + HEARTBEAT_TABLE + " (id int not null primary key, position bigint not null)");
+		this.primary.update("insert into " + HEARTBEAT_TABLE + " (id, position) select 1, 0 from dual where not exists "
+				+ "(select 1 from " + HEARTBEAT_TABLE + " where id = 1)");
+		/* writePosition() is called before the first check, the counter survives restarts */
+		this.primaryPosition = readPosition(this.primary);
+		this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-replica-check");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.checker.scheduleWithFixedDelay(this::checkQuietly, 0, this.checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws InterruptedException, IOException {
+		if (this.checker != null) {
+			this.checker.shutdownNow();
+			this.checker.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		for (DataSource replica : this.replicas) {
+			if (replica instanceof Closeable) {
+				((Closeable) replica).close();
+			}
+		}
+	}
+
+	public List<DataSource> getReplicas() {
+		return replicas;
+	}
+
+	/* Writes the next heartbeat on the primary and refreshes health and position of every replica */
+	public synchronized void check() {
+		this.primary.update("update " + HEARTBEAT_TABLE + " set position = position + 1 where id = 1");
+		this.primaryPosition = readPosition(this.primary);
+		for (int replica = 0; replica < this.replicaTemplates.size(); replica++) {
+			long previous = this.positions.get(replica);
+			try {
+				this.positions.set(replica, readPosition(this.replicaTemplates.get(replica)));
+				if (previous == UNHEALTHY) {
+					LOGGER.info("Replica {} is available", replica);
+				}
+			} catch (DataAccessException exception) {
+				this.positions.set(replica, UNHEALTHY);
+				if (previous != UNHEALTHY) {
+					LOGGER.warn("Replica {} failed its health check, reads go to the other replicas or the primary", replica, exception);
+				}
+			}
+		}
+	}
+
+	/*
+	 * The position a replica has to reach to show everything committed on the primary so far, callers remember it after
+	 * their write committed. Taken from the last heartbeat read back instead of querying the primary on every write:
+	 * a check() may have written heartbeat primaryPosition + 1 without having read it back yet, so only heartbeat
+	 * primaryPosition + 2 is sure to be written after the call. That keeps a client on the primary for at most one
+	 * "check-interval" longer than needed. With several nodes the heartbeats of the others also count, one of them can
+	 * reach the value before the write committed: the client may then read from a replica at most one check interval
+	 * short of its write.
+	 */
+	public long writePosition() {
+		return this.primaryPosition + 2;
+	}
+
+	/* Index of the replica the next read should use, -1 when none qualifies and the read has to go to the primary */
+	public int choose(long minimumPosition) {
+		int size = this.replicas.size();
+		if (size == 0) {
+			return -1;
+		}
+		int start = Math.floorMod(this.next.getAndIncrement(), size);
+		for (int offset = 0; offset < size; offset++) {
+			int replica = (start + offset) % size;
+			long position = this.positions.get(replica);
+			if (position != UNHEALTHY && position >= minimumPosition && this.primaryPosition - position <= this.maxLag) {
+				return replica;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (int replica = 0; replica < this.replicas.size(); replica++) {
+			final int index = replica;
+			Gauge.builder("employees.datasource.replica.lag", this, replicaSet -> {
+				long position = replicaSet.positions.get(index);
+				return position == UNHEALTHY ? Double.NaN : replicaSet.primaryPosition - position;
+			})
+					.description("Heartbeats the replica is behind the primary, NaN while it is unhealthy")
+					.tag("replica", Integer.toString(replica))
+					.register(registry);
+		}
+	}
+
+	private static long readPosition(JdbcTemplate jdbcTemplate) {
+		return jdbcTemplate.queryForObject("select position from " + HEARTBEAT_TABLE + " where id = 1", Long.class);
+	}
+
+	/* A failed heartbeat on the primary keeps the last known state, the next schedule tries again */
+	private void checkQuietly() {
+		try {
+			check();
+		} catch (RuntimeException exception) {
+			LOGGER.warn("Writing the replication heartbeat on the primary failed", exception);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.dtechideas.restapitesting.event;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+/*
+ * Published by the service write paths after an employee was created, updated or deleted. Listeners that keep
+ * derived state (caches, indexes) rely on it instead of each write path knowing about every one of them.
+ */
+public class EmployeeChangedEvent {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	private final Type type;
+	private final Long employeeId;
+	private final Employee employee;
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getEmployeeId() {
+		return employeeId;
+	}
+
+	/* The state after the change, null for DELETED */
+	public Employee getEmployee() {
+		return employee;
+	}
+
+	public EmployeeChangedEvent(Type type, Long employeeId, Employee employee) {
+		this.type = type;
+		this.employeeId = employeeId;
+		this.employee = employee;
+	}
+
+	public static EmployeeChangedEvent created(Employee employee) {
+		return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee);
+	}
+
+	public static EmployeeChangedEvent updated(Employee employee) {
+		return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), employee);
+	}
+
+	public static EmployeeChangedEvent deleted(Long employeeId) {
+		return new EmployeeChangedEvent(Type.DELETED, employeeId, null);
+	}
+
+	@Override
+	public String toString() {
+		return "EmployeeChangedEvent [type=" + type + ", employeeId=" + employeeId + "]";
+	}
+
+}
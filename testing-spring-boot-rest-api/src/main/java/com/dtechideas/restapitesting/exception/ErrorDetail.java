@@ -1,18 +1,17 @@
 package com.dtechideas.restapitesting.exception;
 
-import java.util.Date;
-
+/* The timestamp is epoch milliseconds, written as a JSON number */
 public class ErrorDetail {
 
-	private Date timestamp;
+	private long timestamp;
 	private String message;
 	private String detail;
 
-	public Date getTimestamp() {
+	public long getTimestamp() {
 		return timestamp;
 	}
 
-	public void setTimestamp(Date timestamp) {
+	public void setTimestamp(long timestamp) {
 		this.timestamp = timestamp;
 	}
 
@@ -32,7 +31,7 @@ public class ErrorDetail {
 		this.detail = detail;
 	}
 
-	public ErrorDetail(Date timestamp, String message, String detail) {
+	public ErrorDetail(long timestamp, String message, String detail) {
 		super();
 		this.timestamp = timestamp;
 		this.message = message;
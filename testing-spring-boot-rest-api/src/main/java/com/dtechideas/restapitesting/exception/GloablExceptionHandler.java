@@ -1,39 +1,85 @@
 package com.dtechideas.restapitesting.exception;
 
-import java.util.Date;
+import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+
+/*
+ * Error bodies are written to bytes by an ObjectWriter resolved once for ErrorDetail, instead of going through
+ * content negotiation and the message converters for every error: 404s for probed ids are a large share of the traffic.
+ */
 @ControllerAdvice
 public class GloablExceptionHandler extends ResponseEntityExceptionHandler {
 
+	private final ObjectWriter errorDetailWriter;
+
+	public GloablExceptionHandler(ObjectMapper objectMapper) {
+		this.errorDetailWriter = objectMapper.writerFor(ErrorDetail.class);
+	}
+
 	/* Handling specific custom exception */
 	
 	@ExceptionHandler(ResourceNotFoundException.class)
-	public ResponseEntity<ErrorDetail> handleResourceNotFoundException(ResourceNotFoundException exception, WebRequest webRequest)
+	public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException exception, HttpServletRequest request) throws JsonProcessingException
 	{
-		ErrorDetail errorDetail = new ErrorDetail(new Date(),exception.getMessage(), webRequest.getDescription(false));
-		return new ResponseEntity<ErrorDetail>(errorDetail,HttpStatus.NOT_FOUND);
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
 	}
 	
 	@ExceptionHandler(ResourceAlreadyExistsException.class)
-	public ResponseEntity<ErrorDetail> handleResourceAlreadyExistsException(ResourceAlreadyExistsException exception, WebRequest webRequest)
+	public ResponseEntity<byte[]> handleResourceAlreadyExistsException(ResourceAlreadyExistsException exception, HttpServletRequest request) throws JsonProcessingException
+	{
+		return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
+	}
+	
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<byte[]> handleInvalidCursorException(InvalidCursorException exception, HttpServletRequest request) throws JsonProcessingException
+	{
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
+	}
+	
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<byte[]> handlePreconditionFailedException(PreconditionFailedException exception, HttpServletRequest request) throws JsonProcessingException
 	{
-		ErrorDetail errorDetail = new ErrorDetail(new Date(),exception.getMessage(), webRequest.getDescription(false));
-		return new ResponseEntity<ErrorDetail>(errorDetail,HttpStatus.UNPROCESSABLE_ENTITY);
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
+	}
+	
+	/* A concurrent update committed between our read and our write, without If-Match there is no precondition to fail */
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<byte[]> handleObjectOptimisticLockingFailureException(ObjectOptimisticLockingFailureException exception, HttpServletRequest request) throws JsonProcessingException
+	{
+		return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
+	}
+	
+	/* The asynchronous request executor is full, the client should back off and retry */
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<byte[]> handleTooManyRequestsException(TooManyRequestsException exception, HttpServletRequest request) throws JsonProcessingException
+	{
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+				.contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
 	}
 	
 	/* Handling global exception */
 
 	@ExceptionHandler(Exception.class)
-	public ResponseEntity<ErrorDetail> handleGlobalException(Exception exception, WebRequest request) {
-		ErrorDetail errorDetail = new ErrorDetail(new Date(), exception.getMessage(), request.getDescription(false));
-		return new ResponseEntity<ErrorDetail>(errorDetail, HttpStatus.INTERNAL_SERVER_ERROR);
+	public ResponseEntity<byte[]> handleGlobalException(Exception exception, HttpServletRequest request) throws JsonProcessingException {
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(errorDetail(exception, request));
+	}
+
+	/* Same detail as WebRequest.getDescription(false), without building the description through the request wrapper */
+	private byte[] errorDetail(Exception exception, HttpServletRequest request) throws JsonProcessingException {
+		ErrorDetail errorDetail = new ErrorDetail(System.currentTimeMillis(), exception.getMessage(), "uri=" + request.getRequestURI());
+		return errorDetailWriter.writeValueAsBytes(errorDetail);
 	}
 }
@@ -0,0 +1,26 @@
+package com.dtechideas.restapitesting.exception;
+
+public class InvalidCursorException extends StacklessException {
+
+	private static final long serialVersionUID = 1L;
+
+	private String cursor;
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public InvalidCursorException(String cursor) {
+		super("Cursor '" + cursor + "' is not valid");
+		this.cursor = cursor;
+	}
+
+	public InvalidCursorException() {
+		super(null);
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.dtechideas.restapitesting.exception;
+
+public class PreconditionFailedException extends StacklessException {
+
+	private static final long serialVersionUID = 1L;
+
+	private String resourceName;
+	private String fieldName;
+	private Long fieldValue;
+	private Long expectedVersion;
+
+	public String getResourceName() {
+		return resourceName;
+	}
+
+	public void setResourceName(String resourceName) {
+		this.resourceName = resourceName;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public void setFieldName(String fieldName) {
+		this.fieldName = fieldName;
+	}
+
+	public Long getFieldValue() {
+		return fieldValue;
+	}
+
+	public void setFieldValue(Long fieldValue) {
+		this.fieldValue = fieldValue;
+	}
+
+	public Long getExpectedVersion() {
+		return expectedVersion;
+	}
+
+	public void setExpectedVersion(Long expectedVersion) {
+		this.expectedVersion = expectedVersion;
+	}
+
+	public PreconditionFailedException(String resourceName, String fieldName, Long fieldValue, Long expectedVersion) {
+		super("Resource " + resourceName + " with " + fieldName + " : '" + fieldValue + "' is no longer at version '" + expectedVersion + "'");
+		this.resourceName = resourceName;
+		this.fieldName = fieldName;
+		this.fieldValue = fieldValue;
+		this.expectedVersion = expectedVersion;
+	}
+
+	public PreconditionFailedException() {
+		super(null);
+	}
+
+}
@@ -1,6 +1,6 @@
 package com.dtechideas.restapitesting.exception;
 
-public class ResourceAlreadyExistsException extends RuntimeException {
+public class ResourceAlreadyExistsException extends StacklessException {
 
 	private static final long serialVersionUID = 1L;
 
@@ -33,14 +33,14 @@ public class ResourceAlreadyExistsException extends RuntimeException {
 	}
 
 	public ResourceAlreadyExistsException(String resourceName, String fieldName, String fieldValue) {
-		super(String.format("Resource %s with %s : '%s' already exists", resourceName, fieldName, fieldValue));
+		super("Resource " + resourceName + " with " + fieldName + " : '" + fieldValue + "' already exists");
 		this.resourceName = resourceName;
 		this.fieldName = fieldName;
 		this.fieldValue = fieldValue;
 	}
 
 	public ResourceAlreadyExistsException() {
-		super();
+		super(null);
 	}
 
 }
@@ -1,6 +1,6 @@
 package com.dtechideas.restapitesting.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends StacklessException {
 
 	private static final long serialVersionUID = 1L;
 
@@ -33,14 +33,19 @@ public class ResourceNotFoundException extends RuntimeException {
 	}
 
 	public ResourceNotFoundException(String resourceName, String fieldName, Long fieldValue) {
-		super(String.format("Resource %s with %s : '%s' not found", resourceName, fieldName, fieldValue));
+		super(message(resourceName, fieldName, fieldValue));
 		this.resourceName = resourceName;
 		this.fieldName = fieldName;
 		this.fieldValue = fieldValue;
 	}
 
 	public ResourceNotFoundException() {
-		super();
+		super(null);
+	}
+
+	/* Also the message of the 404 bodies the controllers build without throwing */
+	public static String message(String resourceName, String fieldName, Long fieldValue) {
+		return "Resource " + resourceName + " with " + fieldName + " : '" + fieldValue + "' not found";
 	}
 
 }
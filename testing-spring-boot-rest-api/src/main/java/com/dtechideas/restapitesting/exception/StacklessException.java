@@ -0,0 +1,17 @@
+package com.dtechideas.restapitesting.exception;
+
+/*
+ * Base of the exceptions for expected outcomes: not found, already exists, stale version, bad cursor, too busy.
+ * They are thrown as often as the requests that cause them (scanners probing ids make 404 the most common response),
+ * and GloablExceptionHandler only reads their message. Filling in the stack trace of a Spring MVC call chain was most
+ * of the cost of such a request, so none is captured.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	protected StacklessException(String message) {
+		super(message, null, false, false);
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.dtechideas.restapitesting.exception;
+
+public class TooManyRequestsException extends StacklessException {
+
+	private static final long serialVersionUID = 1L;
+
+	private String resourceName;
+	private int maxInFlight;
+
+	public String getResourceName() {
+		return resourceName;
+	}
+
+	public void setResourceName(String resourceName) {
+		this.resourceName = resourceName;
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	public void setMaxInFlight(int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+	}
+
+	public TooManyRequestsException(String resourceName, int maxInFlight) {
+		super("Too many " + resourceName + " requests, " + maxInFlight + " are already in flight");
+		this.resourceName = resourceName;
+		this.maxInFlight = maxInFlight;
+	}
+
+	public TooManyRequestsException() {
+		super(null);
+	}
+
+}
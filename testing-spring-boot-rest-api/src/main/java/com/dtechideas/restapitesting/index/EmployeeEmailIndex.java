@@ -0,0 +1,70 @@
+package com.dtechideas.restapitesting.index;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.dtechideas.restapitesting.cache.invalidation.EmployeeInvalidationBus;
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+
+/*
+ * In-memory email -> id index used as a hint by saveEmployee(). A miss means the email is very likely free, so the
+ * insert goes ahead without a SELECT and the unique constraint on employees.email has the final word. A hit can be
+ * stale (deleted on another node or directly in the database) and is confirmed against the database before failing.
+ */
+@Component
+public class EmployeeEmailIndex {
+
+	private final ConcurrentMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Long, String> emailsById = new ConcurrentHashMap<>();
+
+	public boolean contains(String email) {
+		return email != null && this.idsByEmail.containsKey(email);
+	}
+
+	public void put(Employee employee) {
+		String previousEmail = this.emailsById.put(employee.getId(), employee.getEmail());
+		if (previousEmail != null && !previousEmail.equals(employee.getEmail())) {
+			this.idsByEmail.remove(previousEmail, employee.getId());
+		}
+		this.idsByEmail.put(employee.getEmail(), employee.getId());
+	}
+
+	public void remove(String email) {
+		Long id = this.idsByEmail.remove(email);
+		if (id != null) {
+			this.emailsById.remove(id, email);
+		}
+	}
+
+	public void removeById(Long id) {
+		String email = this.emailsById.remove(id);
+		if (email != null) {
+			this.idsByEmail.remove(email, id);
+		}
+	}
+
+	public int size() {
+		return this.idsByEmail.size();
+	}
+
+	/* Other nodes only send the changed id, the bus reads the employee again and hands its change over like a local one */
+	@Autowired
+	public void setInvalidationBus(EmployeeInvalidationBus invalidationBus) {
+		invalidationBus.subscribeToRemoteChanges(this::onEmployeeChanged);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+			removeById(event.getEmployeeId());
+		} else {
+			put(event.getEmployee());
+		}
+	}
+
+}
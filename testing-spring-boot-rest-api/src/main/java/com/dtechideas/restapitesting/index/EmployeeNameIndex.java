@@ -0,0 +1,283 @@
+package com.dtechideas.restapitesting.index;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.dtechideas.restapitesting.cache.invalidation.EmployeeInvalidationBus;
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+
+/*
+ * In-memory prefix index over first name, last name and email for the autocomplete endpoint. Values are normalized
+ * (accents stripped, lower case) and kept as (term, id) entries sorted by term, so a prefix is one binary search
+ * followed by a scan that stops after "limit" distinct ids.
+ *
+ * The bulk of the entries lives in three primitive arrays: the UTF-8 bytes of all terms back to back, their offsets
+ * and their ids. Changes go to a small sorted delta, and base entries of changed or deleted ids are skipped. Once
+ * the delta covers more than an eighth of the base both are merged into new arrays.
+ */
+@Component
+public class EmployeeNameIndex {
+
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+	private static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	/* Base, sorted by (term, id), replaced as a whole by compact() */
+	private byte[] terms = new byte[0];
+	private int[] offsets = { 0 };
+	private long[] ids = new long[0];
+	/* Current entries of the ids in overriddenIds, a deleted id has none */
+	private final TreeSet<Entry> delta = new TreeSet<>();
+	private final Map<Long, List<Entry>> deltaById = new HashMap<>();
+	private final Set<Long> overriddenIds = new HashSet<>();
+
+	public void put(Employee employee) {
+		Set<String> normalizedTerms = new LinkedHashSet<>();
+		for (String value : new String[] { employee.getFirstName(), employee.getLastName(), employee.getEmail() }) {
+			String term = normalize(value);
+			if (!term.isEmpty()) {
+				normalizedTerms.add(term);
+			}
+		}
+		List<Entry> entries = new ArrayList<>(normalizedTerms.size());
+		for (String term : normalizedTerms) {
+			entries.add(new Entry(term.getBytes(StandardCharsets.UTF_8), employee.getId()));
+		}
+		this.lock.writeLock().lock();
+		try {
+			removeFromDelta(employee.getId());
+			this.delta.addAll(entries);
+			this.deltaById.put(employee.getId(), entries);
+			this.overriddenIds.add(employee.getId());
+			compactIfNeeded();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void removeById(Long id) {
+		this.lock.writeLock().lock();
+		try {
+			removeFromDelta(id);
+			this.overriddenIds.add(id);
+			compactIfNeeded();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/* Ids of at most "limit" employees with a value starting with the prefix, in term order */
+	public List<Long> search(String prefix, int limit) {
+		byte[] key = normalize(prefix).getBytes(StandardCharsets.UTF_8);
+		if (key.length == 0 || limit < 1) {
+			return Collections.emptyList();
+		}
+		Set<Long> found = new LinkedHashSet<>();
+		this.lock.readLock().lock();
+		try {
+			int index = lowerBound(key);
+			Iterator<Entry> deltaEntries = this.delta.tailSet(new Entry(key, Long.MIN_VALUE), true).iterator();
+			Entry deltaEntry = deltaEntries.hasNext() ? deltaEntries.next() : null;
+			while (found.size() < limit) {
+				boolean baseMatches = index < this.ids.length && startsWith(this.terms, this.offsets[index], this.offsets[index + 1], key);
+				boolean deltaMatches = deltaEntry != null && startsWith(deltaEntry.term, 0, deltaEntry.term.length, key);
+				if (!baseMatches && !deltaMatches) {
+					break;
+				}
+				if (baseMatches && (!deltaMatches || compareBase(index, deltaEntry.term, deltaEntry.id) <= 0)) {
+					if (!this.overriddenIds.contains(this.ids[index])) {
+						found.add(this.ids[index]);
+					}
+					index++;
+				} else {
+					found.add(deltaEntry.id);
+					deltaEntry = deltaEntries.hasNext() ? deltaEntries.next() : null;
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return new ArrayList<>(found);
+	}
+
+	/* Indexed (term, id) entries, a value shared by first name, last name or email of one employee counts once */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			int size = this.delta.size();
+			for (long id : this.ids) {
+				if (!this.overriddenIds.contains(id)) {
+					size++;
+				}
+			}
+			return size;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/* Other nodes only send the changed id, the bus reads the employee again and hands its change over like a local one */
+	@Autowired
+	public void setInvalidationBus(EmployeeInvalidationBus invalidationBus) {
+		invalidationBus.subscribeToRemoteChanges(this::onEmployeeChanged);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+			removeById(event.getEmployeeId());
+		} else {
+			put(event.getEmployee());
+		}
+	}
+
+	/* "Élodie " and "elodie" are the same term */
+	static String normalize(String value) {
+		if (value == null) {
+			return "";
+		}
+		String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+		return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	private void removeFromDelta(Long id) {
+		List<Entry> entries = this.deltaById.remove(id);
+		if (entries != null) {
+			for (Entry entry : entries) {
+				this.delta.remove(entry);
+			}
+		}
+	}
+
+	private void compactIfNeeded() {
+		if (this.overriddenIds.size() > Math.max(MIN_COMPACTION_THRESHOLD, this.ids.length / 8)) {
+			compact();
+		}
+	}
+
+	/* Merges the surviving base entries and the delta, both already sorted, into new arrays */
+	private void compact() {
+		int count = this.delta.size();
+		int termBytes = 0;
+		for (Entry entry : this.delta) {
+			termBytes += entry.term.length;
+		}
+		for (int index = 0; index < this.ids.length; index++) {
+			if (!this.overriddenIds.contains(this.ids[index])) {
+				count++;
+				termBytes += this.offsets[index + 1] - this.offsets[index];
+			}
+		}
+		byte[] newTerms = new byte[termBytes];
+		int[] newOffsets = new int[count + 1];
+		long[] newIds = new long[count];
+		int index = 0;
+		int position = 0;
+		Iterator<Entry> deltaEntries = this.delta.iterator();
+		Entry deltaEntry = deltaEntries.hasNext() ? deltaEntries.next() : null;
+		for (int target = 0; target < count; target++) {
+			while (index < this.ids.length && this.overriddenIds.contains(this.ids[index])) {
+				index++;
+			}
+			if (index < this.ids.length && (deltaEntry == null || compareBase(index, deltaEntry.term, deltaEntry.id) <= 0)) {
+				int length = this.offsets[index + 1] - this.offsets[index];
+				System.arraycopy(this.terms, this.offsets[index], newTerms, position, length);
+				newIds[target] = this.ids[index];
+				position += length;
+				index++;
+			} else {
+				System.arraycopy(deltaEntry.term, 0, newTerms, position, deltaEntry.term.length);
+				newIds[target] = deltaEntry.id;
+				position += deltaEntry.term.length;
+				deltaEntry = deltaEntries.hasNext() ? deltaEntries.next() : null;
+			}
+			newOffsets[target + 1] = position;
+		}
+		this.terms = newTerms;
+		this.offsets = newOffsets;
+		this.ids = newIds;
+		this.delta.clear();
+		this.deltaById.clear();
+		this.overriddenIds.clear();
+	}
+
+	/* First base entry whose term is not below the key */
+	private int lowerBound(byte[] key) {
+		int low = 0;
+		int high = this.ids.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compare(this.terms, this.offsets[middle], this.offsets[middle + 1], key, 0, key.length) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private int compareBase(int index, byte[] term, long id) {
+		int result = compare(this.terms, this.offsets[index], this.offsets[index + 1], term, 0, term.length);
+		return result != 0 ? result : Long.compare(this.ids[index], id);
+	}
+
+	private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+		if (to - from < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (bytes[from + i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Unsigned byte order, for UTF-8 it is the code point order */
+	private static int compare(byte[] left, int leftFrom, int leftTo, byte[] right, int rightFrom, int rightTo) {
+		int length = Math.min(leftTo - leftFrom, rightTo - rightFrom);
+		for (int i = 0; i < length; i++) {
+			int result = Integer.compare(left[leftFrom + i] & 0xff, right[rightFrom + i] & 0xff);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return Integer.compare(leftTo - leftFrom, rightTo - rightFrom);
+	}
+
+	private static final class Entry implements Comparable<Entry> {
+
+		private final byte[] term;
+		private final long id;
+
+		private Entry(byte[] term, long id) {
+			this.term = term;
+			this.id = id;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = compare(this.term, 0, this.term.length, other.term, 0, other.term.length);
+			return result != 0 ? result : Long.compare(this.id, other.id);
+		}
+	}
+
+}
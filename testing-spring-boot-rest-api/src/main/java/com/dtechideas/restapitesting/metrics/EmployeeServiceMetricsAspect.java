@@ -0,0 +1,52 @@
+package com.dtechideas.restapitesting.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/* Times every EmployeeService method, including the ones added later, without annotating each of them */
+@Aspect
+public class EmployeeServiceMetricsAspect {
+
+	public static final String METRIC_NAME = "employees.service";
+
+	private final MeterRegistry meterRegistry;
+	/* Successful calls are the hot path, their timer is looked up once per method instead of once per call */
+	private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+	public EmployeeServiceMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(* com.dtechideas.restapitesting.service.EmployeeService.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		long start = System.nanoTime();
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		} catch (Throwable throwable) {
+			timer(method, throwable.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			throw throwable;
+		}
+		this.timers.computeIfAbsent(method, key -> timer(key, "none")).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return result;
+	}
+
+	private Timer timer(Method method, String exception) {
+		return Timer.builder(METRIC_NAME)
+				.description("EmployeeService method invocations")
+				.tag("method", method.getName())
+				.tag("exception", exception)
+				.register(this.meterRegistry);
+	}
+}
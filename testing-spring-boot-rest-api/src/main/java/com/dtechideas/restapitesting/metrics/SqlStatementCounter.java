@@ -0,0 +1,39 @@
+package com.dtechideas.restapitesting.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+ * Counts the statements Hibernate prepares on the current thread between start() and stop().
+ * A JDBC batch is prepared once, so it counts as one statement however many rows it carries.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	public static void start() {
+		COUNT.set(new int[1]);
+	}
+
+	/* Statements counted so far, 0 when counting was not started on this thread */
+	public static int current() {
+		int[] count = COUNT.get();
+		return count == null ? 0 : count[0];
+	}
+
+	public static int stop() {
+		int statements = current();
+		COUNT.remove();
+		return statements;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		int[] count = COUNT.get();
+		if (count != null) {
+			count[0]++;
+		}
+		return sql;
+	}
+}
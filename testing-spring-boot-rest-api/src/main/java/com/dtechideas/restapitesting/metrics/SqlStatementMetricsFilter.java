@@ -0,0 +1,49 @@
+package com.dtechideas.restapitesting.metrics;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Records how many SQL statements each request ran, tagged like http.server.requests so the two can be read side by side.
+ * Statements run after the request thread returns (streamed exports) are not included.
+ */
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+	public static final String METRIC_NAME = "employees.http.sql.statements";
+
+	private final MeterRegistry meterRegistry;
+
+	public SqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		SqlStatementCounter.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			int statements = SqlStatementCounter.stop();
+			/* The matched pattern, not the raw path, otherwise every id would become its own time series */
+			Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder(METRIC_NAME)
+					.description("SQL statements run per HTTP request")
+					.baseUnit("statements")
+					.tag("method", request.getMethod())
+					.tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+					.register(this.meterRegistry)
+					.record(statements);
+		}
+	}
+}
@@ -3,16 +3,33 @@ package com.dtechideas.restapitesting.model;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
-@Table(name = "employees", uniqueConstraints = {@UniqueConstraint(columnNames = {"email"})})
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/* The name index backs GET /api/v1/employees/search, see EmployeeSearchQuery */
+@Table(name = "employees", uniqueConstraints = {@UniqueConstraint(columnNames = {"email"})},
+		indexes = {@Index(name = "idx_employees_last_name_first_name", columnList = "last_name, first_name")})
 @Entity
+@DynamicUpdate
 public class Employee {
+	/*
+	 * Ids are handed out in blocks from the existing hibernate_sequence (see EmployeeIdGenerator), so inserts do not
+	 * need a sequence round-trip each and Hibernate can group them into JDBC batches (see hibernate.jdbc.batch_size).
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(generator = "employee_id_generator")
+	@GenericGenerator(name = "employee_id_generator", strategy = "com.dtechideas.restapitesting.model.EmployeeIdGenerator", parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "hibernate_sequence") })
 	private Long id;
 	@Column(name = "first_name", nullable = false)
 	private String firstName;
@@ -20,6 +37,14 @@ public class Employee {
 	private String lastName;
 	@Column(name = "email", nullable = false)
 	private String email;
+	/*
+	 * Optimistic lock, also served as the ETag of the employee. Clients can not set it, preconditions are sent with
+	 * If-Match. The default lets ddl-auto add the column to an existing table, old rows start at version 0.
+	 */
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private long version;
 
 	public Long getId() {
 		return id;
@@ -53,6 +78,14 @@ public class Employee {
 		this.email = email;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public Employee(Long id, String firstName, String lastName, String email) {
 		this.id = id;
 		this.firstName = firstName;
@@ -60,6 +93,12 @@ public class Employee {
 		this.email = email;
 	}
 	
+	/* Used by the "select new" projections of EmployeeRepository, the result is not a managed entity */
+	public Employee(Long id, String firstName, String lastName, String email, long version) {
+		this(id, firstName, lastName, email);
+		this.version = version;
+	}
+	
 	public Employee(String firstName, String lastName, String email) {
 		this.firstName = firstName;
 		this.lastName = lastName;
@@ -0,0 +1,60 @@
+package com.dtechideas.restapitesting.model;
+
+/*
+ * Outcome of one item of a batch create request. "index" is the position of the item in the
+ * request body, "employee" is only set when the item was created and "message" only when it was not.
+ */
+public class EmployeeBatchResult {
+
+	public enum Status {
+		CREATED, ALREADY_EXISTS
+	}
+
+	private int index;
+	private Status status;
+	private Employee employee;
+	private String message;
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Employee getEmployee() {
+		return employee;
+	}
+
+	public void setEmployee(Employee employee) {
+		this.employee = employee;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public EmployeeBatchResult(int index, Status status, Employee employee, String message) {
+		this.index = index;
+		this.status = status;
+		this.employee = employee;
+		this.message = message;
+	}
+
+	public EmployeeBatchResult() {
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.dtechideas.restapitesting.model;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/*
+ * Hi/lo style id allocator for Employee. Every node reserves a block of "employees.id.allocation-size" ids with a
+ * single locked read-and-increment of hibernate_sequence and then hands them out from memory, so the sequence is
+ * touched once per block instead of once per insert. On MySQL hibernate_sequence is a table and the block size lives
+ * only here; on databases with native sequences the sequence increment has to be altered to the same value.
+ *
+ * The pooled-lo optimizer treats the stored value as the first id of the next free block. That is the same meaning
+ * the value had with the previous one-id-per-call generator, so existing rows and nodes still running the old
+ * version never receive overlapping ids. See db/employee-id-pooled-lo-migration.sql for realigning the sequence.
+ */
+public class EmployeeIdGenerator extends SequenceStyleGenerator {
+
+	public static final String ALLOCATION_SIZE_SETTING = "employees.id.allocation-size";
+	public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE_SETTING,
+				serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_ALLOCATION_SIZE);
+		params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+		params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+		super.configure(type, params, serviceRegistry);
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.dtechideas.restapitesting.model;
+
+import java.util.List;
+
+/*
+ * One keyset page of employees ordered by id. "next" is an opaque cursor token that
+ * has to be passed back to fetch the following page, it is null on the last page.
+ */
+public class EmployeePage {
+
+	private List<Employee> content;
+	private String next;
+	private int size;
+
+	public List<Employee> getContent() {
+		return content;
+	}
+
+	public void setContent(List<Employee> content) {
+		this.content = content;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public EmployeePage(List<Employee> content, String next) {
+		this.content = content;
+		this.next = next;
+		this.size = content.size();
+	}
+
+	public EmployeePage() {
+	}
+
+}
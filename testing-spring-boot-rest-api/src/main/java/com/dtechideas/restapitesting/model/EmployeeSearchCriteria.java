@@ -0,0 +1,69 @@
+package com.dtechideas.restapitesting.model;
+
+/*
+ * Filters of GET /api/v1/employees/search, bound from the request parameters. Fields left null do not filter,
+ * "match" applies to every given field: EXACT compares with =, PREFIX with a LIKE 'value%' that can use an index.
+ */
+public class EmployeeSearchCriteria {
+
+	public enum Match {
+		EXACT, PREFIX
+	}
+
+	private String firstName;
+	private String lastName;
+	private String email;
+	private Match match = Match.EXACT;
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Match getMatch() {
+		return match;
+	}
+
+	public void setMatch(Match match) {
+		this.match = match;
+	}
+
+	public EmployeeSearchCriteria(String firstName, String lastName, String email, Match match) {
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.email = email;
+		this.match = match;
+	}
+
+	public EmployeeSearchCriteria() {
+	}
+
+	public static EmployeeSearchCriteria exactName(String firstName, String lastName) {
+		return new EmployeeSearchCriteria(firstName, lastName, null, Match.EXACT);
+	}
+
+	@Override
+	public String toString() {
+		return "EmployeeSearchCriteria [firstName=" + firstName + ", lastName=" + lastName + ", email=" + email + ", match=" + match + "]";
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.dtechideas.restapitesting.reactive;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.dtechideas.restapitesting.config.ReactiveEmployeeConfig;
+
+/*
+ * Runs the employee API on WebFlux, Netty and R2DBC next to the servlet/JPA application, over the same employees
+ * table. Only ReactiveEmployeeConfig is imported, none of the JPA services, caches or controllers are loaded.
+ * The condition keeps the component scan of TestingSpringBootRestApiApplication from picking this class up.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class })
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(ReactiveEmployeeConfig.class)
+public class ReactiveEmployeeApplication {
+
+	/* Tomcat is on the classpath for the servlet application, the reactive one runs on Netty event loops */
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+	public static SpringApplicationBuilder builder() {
+		return new SpringApplicationBuilder(ReactiveEmployeeApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.properties("server.port=8081");
+	}
+
+	public static void main(String[] args) {
+		builder().run(args);
+	}
+}
@@ -0,0 +1,140 @@
+package com.dtechideas.restapitesting.reactive.controller;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.dtechideas.restapitesting.controller.EmployeeETags;
+import com.dtechideas.restapitesting.exception.ErrorDetail;
+import com.dtechideas.restapitesting.exception.InvalidCursorException;
+import com.dtechideas.restapitesting.exception.PreconditionFailedException;
+import com.dtechideas.restapitesting.exception.ResourceAlreadyExistsException;
+import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.reactive.service.ReactiveEmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Functional counterpart of EmployeeController, same paths, status codes, headers and ErrorDetail bodies. Errors are
+ * mapped here instead of by GloablExceptionHandler, which only applies to Spring MVC.
+ */
+public class EmployeeHandler {
+
+	private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ARRAY_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+
+	private final ReactiveEmployeeService employeeService;
+	private final ObjectMapper objectMapper;
+
+	public EmployeeHandler(ReactiveEmployeeService employeeService, ObjectMapper objectMapper) {
+		this.employeeService = employeeService;
+		this.objectMapper = objectMapper;
+	}
+
+	public Mono<ServerResponse> createEmployee(ServerRequest request) {
+		return request.bodyToMono(Employee.class)
+				.flatMap(this.employeeService::saveEmployee)
+				.flatMap(savedEmployee -> ServerResponse.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).bodyValue(savedEmployee))
+				.onErrorResume(exception -> error(request, exception));
+	}
+
+	public Mono<ServerResponse> getEmployeesPage(ServerRequest request) {
+		String cursor = request.queryParam("cursor").orElse(null);
+		return Mono.fromCallable(() -> Integer.parseInt(request.queryParam("size").orElse("50")))
+				.flatMap(size -> this.employeeService.getEmployeesPage(cursor, size))
+				.flatMap(employeePage -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(employeePage))
+				.onErrorResume(exception -> error(request, exception));
+	}
+
+	/*
+	 * The JSON encoder of WebFlux collects a Flux into a list before writing an application/json array, so the array is
+	 * written here one employee at a time. Rows are only fetched as fast as the client reads them.
+	 */
+	public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+		DataBufferFactory bufferFactory = request.exchange().getResponse().bufferFactory();
+		Flux<DataBuffer> body = Flux.concat(
+				Mono.fromSupplier(() -> bufferFactory.wrap(ARRAY_START)),
+				this.employeeService.getAllEmployees().index().map(indexed -> {
+					byte[] json = toJson(indexed.getT2());
+					DataBuffer buffer = bufferFactory.allocateBuffer(json.length + 1);
+					if (indexed.getT1() > 0) {
+						buffer.write(ARRAY_SEPARATOR);
+					}
+					return buffer.write(json);
+				}),
+				Mono.fromSupplier(() -> bufferFactory.wrap(ARRAY_END)));
+		return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(BodyInserters.fromDataBuffers(body));
+	}
+
+	/* checkNotModified answers a matching If-None-Match with 304, the body is not serialized then */
+	public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+		return Mono.fromCallable(() -> Long.valueOf(request.pathVariable("id")))
+				.flatMap(this.employeeService::getEmployeeById)
+				.flatMap(foundEmployee -> {
+					String etag = EmployeeETags.of(foundEmployee);
+					if (request.exchange().checkNotModified(etag)) {
+						return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+					}
+					return ServerResponse.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).bodyValue(foundEmployee);
+				})
+				.onErrorResume(exception -> error(request, exception));
+	}
+
+	/* With If-Match the update only applies while the employee is still at that version, otherwise 412 */
+	public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+		Long expectedVersion = EmployeeETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+		return Mono.fromCallable(() -> Long.valueOf(request.pathVariable("id")))
+				.flatMap(employeeId -> request.bodyToMono(Employee.class)
+						.flatMap(employee -> this.employeeService.updateEmployee(employeeId, employee, expectedVersion)))
+				.flatMap(updatedEmployee -> ServerResponse.ok().eTag(EmployeeETags.of(updatedEmployee)).contentType(MediaType.APPLICATION_JSON)
+						.bodyValue(updatedEmployee))
+				.onErrorResume(exception -> error(request, exception));
+	}
+
+	public Mono<ServerResponse> deleteEmployeeById(ServerRequest request) {
+		return Mono.fromCallable(() -> Long.valueOf(request.pathVariable("id")))
+				.flatMap(employeeId -> this.employeeService.deleteEmployeeById(employeeId)
+						.then(ServerResponse.ok().contentType(MediaType.TEXT_PLAIN)
+								.bodyValue("Employee with Id : "+employeeId+" deleted successfully")))
+				.onErrorResume(exception -> error(request, exception));
+	}
+
+	private byte[] toJson(Employee employee) {
+		try {
+			return this.objectMapper.writeValueAsBytes(employee);
+		} catch (JsonProcessingException exception) {
+			throw Exceptions.propagate(exception);
+		}
+	}
+
+	/* Same mapping as GloablExceptionHandler */
+	private static Mono<ServerResponse> error(ServerRequest request, Throwable exception) {
+		HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+		if (exception instanceof ResourceNotFoundException) {
+			status = HttpStatus.NOT_FOUND;
+		} else if (exception instanceof ResourceAlreadyExistsException) {
+			status = HttpStatus.UNPROCESSABLE_ENTITY;
+		} else if (exception instanceof InvalidCursorException || exception instanceof NumberFormatException
+				|| exception instanceof ServerWebInputException) {
+			status = HttpStatus.BAD_REQUEST;
+		} else if (exception instanceof PreconditionFailedException) {
+			status = HttpStatus.PRECONDITION_FAILED;
+		}
+		ErrorDetail errorDetail = new ErrorDetail(System.currentTimeMillis(), exception.getMessage(), "uri=" + request.path());
+		return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(errorDetail);
+	}
+}
@@ -0,0 +1,58 @@
+package com.dtechideas.restapitesting.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import reactor.core.publisher.Mono;
+
+/*
+ * Reactive counterpart of EmployeeIdGenerator, it reserves pooled-lo blocks from the same hibernate_sequence table
+ * so ids of both stacks never collide. The table is advanced with a compare-and-set UPDATE instead of a row lock.
+ * Concurrent reservations may waste the rest of a block, they never hand out an id twice.
+ */
+public class ReactiveEmployeeIdAllocator {
+
+	private static final int MAX_RESERVE_ATTEMPTS = 10;
+
+	private final DatabaseClient databaseClient;
+	private final int allocationSize;
+	/* guarded by this */
+	private long next;
+	private long limit;
+
+	public ReactiveEmployeeIdAllocator(DatabaseClient databaseClient, int allocationSize) {
+		this.databaseClient = databaseClient;
+		this.allocationSize = allocationSize;
+	}
+
+	public Mono<Long> nextId() {
+		return Mono.defer(() -> {
+			Long id = takeFromBlock();
+			return id != null ? Mono.just(id) : reserveBlock().map(this::useBlock);
+		});
+	}
+
+	private synchronized Long takeFromBlock() {
+		return this.next < this.limit ? this.next++ : null;
+	}
+
+	private synchronized long useBlock(long lo) {
+		this.next = lo + 1;
+		this.limit = lo + this.allocationSize;
+		return lo;
+	}
+
+	private Mono<Long> reserveBlock() {
+		return this.databaseClient.sql("select next_val from hibernate_sequence")
+				.map(row -> row.get(0, Long.class))
+				.one()
+				.flatMap(lo -> this.databaseClient.sql("update hibernate_sequence set next_val = :next where next_val = :lo")
+						.bind("next", lo + this.allocationSize)
+						.bind("lo", lo)
+						.fetch()
+						.rowsUpdated()
+						.filter(rows -> rows == 1)
+						.map(rows -> lo))
+				.repeatWhenEmpty(MAX_RESERVE_ATTEMPTS, attempts -> attempts)
+				.switchIfEmpty(Mono.error(() -> new IllegalStateException("Could not reserve employee ids from hibernate_sequence")));
+	}
+}
@@ -0,0 +1,39 @@
+package com.dtechideas.restapitesting.reactive.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.dtechideas.restapitesting.cache.invalidation.JdbcPollingInvalidationTransport;
+
+import reactor.core.publisher.Mono;
+
+/*
+ * Publishing side of JdbcPollingInvalidationTransport for the reactive application. A row appended here is picked up
+ * by the pollers of the servlet nodes like one of their own, and their EmployeeCache evicts the employee.
+ */
+public class ReactiveEmployeeInvalidationPublisher implements InitializingBean {
+
+	private final DatabaseClient databaseClient;
+	private final String nodeId;
+
+	public ReactiveEmployeeInvalidationPublisher(DatabaseClient databaseClient, String nodeId) {
+		this.databaseClient = databaseClient;
+		this.nodeId = nodeId;
+	}
+
+	/* The servlet nodes create the table on startup as well, whichever starts first wins */
+	@Override
+	public void afterPropertiesSet() {
+		this.databaseClient.sql(JdbcPollingInvalidationTransport.CREATE_TABLE).then().block();
+	}
+
+	public Mono<Void> publish(Long employeeId) {
+		return this.databaseClient.sql("insert into employee_invalidations (employee_id, origin_node, created_at) values (:employeeId, :originNode, :createdAt)")
+				.bind("employeeId", employeeId)
+				.bind("originNode", this.nodeId)
+				.bind("createdAt", LocalDateTime.now())
+				.then();
+	}
+}
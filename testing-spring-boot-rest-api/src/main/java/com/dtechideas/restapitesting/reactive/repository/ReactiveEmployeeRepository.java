@@ -0,0 +1,103 @@
+package com.dtechideas.restapitesting.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/* Plain SQL over the employees table the JPA stack maps, the Employee entity is reused as is */
+public class ReactiveEmployeeRepository {
+
+	private static final String COLUMNS = "id, first_name, last_name, email, version";
+
+	private final DatabaseClient databaseClient;
+	private final ReactiveEmployeeIdAllocator idAllocator;
+
+	public ReactiveEmployeeRepository(DatabaseClient databaseClient, ReactiveEmployeeIdAllocator idAllocator) {
+		this.databaseClient = databaseClient;
+		this.idAllocator = idAllocator;
+	}
+
+	public Mono<Employee> findById(Long id) {
+		return this.databaseClient.sql("select " + COLUMNS + " from employees where id = :id")
+				.bind("id", id)
+				.map((row, metadata) -> toEmployee(row))
+				.one();
+	}
+
+	/* Rows are emitted as the subscriber requests them */
+	public Flux<Employee> findAll() {
+		return this.databaseClient.sql("select " + COLUMNS + " from employees order by id")
+				.map((row, metadata) -> toEmployee(row))
+				.all();
+	}
+
+	public Flux<Employee> findNextPage(Long afterId, int limit) {
+		return this.databaseClient.sql("select " + COLUMNS + " from employees where id > :afterId order by id limit :limit")
+				.bind("afterId", afterId)
+				.bind("limit", limit)
+				.map((row, metadata) -> toEmployee(row))
+				.all();
+	}
+
+	public Mono<Boolean> existsById(Long id) {
+		return this.databaseClient.sql("select 1 from employees where id = :id")
+				.bind("id", id)
+				.map(row -> Boolean.TRUE)
+				.first()
+				.defaultIfEmpty(Boolean.FALSE);
+	}
+
+	public Mono<Employee> insert(Employee employee) {
+		return this.idAllocator.nextId()
+				.flatMap(id -> this.databaseClient.sql("insert into employees (" + COLUMNS + ") values (:id, :firstName, :lastName, :email, 0)")
+						.bind("id", id)
+						.bind("firstName", employee.getFirstName())
+						.bind("lastName", employee.getLastName())
+						.bind("email", employee.getEmail())
+						.fetch()
+						.rowsUpdated()
+						.thenReturn(new Employee(id, employee.getFirstName(), employee.getLastName(), employee.getEmail())));
+	}
+
+	public Mono<Integer> update(Long id, Employee employee) {
+		return this.databaseClient.sql("update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+				+ "version = version + 1 where id = :id")
+				.bind("id", id)
+				.bind("firstName", employee.getFirstName())
+				.bind("lastName", employee.getLastName())
+				.bind("email", employee.getEmail())
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/* Conditional update - checks and bumps the version in the same statement, 0 means missing or stale */
+	public Mono<Integer> updateIfVersionMatches(Long id, long version, Employee employee) {
+		return this.databaseClient.sql("update employees set first_name = :firstName, last_name = :lastName, email = :email, "
+				+ "version = version + 1 where id = :id and version = :version")
+				.bind("id", id)
+				.bind("version", version)
+				.bind("firstName", employee.getFirstName())
+				.bind("lastName", employee.getLastName())
+				.bind("email", employee.getEmail())
+				.fetch()
+				.rowsUpdated();
+	}
+
+	public Mono<Integer> deleteById(Long id) {
+		return this.databaseClient.sql("delete from employees where id = :id")
+				.bind("id", id)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	private static Employee toEmployee(Row row) {
+		Employee employee = new Employee(row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class), row.get(3, String.class));
+		Long version = row.get(4, Long.class);
+		employee.setVersion(version == null ? 0 : version);
+		return employee;
+	}
+}
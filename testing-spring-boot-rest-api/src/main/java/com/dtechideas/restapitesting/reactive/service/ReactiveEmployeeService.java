@@ -0,0 +1,16 @@
+package com.dtechideas.restapitesting.reactive.service;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+	public Mono<Employee> saveEmployee(Employee employee);
+	public Flux<Employee> getAllEmployees();
+	public Mono<EmployeePage> getEmployeesPage(String cursor, int size);
+	public Mono<Employee> getEmployeeById(Long id);
+	public Mono<Employee> updateEmployee(Long employeeId, Employee employee, Long expectedVersion);
+	public Mono<Void> deleteEmployeeById(Long id);
+}
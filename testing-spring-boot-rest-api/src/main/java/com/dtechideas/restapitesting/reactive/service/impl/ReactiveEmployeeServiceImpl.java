@@ -0,0 +1,124 @@
+package com.dtechideas.restapitesting.reactive.service.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.dtechideas.restapitesting.exception.PreconditionFailedException;
+import com.dtechideas.restapitesting.exception.ResourceAlreadyExistsException;
+import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.reactive.repository.ReactiveEmployeeInvalidationPublisher;
+import com.dtechideas.restapitesting.reactive.repository.ReactiveEmployeeRepository;
+import com.dtechideas.restapitesting.reactive.service.ReactiveEmployeeService;
+import com.dtechideas.restapitesting.service.impl.EmployeeServiceImpl;
+
+import io.r2dbc.spi.R2dbcException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Same rules as EmployeeServiceImpl, the unique constraint on email decides about duplicates. Every successful write
+ * is published like a committed JPA write, so the caches of the servlet nodes do not keep the old row.
+ */
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveEmployeeServiceImpl.class);
+
+	/* MySQL ER_DUP_ENTRY, other databases report the standard SQLState below */
+	private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+	private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+	private ReactiveEmployeeRepository employeeRepository;
+
+	/* null without the jdbc invalidation transport, no other node caches employees then */
+	private ReactiveEmployeeInvalidationPublisher invalidationPublisher;
+
+	public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository, ReactiveEmployeeInvalidationPublisher invalidationPublisher) {
+		this.employeeRepository = employeeRepository;
+		this.invalidationPublisher = invalidationPublisher;
+	}
+
+	@Override
+	public Mono<Employee> saveEmployee(Employee employee) {
+		return this.employeeRepository.insert(employee)
+				.onErrorMap(DataIntegrityViolationException.class, exception -> translateDuplicateEmail(exception, employee))
+				/* Other nodes may hold the id in their negative cache */
+				.flatMap(savedEmployee -> publishInvalidation(savedEmployee.getId()).thenReturn(savedEmployee));
+	}
+
+	@Override
+	public Flux<Employee> getAllEmployees() {
+		return this.employeeRepository.findAll();
+	}
+
+	@Override
+	public Mono<EmployeePage> getEmployeesPage(String cursor, int size) {
+		int pageSize = size < 1 ? EmployeeServiceImpl.DEFAULT_PAGE_SIZE : Math.min(size, EmployeeServiceImpl.MAX_PAGE_SIZE);
+		return Mono.fromCallable(() -> EmployeeServiceImpl.decodeCursor(cursor))
+				/* One row more than requested tells whether there is a next page */
+				.flatMap(afterId -> this.employeeRepository.findNextPage(afterId, pageSize + 1).collectList())
+				.map(employees -> {
+					if (employees.size() <= pageSize) {
+						return new EmployeePage(employees, null);
+					}
+					List<Employee> content = employees.subList(0, pageSize);
+					return new EmployeePage(content, EmployeeServiceImpl.encodeCursor(content.get(pageSize - 1).getId()));
+				});
+	}
+
+	@Override
+	public Mono<Employee> getEmployeeById(Long id) {
+		return this.employeeRepository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee","id",id)));
+	}
+
+	@Override
+	public Mono<Employee> updateEmployee(Long employeeId, Employee employee, Long expectedVersion) {
+		Mono<Integer> updatedRows = expectedVersion == null ? this.employeeRepository.update(employeeId, employee)
+				: this.employeeRepository.updateIfVersionMatches(employeeId, expectedVersion, employee);
+		return updatedRows
+				.onErrorMap(DataIntegrityViolationException.class, exception -> translateDuplicateEmail(exception, employee))
+				.flatMap(rows -> {
+					if (rows > 0) {
+						return publishInvalidation(employeeId).then(getEmployeeById(employeeId));
+					}
+					return this.employeeRepository.existsById(employeeId).flatMap(exists -> Mono.error(expectedVersion != null && exists
+							? new PreconditionFailedException("Employee", "id", employeeId, expectedVersion)
+							: new ResourceNotFoundException("Employee", "id", employeeId)));
+				});
+	}
+
+	@Override
+	public Mono<Void> deleteEmployeeById(Long id) {
+		return this.employeeRepository.deleteById(id)
+				.flatMap(rows -> rows == 0 ? Mono.error(new ResourceNotFoundException("Employee","id",id)) : publishInvalidation(id));
+	}
+
+	/* The write is done at this point, a failed publish is logged instead of failing the request */
+	private Mono<Void> publishInvalidation(Long employeeId) {
+		if (this.invalidationPublisher == null) {
+			return Mono.empty();
+		}
+		return this.invalidationPublisher.publish(employeeId)
+				.onErrorResume(exception -> {
+					LOGGER.warn("Publishing the invalidation of employee {} failed", employeeId, exception);
+					return Mono.empty();
+				});
+	}
+
+	private static Throwable translateDuplicateEmail(DataIntegrityViolationException exception, Employee employee) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof R2dbcException) {
+				R2dbcException r2dbcException = (R2dbcException) cause;
+				if (r2dbcException.getErrorCode() == MYSQL_DUPLICATE_ENTRY || UNIQUE_VIOLATION_SQL_STATE.equals(r2dbcException.getSqlState())) {
+					return new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+				}
+			}
+		}
+		return exception;
+	}
+}
@@ -1,28 +1,99 @@
 package com.dtechideas.restapitesting.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 
 // By default all the methods available in JpaRepository are Transactional, we do not have to add it manually
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 	
 	Optional<Employee> findByEmail(String email);
 	
-	@Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
-	Employee findByJPQLFirstNameLastName(String firstName, String lastName);
+	// Conditional update - checks and bumps the version in the same statement, 0 means missing or stale
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, e.version = e.version + 1 "
+			+ "where e.id = :id and e.version = :version")
+	int updateIfVersionMatches(@Param("id") Long id, @Param("version") long version, @Param("firstName") String firstName,
+			@Param("lastName") String lastName, @Param("email") String email);
+
+	// Write-behind flush - stores the version the update was acknowledged with unless the row is already at or past it
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, e.version = :version "
+			+ "where e.id = :id and e.version < :version")
+	int updateToVersion(@Param("id") Long id, @Param("version") long version, @Param("firstName") String firstName,
+			@Param("lastName") String lastName, @Param("email") String email);
+
+	// Tells apart why updateToVersion() changed no row: deleted, already applied or overtaken
+	@Query("select e.version from Employee e where e.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	// Single statement delete - the affected row count tells whether the employee existed
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("delete from Employee e where e.id = :id")
+	int deleteEmployeeById(@Param("id") Long id);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("delete from Employee e where e.id in :ids")
+	int deleteEmployeesByIds(@Param("ids") Collection<Long> ids);
+	
+	@Query("select e.email from Employee e where e.email in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+	
+	// Keyset pagination - seeks on the primary key instead of using an offset, so every page costs the same
+	@Query("select e from Employee e where e.id > :afterId order by e.id asc")
+	List<Employee> findNextPage(@Param("afterId") Long afterId, Pageable pageable);
+	
+	/*
+	 * Projections of the reads above, built with "select new" so the results never enter the persistence context.
+	 * Used instead of them with employees.read.projections=true.
+	 */
+	@Query("select new com.dtechideas.restapitesting.model.Employee(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e where e.id = :id")
+	Optional<Employee> findProjectedById(@Param("id") Long id);
+	
+	@Query("select new com.dtechideas.restapitesting.model.Employee(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e order by e.id asc")
+	List<Employee> findAllProjected();
+	
+	@Query("select new com.dtechideas.restapitesting.model.Employee(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e "
+			+ "where e.id > :afterId order by e.id asc")
+	List<Employee> findNextPageProjected(@Param("afterId") Long afterId, Pageable pageable);
+	
+	/*
+	 * The four lookups below used to run the same unindexed query and failed when a name was not unique. They now take
+	 * the first match of searchEmployees(), new code should call that (or GET /api/v1/employees/search) directly.
+	 */
+	@Deprecated
+	default Employee findByJPQLFirstNameLastName(String firstName, String lastName) {
+		return searchEmployees(EmployeeSearchCriteria.exactName(firstName, lastName), null, 1).stream().findFirst().orElse(null);
+	}
 	
-	@Query("select e from Employee e where e.firstName = :fName and e.lastName = :lName")
-	Employee findByJPQLNamedParamsFirstNameLastName(@Param("fName")String firstName, @Param("lName")String lastName);
+	@Deprecated
+	default Employee findByJPQLNamedParamsFirstNameLastName(String firstName, String lastName) {
+		return searchEmployees(EmployeeSearchCriteria.exactName(firstName, lastName), null, 1).stream().findFirst().orElse(null);
+	}
 	
-	@Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
-	Employee findByNativeSQLFirstNameLastName(@Param("fName")String firstName, @Param("lName")String lastName);
+	@Deprecated
+	default Employee findByNativeSQLFirstNameLastName(String firstName, String lastName) {
+		return searchEmployees(EmployeeSearchCriteria.exactName(firstName, lastName), null, 1).stream().findFirst().orElse(null);
+	}
 	
-	@Query(value = "select * from employees e where e.first_name = :fName and e.last_name = :lName", nativeQuery = true)
-	Employee findByNativeSQLNamedParamsFirstNameLastName(@Param("fName")String firstName, @Param("lName")String lastName);
+	@Deprecated
+	default Employee findByNativeSQLNamedParamsFirstNameLastName(String firstName, String lastName) {
+		return searchEmployees(EmployeeSearchCriteria.exactName(firstName, lastName), null, 1).stream().findFirst().orElse(null);
+	}
 
 }
@@ -0,0 +1,26 @@
+package com.dtechideas.restapitesting.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
+
+// Repository fragment for the queries that can not be expressed as derived or @Query methods
+public interface EmployeeRepositoryCustom {
+
+	/* Visits every employee in id order through a forward-only cursor, without holding the whole table in memory */
+	void forEachEmployee(Consumer<Employee> action);
+
+	/* Same scan as forEachEmployee() on plain column values, nothing enters the persistence context */
+	void forEachEmployeeRow(EmployeeRowHandler handler);
+
+	/* At most "limit" employees matching the criteria, ordered by last name, first name and id, after the given one */
+	List<Employee> searchEmployees(EmployeeSearchCriteria criteria, Employee after, int limit);
+
+	@FunctionalInterface
+	interface EmployeeRowHandler {
+		void accept(long id, String firstName, String lastName, String email, long version);
+	}
+
+}
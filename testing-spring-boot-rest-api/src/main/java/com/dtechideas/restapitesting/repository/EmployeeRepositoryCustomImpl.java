@@ -0,0 +1,81 @@
+package com.dtechideas.restapitesting.repository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/* Rows fetched per round-trip, the persistence context is also cleared after every chunk so heap use stays flat */
+	@Value("${employees.export.chunk-size:500}")
+	private int chunkSize;
+
+	@Override
+	@Transactional(readOnly = true)
+	public void forEachEmployee(Consumer<Employee> action) {
+		Stream<Employee> employees = this.entityManager
+				.createQuery("select e from Employee e order by e.id asc", Employee.class)
+				.setHint(QueryHints.HINT_FETCH_SIZE, this.chunkSize)
+				.setHint(QueryHints.HINT_READONLY, true)
+				.getResultStream();
+		try {
+			int visited = 0;
+			Iterator<Employee> iterator = employees.iterator();
+			while (iterator.hasNext()) {
+				action.accept(iterator.next());
+				if (++visited % this.chunkSize == 0) {
+					this.entityManager.clear();
+				}
+			}
+		} finally {
+			employees.close();
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void forEachEmployeeRow(EmployeeRowHandler handler) {
+		Stream<Object[]> rows = this.entityManager
+				.createQuery("select e.id, e.firstName, e.lastName, e.email, e.version from Employee e order by e.id asc", Object[].class)
+				.setHint(QueryHints.HINT_FETCH_SIZE, this.chunkSize)
+				.getResultStream();
+		try {
+			Iterator<Object[]> iterator = rows.iterator();
+			while (iterator.hasNext()) {
+				Object[] row = iterator.next();
+				handler.accept((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (Long) row[4]);
+			}
+		} finally {
+			rows.close();
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public List<Employee> searchEmployees(EmployeeSearchCriteria criteria, Employee after, int limit) {
+		EmployeeSearchQuery searchQuery = EmployeeSearchQuery.of(criteria, after, limit);
+		Query query = this.entityManager.createNativeQuery(searchQuery.getSql(), Employee.class);
+		for (Map.Entry<String, Object> parameter : searchQuery.getParameters().entrySet()) {
+			query.setParameter(parameter.getKey(), parameter.getValue());
+		}
+		return query.getResultList();
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.dtechideas.restapitesting.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
+
+/*
+ * The one SQL statement behind every employee search. Results are ordered by (last_name, first_name, id), the order of
+ * idx_employees_last_name_first_name (InnoDB secondary indexes end with the primary key), and the next page seeks past
+ * the last row with a row value comparison instead of an offset. Name prefixes stay index range scans, email filters
+ * use the unique email index.
+ */
+class EmployeeSearchQuery {
+
+	/* Not a backslash, MySQL and H2 treat it differently inside string literals */
+	private static final char LIKE_ESCAPE = '!';
+
+	private final String sql;
+	private final Map<String, Object> parameters;
+
+	private EmployeeSearchQuery(String sql, Map<String, Object> parameters) {
+		this.sql = sql;
+		this.parameters = parameters;
+	}
+
+	String getSql() {
+		return sql;
+	}
+
+	Map<String, Object> getParameters() {
+		return parameters;
+	}
+
+	/* "after" is the last employee of the previous page, null for the first page */
+	static EmployeeSearchQuery of(EmployeeSearchCriteria criteria, Employee after, int limit) {
+		StringBuilder sql = new StringBuilder("select e.* from employees e where 1 = 1");
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		boolean prefix = criteria.getMatch() == EmployeeSearchCriteria.Match.PREFIX;
+		appendFilter(sql, parameters, "last_name", "lastName", criteria.getLastName(), prefix);
+		appendFilter(sql, parameters, "first_name", "firstName", criteria.getFirstName(), prefix);
+		appendFilter(sql, parameters, "email", "email", criteria.getEmail(), prefix);
+		if (after != null) {
+			sql.append(" and (e.last_name, e.first_name, e.id) > (:afterLastName, :afterFirstName, :afterId)");
+			parameters.put("afterLastName", after.getLastName());
+			parameters.put("afterFirstName", after.getFirstName());
+			parameters.put("afterId", after.getId());
+		}
+		sql.append(" order by e.last_name, e.first_name, e.id limit ").append(limit);
+		return new EmployeeSearchQuery(sql.toString(), parameters);
+	}
+
+	private static void appendFilter(StringBuilder sql, Map<String, Object> parameters, String column, String parameter,
+			String value, boolean prefix) {
+		if (value == null) {
+			return;
+		}
+		if (prefix) {
+			sql.append(" and e.").append(column).append(" like :").append(parameter).append(" escape '").append(LIKE_ESCAPE).append("'");
+			parameters.put(parameter, escapeLike(value) + "%");
+		} else {
+			sql.append(" and e.").append(column).append(" = :").append(parameter);
+			parameters.put(parameter, value);
+		}
+	}
+
+	private static String escapeLike(String value) {
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (char character : value.toCharArray()) {
+			if (character == '%' || character == '_' || character == LIKE_ESCAPE) {
+				escaped.append(LIKE_ESCAPE);
+			}
+			escaped.append(character);
+		}
+		return escaped.toString();
+	}
+}
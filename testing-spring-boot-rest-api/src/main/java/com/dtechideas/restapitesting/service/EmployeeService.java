@@ -2,13 +2,33 @@ package com.dtechideas.restapitesting.service;
 
 
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeBatchResult;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 
+/* The Optional and boolean variants report a missing employee without throwing, the others throw ResourceNotFoundException */
 public interface EmployeeService {
 	public Employee saveEmployee(Employee employee);
+	public List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
 	public List<Employee> getAllEmployees();
+	public EmployeePage getEmployeesPage(String cursor, int size);
+	public EmployeePage searchEmployees(EmployeeSearchCriteria criteria, String cursor, int size);
+	public void exportEmployees(Consumer<Employee> consumer);
+	/* Identifies the rows getAllEmployees() and exportEmployees() return, empty when they are read from the database */
+	public OptionalLong getEmployeesVersion();
 	public Employee getEmployeeById(Long id);
+	public Optional<Employee> findEmployeeById(Long id);
+	public List<Employee> autocompleteEmployees(String prefix, int limit);
 	public Employee updateEmployee(Long employeeId, Employee employee);
+	public Employee updateEmployee(Long employeeId, Employee employee, Long expectedVersion);
+	public Optional<Employee> updateEmployeeIfExists(Long employeeId, Employee employee, Long expectedVersion);
 	public void deleteEmployeeById(Long id);
+	public boolean deleteEmployeeIfExists(Long id);
+	
+	public int deleteEmployeesByIds(List<Long> ids);
 }
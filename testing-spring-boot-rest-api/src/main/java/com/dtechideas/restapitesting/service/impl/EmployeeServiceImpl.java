@@ -1,63 +1,493 @@
 package com.dtechideas.restapitesting.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.dtechideas.restapitesting.cache.EmployeeCache;
+import com.dtechideas.restapitesting.datasource.ReadYourWritesContext;
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.exception.InvalidCursorException;
+import com.dtechideas.restapitesting.exception.PreconditionFailedException;
 import com.dtechideas.restapitesting.exception.ResourceAlreadyExistsException;
 import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.index.EmployeeEmailIndex;
+import com.dtechideas.restapitesting.index.EmployeeNameIndex;
 import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeBatchResult;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 import com.dtechideas.restapitesting.repository.EmployeeRepository;
 import com.dtechideas.restapitesting.service.EmployeeService;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshot;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshotStore;
+import com.dtechideas.restapitesting.writebehind.EmployeeWriteBehindQueue;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 500;
+	/* Items checked with one "email in (...)" query and inserted with one saveAll() call, also the ids per bulk delete */
+	public static final int BATCH_CHUNK_SIZE = 500;
+	public static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+	public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+	/* MySQL ER_DUP_ENTRY, other databases report the standard SQLState below */
+	private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+	private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
 	private EmployeeRepository employeeRepository;
+	private EmployeeCache employeeCache;
+	private EmployeeEmailIndex employeeEmailIndex;
+	private EmployeeNameIndex employeeNameIndex;
+	private ApplicationEventPublisher eventPublisher;
+	private EmployeeWriteBehindQueue writeBehindQueue;
+	private EmployeeSnapshotStore snapshotStore;
+	private boolean readProjections;
 
 	/* When we have a single constructor, we do not have to use @Autowired */
 	@Autowired
-	public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+	public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeCache employeeCache,
+			EmployeeEmailIndex employeeEmailIndex, EmployeeNameIndex employeeNameIndex, ApplicationEventPublisher eventPublisher) {
 		this.employeeRepository = employeeRepository;
+		this.employeeCache = employeeCache;
+		this.employeeEmailIndex = employeeEmailIndex;
+		this.employeeNameIndex = employeeNameIndex;
+		this.eventPublisher = eventPublisher;
+	}
+
+	/* Only present with employees.write-behind.enabled=true, updates without If-Match are then written behind */
+	@Autowired(required = false)
+	public void setWriteBehindQueue(EmployeeWriteBehindQueue writeBehindQueue) {
+		this.writeBehindQueue = writeBehindQueue;
+	}
+
+	/* With employees.read.projections=true single, page and bulk reads return plain objects instead of managed entities */
+	@Value("${employees.read.projections:false}")
+	public void setReadProjections(boolean readProjections) {
+		this.readProjections = readProjections;
+	}
+
+	/* Only present with employees.snapshot.enabled=true, bulk reads are then served from the last snapshot */
+	@Autowired(required = false)
+	public void setSnapshotStore(EmployeeSnapshotStore snapshotStore) {
+		this.snapshotStore = snapshotStore;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadIndexes() {
+		this.employeeRepository.forEachEmployee(employee -> {
+			this.employeeEmailIndex.put(employee);
+			this.employeeNameIndex.put(employee);
+		});
 	}
 
 	@Override
 	public Employee saveEmployee(Employee employee) {
-		Optional<Employee> optionalEmployee = this.employeeRepository.findByEmail(employee.getEmail());
-		if (optionalEmployee.isPresent()) {
-			throw new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+		/* Only a known email costs a SELECT, and only to tell a real duplicate from a stale index entry */
+		if (this.employeeEmailIndex.contains(employee.getEmail())) {
+			Optional<Employee> optionalEmployee = this.employeeRepository.findByEmail(employee.getEmail());
+			if (optionalEmployee.isPresent()) {
+				throw new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+			}
+			this.employeeEmailIndex.remove(employee.getEmail());
 		}
-		Employee savedEmployee = this.employeeRepository.save(employee);
+		Employee savedEmployee;
+		try {
+			savedEmployee = this.employeeRepository.save(employee);
+		} catch (DataIntegrityViolationException exception) {
+			if (isDuplicateKey(exception)) {
+				throw new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+			}
+			throw exception;
+		}
+		this.eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployee));
 		return savedEmployee;
 	}
 
 	@Override
+	public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+		List<EmployeeBatchResult> results = new ArrayList<>(employees.size());
+		/* Emails seen earlier in the same request, a later duplicate fails the same way a second saveEmployee() would */
+		Set<String> acceptedEmails = new HashSet<>();
+		for (int chunkStart = 0; chunkStart < employees.size(); chunkStart += BATCH_CHUNK_SIZE) {
+			List<Employee> chunk = employees.subList(chunkStart, Math.min(chunkStart + BATCH_CHUNK_SIZE, employees.size()));
+			Set<String> existingEmails = new HashSet<>(this.employeeRepository.findExistingEmails(chunk.stream().map(Employee::getEmail).collect(Collectors.toSet())));
+			List<Employee> employeesToSave = new ArrayList<>(chunk.size());
+			List<Integer> indexesToSave = new ArrayList<>(chunk.size());
+			for (int offset = 0; offset < chunk.size(); offset++) {
+				Employee employee = chunk.get(offset);
+				if (existingEmails.contains(employee.getEmail()) || !acceptedEmails.add(employee.getEmail())) {
+					String message = new ResourceAlreadyExistsException("Employee", "email", employee.getEmail()).getMessage();
+					results.add(new EmployeeBatchResult(chunkStart + offset, EmployeeBatchResult.Status.ALREADY_EXISTS, null, message));
+					continue;
+				}
+				/* Ids are always generated, a client supplied id would turn the insert into a merge (SELECT + INSERT) */
+				employee.setId(null);
+				employeesToSave.add(employee);
+				indexesToSave.add(chunkStart + offset);
+			}
+			List<Employee> savedEmployees;
+			try {
+				savedEmployees = this.employeeRepository.saveAll(employeesToSave);
+			} catch (DataIntegrityViolationException exception) {
+				/* An email was taken after the check, the chunk was rolled back, so retry it item by item */
+				if (!isDuplicateKey(exception)) {
+					throw exception;
+				}
+				for (int i = 0; i < employeesToSave.size(); i++) {
+					results.add(saveBatchItem(indexesToSave.get(i), employeesToSave.get(i)));
+				}
+				continue;
+			}
+			for (int i = 0; i < savedEmployees.size(); i++) {
+				this.eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployees.get(i)));
+				results.add(new EmployeeBatchResult(indexesToSave.get(i), EmployeeBatchResult.Status.CREATED, savedEmployees.get(i), null));
+			}
+		}
+		results.sort(Comparator.comparingInt(EmployeeBatchResult::getIndex));
+		return results;
+	}
+
+	private EmployeeBatchResult saveBatchItem(int index, Employee employee) {
+		employee.setId(null);
+		try {
+			return new EmployeeBatchResult(index, EmployeeBatchResult.Status.CREATED, saveEmployee(employee), null);
+		} catch (ResourceAlreadyExistsException exception) {
+			return new EmployeeBatchResult(index, EmployeeBatchResult.Status.ALREADY_EXISTS, null, exception.getMessage());
+		}
+	}
+
+	/*
+	 * Reads run in read-only transactions: Hibernate switches the session to FlushMode.MANUAL and keeps no dirty-checking
+	 * snapshots, and with a replica configured (DataSourceRoutingConfig) the statements go to the replica. A read
+	 * answered without a statement borrows no connection, see DataSourceConfig.
+	 */
+	@Override
+	@Transactional(readOnly = true)
 	public List<Employee> getAllEmployees() {
-		return this.employeeRepository.findAll();
+		EmployeeSnapshot snapshot = currentSnapshot();
+		List<Employee> employees = snapshot != null ? snapshot.toList()
+				: this.readProjections ? this.employeeRepository.findAllProjected() : this.employeeRepository.findAll();
+		if (this.writeBehindQueue == null || this.writeBehindQueue.isEmpty()) {
+			return employees;
+		}
+		return employees.stream().map(this::withPendingUpdate).collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeePage getEmployeesPage(String cursor, int size) {
+		int pageSize = size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+		Long afterId = decodeCursor(cursor);
+		/* Fetch one row more than requested, it tells us whether there is a next page without a count query */
+		List<Employee> employees = this.readProjections ? this.employeeRepository.findNextPageProjected(afterId, PageRequest.of(0, pageSize + 1))
+				: this.employeeRepository.findNextPage(afterId, PageRequest.of(0, pageSize + 1));
+		if (this.writeBehindQueue != null && !this.writeBehindQueue.isEmpty()) {
+			employees = employees.stream().map(this::withPendingUpdate).collect(Collectors.toList());
+		}
+		if (employees.size() <= pageSize) {
+			return new EmployeePage(employees, null);
+		}
+		List<Employee> content = employees.subList(0, pageSize);
+		return new EmployeePage(content, encodeCursor(content.get(pageSize - 1).getId()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeePage searchEmployees(EmployeeSearchCriteria criteria, String cursor, int size) {
+		int pageSize = size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+		Employee after = decodeSearchCursor(cursor);
+		List<Employee> employees = this.employeeRepository.searchEmployees(criteria, after, pageSize + 1);
+		if (this.writeBehindQueue != null && !this.writeBehindQueue.isEmpty()) {
+			employees = employees.stream().map(this::withPendingUpdate).collect(Collectors.toList());
+		}
+		if (employees.size() <= pageSize) {
+			return new EmployeePage(employees, null);
+		}
+		List<Employee> content = employees.subList(0, pageSize);
+		return new EmployeePage(content, encodeSearchCursor(content.get(pageSize - 1)));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportEmployees(Consumer<Employee> consumer) {
+		Consumer<Employee> action = this.writeBehindQueue == null ? consumer : employee -> consumer.accept(withPendingUpdate(employee));
+		EmployeeSnapshot snapshot = currentSnapshot();
+		if (snapshot != null) {
+			snapshot.forEach(action);
+		} else {
+			this.employeeRepository.forEachEmployee(action);
+		}
+	}
+
+	/*
+	 * The snapshot's version while bulk reads come from it. Pending write-behind updates are laid over the snapshot rows,
+	 * so while there are some the rows have no version. Without a snapshot any write, also on another node or a
+	 * replica catching up, can change them.
+	 */
+	@Override
+	public OptionalLong getEmployeesVersion() {
+		EmployeeSnapshot snapshot = currentSnapshot();
+		if (snapshot == null || (this.writeBehindQueue != null && !this.writeBehindQueue.isEmpty())) {
+			return OptionalLong.empty();
+		}
+		return OptionalLong.of(snapshot.getVersion());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Employee getEmployeeById(Long id) {
-		Employee employee = this.employeeRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Employee","id",id));
-		return employee;
+		return findEmployeeById(id).orElseThrow( () -> new ResourceNotFoundException("Employee","id",id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Employee> findEmployeeById(Long id) {
+		if (this.writeBehindQueue != null) {
+			Employee pendingEmployee = this.writeBehindQueue.get(id);
+			if (pendingEmployee != null) {
+				return Optional.of(pendingEmployee);
+			}
+		}
+		/* A miss fills the cache for every client, it is loaded from the primary */
+		return this.employeeCache.get(id, missingId -> ReadYourWritesContext.onPrimary(() -> this.readProjections
+				? this.employeeRepository.findProjectedById(missingId) : this.employeeRepository.findById(missingId)));
+	}
+
+	/* Type-ahead, the index ranks the ids and the employees come from the cache, the misses with one query */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Employee> autocompleteEmployees(String prefix, int limit) {
+		int maxResults = limit < 1 ? DEFAULT_AUTOCOMPLETE_LIMIT : Math.min(limit, MAX_AUTOCOMPLETE_LIMIT);
+		List<Long> ids = this.employeeNameIndex.search(prefix, maxResults);
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<Long, Employee> employees = this.employeeCache.getAll(ids, missingIds -> ReadYourWritesContext.onPrimary(
+				() -> this.employeeRepository.findAllById(missingIds)).stream().collect(Collectors.toMap(Employee::getId, Function.identity())));
+		List<Employee> suggestions = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			/* An id deleted on another node can still be indexed here for a moment */
+			Employee employee = employees.get(id);
+			if (employee != null) {
+				suggestions.add(this.writeBehindQueue == null ? employee : withPendingUpdate(employee));
+			}
+		}
+		return suggestions;
 	}
 
 	@Override
 	public Employee updateEmployee(Long employeeId, Employee employee) {
-		Employee foundEmployee = this.employeeRepository.findById(employeeId).orElseThrow( () -> new ResourceNotFoundException("Employee","id",employeeId));
-		foundEmployee.setFirstName(employee.getFirstName());
-		foundEmployee.setLastName(employee.getLastName());
-		foundEmployee.setEmail(employee.getEmail());
-		Employee updatedEmployee = employeeRepository.save(foundEmployee);
-		return updatedEmployee;
+		return updateEmployee(employeeId, employee, null);
+	}
+
+	@Override
+	public Employee updateEmployee(Long employeeId, Employee employee, Long expectedVersion) {
+		return updateEmployeeIfExists(employeeId, employee, expectedVersion).orElseThrow( () -> new ResourceNotFoundException("Employee","id",employeeId));
+	}
+
+	@Override
+	public Optional<Employee> updateEmployeeIfExists(Long employeeId, Employee employee, Long expectedVersion) {
+		if (expectedVersion != null) {
+			flushPendingUpdate(employeeId);
+			return updateEmployeeIfVersionMatches(employeeId, employee, expectedVersion);
+		}
+		if (this.writeBehindQueue != null) {
+			return enqueueUpdate(employeeId, employee);
+		}
+		/*
+		 * No transaction spans the two statements, the UPDATE is guarded by the version just read instead: an update
+		 * committed in between turns into an optimistic lock failure, as the @Version check of save() reported it.
+		 */
+		Optional<Employee> optionalEmployee = this.employeeRepository.findById(employeeId);
+		if (!optionalEmployee.isPresent()) {
+			return Optional.empty();
+		}
+		try {
+			return updateEmployeeIfVersionMatches(employeeId, employee, optionalEmployee.get().getVersion());
+		} catch (PreconditionFailedException exception) {
+			throw new ObjectOptimisticLockingFailureException(Employee.class, employeeId);
+		}
+	}
+
+	/*
+	 * Acknowledged once the update is in the write-behind log. The email is checked against the database and the
+	 * pending updates of other ids, an update the unique constraint still refuses when it is flushed is dead-lettered.
+	 */
+	private Optional<Employee> enqueueUpdate(Long employeeId, Employee employee) {
+		Employee pendingEmployee = this.writeBehindQueue.get(employeeId);
+		Employee currentEmployee = pendingEmployee != null ? pendingEmployee : findEmployeeById(employeeId).orElse(null);
+		if (currentEmployee == null) {
+			return Optional.empty();
+		}
+		if (!Objects.equals(currentEmployee.getEmail(), employee.getEmail())) {
+			if (this.writeBehindQueue.isEmailPendingForOther(employeeId, employee.getEmail())) {
+				throw new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+			}
+			if (this.employeeEmailIndex.contains(employee.getEmail())) {
+				Optional<Employee> optionalEmployee = this.employeeRepository.findByEmail(employee.getEmail());
+				if (optionalEmployee.isPresent() && !optionalEmployee.get().getId().equals(employeeId)) {
+					throw new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+				}
+			}
+		}
+		Employee updatedEmployee = new Employee(employeeId, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+		/* Every acknowledged update gets its own version, the flush stores the one of the last update it coalesced */
+		updatedEmployee.setVersion(currentEmployee.getVersion() + 1);
+		this.writeBehindQueue.enqueue(updatedEmployee);
+		return Optional.of(updatedEmployee);
+	}
+
+	/* One UPDATE guarded by the version, the entity is never loaded unless the update did not match */
+	private Optional<Employee> updateEmployeeIfVersionMatches(Long employeeId, Employee employee, long expectedVersion) {
+		int updatedRows;
+		try {
+			updatedRows = this.employeeRepository.updateIfVersionMatches(employeeId, expectedVersion, employee.getFirstName(),
+					employee.getLastName(), employee.getEmail());
+		} catch (DataIntegrityViolationException exception) {
+			if (isDuplicateKey(exception)) {
+				throw new ResourceAlreadyExistsException("Employee", "email", employee.getEmail());
+			}
+			throw exception;
+		}
+		if (updatedRows == 0) {
+			if (!this.employeeRepository.existsById(employeeId)) {
+				return Optional.empty();
+			}
+			throw new PreconditionFailedException("Employee", "id", employeeId, expectedVersion);
+		}
+		Employee updatedEmployee = new Employee(employeeId, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+		updatedEmployee.setVersion(expectedVersion + 1);
+		this.eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+		return Optional.of(updatedEmployee);
 	}
 
 	@Override
 	public void deleteEmployeeById(Long id) {
-		Employee foundEmployee = this.employeeRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Employee","id",id));
-		this.employeeRepository.deleteById(foundEmployee.getId());
+		if (!deleteEmployeeIfExists(id)) {
+			throw new ResourceNotFoundException("Employee","id",id);
+		}
+	}
+
+	@Override
+	public boolean deleteEmployeeIfExists(Long id) {
+		flushPendingUpdate(id);
+		if (this.employeeRepository.deleteEmployeeById(id) == 0) {
+			return false;
+		}
+		this.eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+		return true;
+	}
+
+	@Override
+	public int deleteEmployeesByIds(List<Long> ids) {
+		if (this.writeBehindQueue != null && !this.writeBehindQueue.isEmpty()) {
+			this.writeBehindQueue.flush();
+		}
+		List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		int deleted = 0;
+		for (int chunkStart = 0; chunkStart < distinctIds.size(); chunkStart += BATCH_CHUNK_SIZE) {
+			List<Long> chunk = distinctIds.subList(chunkStart, Math.min(chunkStart + BATCH_CHUNK_SIZE, distinctIds.size()));
+			deleted += this.employeeRepository.deleteEmployeesByIds(chunk);
+			/* The count does not say which ids existed, invalidating an absent id is harmless */
+			for (Long id : chunk) {
+				this.eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+			}
+		}
+		return deleted;
+	}
+
+	/* Conditional updates and deletes work on the database, a pending update of the id has to be written first */
+	private void flushPendingUpdate(Long id) {
+		if (this.writeBehindQueue != null && this.writeBehindQueue.get(id) != null) {
+			this.writeBehindQueue.flush();
+		}
+	}
+
+	private Employee withPendingUpdate(Employee employee) {
+		Employee pendingEmployee = this.writeBehindQueue.get(employee.getId());
+		return pendingEmployee != null ? pendingEmployee : employee;
+	}
+
+	private EmployeeSnapshot currentSnapshot() {
+		return this.snapshotStore == null ? null : this.snapshotStore.current();
+	}
+
+	public static String encodeCursor(Long lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Long decodeCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return 0L;
+		}
+		try {
+			return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException exception) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+
+	/* Search pages are ordered by name, so the cursor carries the sort key of the last employee: last name, first name, id */
+	public static String encodeSearchCursor(Employee last) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return encoder.encodeToString(last.getLastName().getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString(last.getFirstName().getBytes(StandardCharsets.UTF_8)) + "." + last.getId();
+	}
+
+	public static Employee decodeSearchCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		String[] parts = cursor.split("\\.", -1);
+		if (parts.length != 3) {
+			throw new InvalidCursorException(cursor);
+		}
+		try {
+			Base64.Decoder decoder = Base64.getUrlDecoder();
+			return new Employee(Long.valueOf(parts[2]), new String(decoder.decode(parts[1]), StandardCharsets.UTF_8),
+					new String(decoder.decode(parts[0]), StandardCharsets.UTF_8), null);
+		} catch (IllegalArgumentException exception) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+
+	/* The unique constraint on employees.email is the final arbiter, its violation means the email already exists */
+	private static boolean isDuplicateKey(DataIntegrityViolationException exception) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException) {
+				SQLException sqlException = (SQLException) cause;
+				return sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY
+						|| UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState());
+			}
+		}
+		return false;
 	}
 
 }
@@ -0,0 +1,146 @@
+package com.dtechideas.restapitesting.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+/*
+ * Immutable, column-wise copy of the employees table for bulk reads. Row i is ids[i], versions[i], the dictionary
+ * entries firstNames[i] and lastNames[i], and the UTF-8 bytes of the email between emailOffsets[i] and
+ * emailOffsets[i + 1]. First and last names repeat a lot and share one dictionary, emails are unique and are kept as
+ * bytes. Employee objects are only created while a reader visits the rows, and are plain objects that Hibernate has
+ * never seen.
+ */
+public final class EmployeeSnapshot {
+
+	private static final AtomicLong VERSIONS = new AtomicLong();
+
+	private final long version;
+	private final Instant createdAt;
+	private final int size;
+	private final long[] ids;
+	private final long[] versions;
+	private final int[] firstNames;
+	private final int[] lastNames;
+	private final String[] names;
+	private final byte[] emails;
+	private final int[] emailOffsets;
+
+	private EmployeeSnapshot(Builder builder) {
+		this.version = VERSIONS.incrementAndGet();
+		this.createdAt = Instant.now();
+		this.size = builder.size;
+		this.ids = Arrays.copyOf(builder.ids, builder.size);
+		this.versions = Arrays.copyOf(builder.versions, builder.size);
+		this.firstNames = Arrays.copyOf(builder.firstNames, builder.size);
+		this.lastNames = Arrays.copyOf(builder.lastNames, builder.size);
+		this.names = builder.names.toArray(new String[0]);
+		this.emails = Arrays.copyOf(builder.emails, builder.emailOffsets[builder.size]);
+		this.emailOffsets = Arrays.copyOf(builder.emailOffsets, builder.size + 1);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/* Increases with every snapshot built in this JVM, two snapshots never share a version */
+	public long getVersion() {
+		return version;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/* Distinct first and last names */
+	public int dictionarySize() {
+		return names.length;
+	}
+
+	public Employee get(int row) {
+		Employee employee = new Employee(this.ids[row], this.names[this.firstNames[row]], this.names[this.lastNames[row]],
+				new String(this.emails, this.emailOffsets[row], this.emailOffsets[row + 1] - this.emailOffsets[row], StandardCharsets.UTF_8));
+		employee.setVersion(this.versions[row]);
+		return employee;
+	}
+
+	/* Visits the rows in id order, one short-lived Employee at a time */
+	public void forEach(Consumer<Employee> action) {
+		for (int row = 0; row < this.size; row++) {
+			action.accept(get(row));
+		}
+	}
+
+	public List<Employee> toList() {
+		List<Employee> employees = new ArrayList<>(this.size);
+		forEach(employees::add);
+		return employees;
+	}
+
+	/* Rows have to be added in id order, build() trims the columns to their size */
+	public static final class Builder {
+
+		private int size;
+		private long[] ids = new long[1024];
+		private long[] versions = new long[1024];
+		private int[] firstNames = new int[1024];
+		private int[] lastNames = new int[1024];
+		private final List<String> names = new ArrayList<>();
+		private final Map<String, Integer> nameCodes = new HashMap<>();
+		private byte[] emails = new byte[32 * 1024];
+		private int[] emailOffsets = new int[1025];
+
+		private Builder() {
+		}
+
+		public Builder add(long id, String firstName, String lastName, String email, long version) {
+			if (this.size == this.ids.length) {
+				int capacity = this.size + (this.size >> 1);
+				this.ids = Arrays.copyOf(this.ids, capacity);
+				this.versions = Arrays.copyOf(this.versions, capacity);
+				this.firstNames = Arrays.copyOf(this.firstNames, capacity);
+				this.lastNames = Arrays.copyOf(this.lastNames, capacity);
+				this.emailOffsets = Arrays.copyOf(this.emailOffsets, capacity + 1);
+			}
+			byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+			int emailStart = this.emailOffsets[this.size];
+			if (emailStart + emailBytes.length > this.emails.length) {
+				this.emails = Arrays.copyOf(this.emails, Math.max(emailStart + emailBytes.length, this.emails.length + (this.emails.length >> 1)));
+			}
+			System.arraycopy(emailBytes, 0, this.emails, emailStart, emailBytes.length);
+			this.ids[this.size] = id;
+			this.versions[this.size] = version;
+			this.firstNames[this.size] = code(firstName);
+			this.lastNames[this.size] = code(lastName);
+			this.emailOffsets[this.size + 1] = emailStart + emailBytes.length;
+			this.size++;
+			return this;
+		}
+
+		public EmployeeSnapshot build() {
+			return new EmployeeSnapshot(this);
+		}
+
+		private int code(String name) {
+			Integer code = this.nameCodes.get(name);
+			if (code == null) {
+				code = this.names.size();
+				this.names.add(name);
+				this.nameCodes.put(name, code);
+			}
+			return code;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.dtechideas.restapitesting.snapshot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * Holds the current EmployeeSnapshot for GET /api/v1/employees?unpaged=true and the export, and replaces it every
+ * "refresh-interval" with a new one read through EmployeeRepository.forEachEmployeeRow(). Readers see the table as
+ * it was at the last refresh. Until the first refresh finished current() is null and callers read the database.
+ */
+public class EmployeeSnapshotStore implements InitializingBean, DisposableBean, MeterBinder {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSnapshotStore.class);
+
+	private final EmployeeRepository employeeRepository;
+	private final Duration refreshInterval;
+	private volatile EmployeeSnapshot snapshot;
+	private ScheduledExecutorService refresher;
+
+	public EmployeeSnapshotStore(EmployeeRepository employeeRepository, Duration refreshInterval) {
+		this.employeeRepository = employeeRepository;
+		this.refreshInterval = refreshInterval;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-snapshot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, this.refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		if (this.refresher != null) {
+			this.refresher.shutdownNow();
+			this.refresher.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	public EmployeeSnapshot current() {
+		return this.snapshot;
+	}
+
+	/* Readers switch to the new snapshot in one volatile write, refreshes do not overlap so an older scan never wins */
+	public synchronized EmployeeSnapshot refresh() {
+		EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder();
+		this.employeeRepository.forEachEmployeeRow(builder::add);
+		EmployeeSnapshot refreshed = builder.build();
+		this.snapshot = refreshed;
+		return refreshed;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("employees.snapshot.size", this, store -> store.snapshot == null ? 0 : store.snapshot.size())
+				.description("Employees in the current read-only snapshot")
+				.register(registry);
+		Gauge.builder("employees.snapshot.age", this, store -> store.snapshot == null ? Double.NaN
+				: Duration.between(store.snapshot.getCreatedAt(), Instant.now()).toMillis() / 1000.0)
+				.description("Seconds since the current read-only snapshot was taken")
+				.baseUnit("seconds")
+				.register(registry);
+	}
+
+	/* A failed refresh keeps serving the previous snapshot, the next schedule tries again */
+	private void refreshQuietly() {
+		try {
+			refresh();
+		} catch (RuntimeException exception) {
+			LOGGER.warn("Refreshing the employee snapshot failed, the previous one is still served", exception);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package com.dtechideas.restapitesting.writebehind;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Append-only log of accepted updates, one JSON line per update, split into segments. append() only writes, an update
+ * is on disk once sync() with its sequence returned. sync() is a group commit: the caller that gets to force the
+ * segment covers every update appended until then, the writers waiting behind it return without forcing again.
+ * roll() seals the current segment, sealed segments are deleted once their updates are in the database. On start-up
+ * all segments left over are replayed, later lines of an id win.
+ *
+ * Updates the database refused are appended to a dead letter file next to the segments, it is never replayed and
+ * kept for an operator to repair or re-apply by hand.
+ */
+class EmployeeUpdateLog implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeUpdateLog.class);
+
+	private static final String SEGMENT_PREFIX = "employee-updates-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	/* Outside the segment pattern, recover() must not pick it up */
+	static final String DEAD_LETTER_FILE = "dead-letter-employee-updates.log";
+
+	private final Path directory;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	/* Segments whose updates are not known to be in the database yet, oldest first */
+	private final List<Path> sealedSegments = new ArrayList<>();
+	private long nextSegmentNumber;
+	private FileChannel currentSegment;
+	/* Taken before this, held while forcing so appends go on and roll() cannot close the segment being forced */
+	private final Object syncLock = new Object();
+	private long appendedSequence;
+	/* Guarded by syncLock */
+	private long syncedSequence;
+
+	EmployeeUpdateLog(Path directory) {
+		this.directory = directory;
+	}
+
+	/* Seals the segments of a previous run and returns their updates, latest per id */
+	synchronized Map<Long, Employee> recover() {
+		Map<Long, Employee> employees = new LinkedHashMap<>();
+		try {
+			Files.createDirectories(this.directory);
+			List<Path> segments = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+				stream.forEach(segments::add);
+			}
+			Collections.sort(segments);
+			for (Path segment : segments) {
+				replay(segment, employees);
+				this.sealedSegments.add(segment);
+				this.nextSegmentNumber = Math.max(this.nextSegmentNumber, segmentNumber(segment) + 1);
+			}
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		return employees;
+	}
+
+	/* Returns the sequence to pass to sync(), the update must not be acknowledged before */
+	synchronized long append(Employee employee) {
+		try {
+			if (this.currentSegment == null) {
+				this.currentSegment = FileChannel.open(this.directory.resolve(segmentName(this.nextSegmentNumber++)),
+						StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			}
+			write(this.currentSegment, line(employee));
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		return ++this.appendedSequence;
+	}
+
+	void sync(long sequence) {
+		synchronized (this.syncLock) {
+			if (this.syncedSequence >= sequence) {
+				return;
+			}
+			FileChannel segment;
+			long appended;
+			synchronized (this) {
+				segment = this.currentSegment;
+				appended = this.appendedSequence;
+			}
+			/* No segment means roll() closed it, and forced it, after the update was appended */
+			if (segment != null) {
+				try {
+					segment.force(false);
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+			}
+			this.syncedSequence = appended;
+		}
+	}
+
+	/* Written before the segment holding the update may be deleted, the update is never lost */
+	synchronized void deadLetter(Employee employee, String reason) {
+		Map<String, Object> line = line(employee);
+		line.put("reason", reason);
+		try (FileChannel deadLetters = FileChannel.open(this.directory.resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			write(deadLetters, line);
+			deadLetters.force(false);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	/* Seals the current segment, the returned segments may be deleted once everything appended so far is flushed */
+	List<Path> roll() {
+		synchronized (this.syncLock) {
+			synchronized (this) {
+				if (this.currentSegment != null) {
+					closeCurrentSegment();
+					this.sealedSegments.add(this.directory.resolve(segmentName(this.nextSegmentNumber - 1)));
+				}
+				this.syncedSequence = this.appendedSequence;
+				return new ArrayList<>(this.sealedSegments);
+			}
+		}
+	}
+
+	synchronized void delete(List<Path> segments) {
+		for (Path segment : segments) {
+			try {
+				Files.deleteIfExists(segment);
+				this.sealedSegments.remove(segment);
+			} catch (IOException exception) {
+				/* Replaying it again later is harmless, the updates are idempotent */
+				LOGGER.warn("Could not delete flushed segment {}", segment, exception);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.currentSegment != null) {
+			closeCurrentSegment();
+		}
+	}
+
+	/* Forces what was appended but not synced yet, sync() relies on it */
+	private void closeCurrentSegment() {
+		try {
+			this.currentSegment.force(false);
+			this.currentSegment.close();
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		} finally {
+			this.currentSegment = null;
+		}
+	}
+
+	private void replay(Path segment, Map<Long, Employee> employees) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				Map<?, ?> values;
+				try {
+					values = this.objectMapper.readValue(line, Map.class);
+				} catch (IOException exception) {
+					/* Only the last line can be torn by a crash, and its update was never acknowledged */
+					LOGGER.warn("Skipping unreadable line in {}", segment);
+					continue;
+				}
+				Employee employee = new Employee(((Number) values.get("id")).longValue(), (String) values.get("firstName"),
+						(String) values.get("lastName"), (String) values.get("email"));
+				employee.setVersion(((Number) values.get("version")).longValue());
+				employees.remove(employee.getId());
+				employees.put(employee.getId(), employee);
+			}
+		}
+	}
+
+	private Map<String, Object> line(Employee employee) {
+		Map<String, Object> line = new LinkedHashMap<>();
+		line.put("id", employee.getId());
+		line.put("firstName", employee.getFirstName());
+		line.put("lastName", employee.getLastName());
+		line.put("email", employee.getEmail());
+		line.put("version", employee.getVersion());
+		return line;
+	}
+
+	private void write(FileChannel channel, Map<String, Object> line) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap((this.objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8));
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static String segmentName(long number) {
+		return String.format("%s%019d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+	}
+
+	private static long segmentNumber(Path segment) {
+		String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+}
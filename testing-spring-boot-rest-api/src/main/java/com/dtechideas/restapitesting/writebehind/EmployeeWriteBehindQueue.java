@@ -0,0 +1,243 @@
+package com.dtechideas.restapitesting.writebehind;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * Write-behind buffer for updateEmployee(). An update is acknowledged once it is on disk in the EmployeeUpdateLog, later
+ * updates of the same id replace it, and the latest state of every pending id is written every "flush-interval" or
+ * as soon as "max-pending" ids are waiting, "batch-size" ids per transaction. EmployeeChangedEvent is published when
+ * the write committed, caches and the email index follow the database as before.
+ *
+ * Reads consult pending first, then the ids of a flush in progress, then the database. A flush that fails keeps its
+ * ids and log segments and is retried with the next one. An email another pending update already took is refused
+ * when the update is accepted. One that still violates the unique constraint when it is flushed, because a create or
+ * a racing update took the email first, cannot be retried into success: it goes to the dead letter file of the
+ * EmployeeUpdateLog and is counted in "employees.write.behind.dead.letters". So does an update whose employee was
+ * written with a newer version meanwhile, writing it would silently undo that write.
+ */
+public class EmployeeWriteBehindQueue implements InitializingBean, DisposableBean, MeterBinder {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeWriteBehindQueue.class);
+
+	private final EmployeeRepository employeeRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EmployeeUpdateLog updateLog;
+	private final Duration flushInterval;
+	private final int maxPending;
+	private final int batchSize;
+	/* Accepted since the last flush started, guarded by this for writers */
+	private final ConcurrentMap<Long, Employee> pending = new ConcurrentHashMap<>();
+	/* Taken by the running (or last failed) flush, only the flushing thread removes from it */
+	private final ConcurrentMap<Long, Employee> flushing = new ConcurrentHashMap<>();
+	private final Object flushLock = new Object();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final LongAdder deadLetters = new LongAdder();
+	private ScheduledExecutorService flusher;
+
+	public EmployeeWriteBehindQueue(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+			ApplicationEventPublisher eventPublisher, Path logDirectory, Duration flushInterval, int maxPending, int batchSize) {
+		this.employeeRepository = employeeRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.eventPublisher = eventPublisher;
+		this.updateLog = new EmployeeUpdateLog(logDirectory);
+		this.flushInterval = flushInterval;
+		this.maxPending = maxPending;
+		this.batchSize = batchSize;
+	}
+
+	/* Updates acknowledged before a crash or shutdown are pending again and flushed with the first schedule */
+	@Override
+	public void afterPropertiesSet() {
+		this.pending.putAll(this.updateLog.recover());
+		this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.flusher.scheduleWithFixedDelay(this::flushQuietly, this.flushInterval.toMillis(), this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/* Stops the schedule and writes what is left, updates that still fail stay in the log for the next start */
+	@Override
+	public void destroy() throws InterruptedException {
+		if (this.flusher != null) {
+			this.flusher.shutdown();
+			this.flusher.awaitTermination(this.flushInterval.toMillis() + 10_000, TimeUnit.MILLISECONDS);
+		}
+		flushQuietly();
+		this.updateLog.close();
+	}
+
+	/*
+	 * The employee carries the state and version reads should see until it is written. A version not past the one of a
+	 * pending update of the id, from two updates racing on the same base, is raised so no two updates share an ETag.
+	 *
+	 * The update is appended under the lock, which keeps the log in the order of pending, and forced to disk after it,
+	 * one fsync for every update appended meanwhile. Returning is the acknowledgement, it waits for that fsync. Readers
+	 * may see the update a moment before, if the fsync fails the caller gets the error but the update is still written.
+	 */
+	public void enqueue(Employee employee) {
+		long sequence;
+		synchronized (this) {
+			Employee pendingEmployee = get(employee.getId());
+			if (pendingEmployee != null && pendingEmployee.getVersion() >= employee.getVersion()) {
+				employee.setVersion(pendingEmployee.getVersion() + 1);
+			}
+			sequence = this.updateLog.append(employee);
+			this.pending.put(employee.getId(), employee);
+		}
+		this.updateLog.sync(sequence);
+		if (this.pending.size() >= this.maxPending && this.flushRequested.compareAndSet(false, true)) {
+			this.flusher.execute(this::flushQuietly);
+		}
+	}
+
+	/* The state of an accepted update that is not in the database yet, or null */
+	public Employee get(Long id) {
+		Employee employee = this.pending.get(id);
+		return employee != null ? employee : this.flushing.get(id);
+	}
+
+	/* Whether an update of another id not in the database yet sets the email, a linear scan bounded by max-pending */
+	public boolean isEmailPendingForOther(Long id, String email) {
+		return isEmailTakenIn(this.pending, id, email) || isEmailTakenIn(this.flushing, id, email);
+	}
+
+	private static boolean isEmailTakenIn(Map<Long, Employee> employees, Long id, String email) {
+		for (Employee employee : employees.values()) {
+			if (!employee.getId().equals(id) && employee.getEmail().equals(email)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean isEmpty() {
+		return this.pending.isEmpty() && this.flushing.isEmpty();
+	}
+
+	public int size() {
+		return this.pending.size() + this.flushing.size();
+	}
+
+	/* Writes every update accepted before the call, callers needing the database to be current call it first */
+	public void flush() {
+		synchronized (this.flushLock) {
+			this.flushRequested.set(false);
+			List<Path> segments;
+			synchronized (this) {
+				segments = this.updateLog.roll();
+				/* Put before remove, a concurrent get() finds the update in one of the two maps */
+				this.flushing.putAll(this.pending);
+				this.pending.clear();
+			}
+			List<Employee> employees = new ArrayList<>(this.flushing.values());
+			for (int chunkStart = 0; chunkStart < employees.size(); chunkStart += this.batchSize) {
+				List<Employee> chunk = employees.subList(chunkStart, Math.min(chunkStart + this.batchSize, employees.size()));
+				try {
+					deadLetterOvertaken(this.transactionTemplate.execute(status -> write(chunk)));
+				} catch (DataIntegrityViolationException exception) {
+					/* The chunk was rolled back, write it one by one to find the update that cannot be applied */
+					for (Employee employee : chunk) {
+						try {
+							deadLetterOvertaken(this.transactionTemplate.execute(status -> write(Collections.singletonList(employee))));
+						} catch (DataIntegrityViolationException itemException) {
+							deadLetter(employee, itemException.getMostSpecificCause().getMessage());
+						}
+					}
+				}
+				/* Conditional, an update of the same id accepted meanwhile is in pending and must stay visible there */
+				for (Employee employee : chunk) {
+					this.flushing.remove(employee.getId(), employee);
+				}
+			}
+			this.updateLog.delete(segments);
+		}
+	}
+
+	/*
+	 * The version is set to the one the last coalesced update was acknowledged with, @Version on a managed entity would
+	 * only bump it once per flush and reuse ETags already handed out. A row already at that version holds the update,
+	 * replayed after a crash, and ids deleted meanwhile are skipped. Returns the updates a newer version overtook, they
+	 * are dead-lettered once the transaction is over so a rolled back chunk does not record them twice.
+	 */
+	private List<Employee> write(List<Employee> employees) {
+		List<Employee> overtaken = new ArrayList<>();
+		for (Employee employee : employees) {
+			if (this.employeeRepository.updateToVersion(employee.getId(), employee.getVersion(), employee.getFirstName(),
+					employee.getLastName(), employee.getEmail()) > 0) {
+				this.eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee));
+			} else {
+				Optional<Long> version = this.employeeRepository.findVersionById(employee.getId());
+				if (version.isPresent() && version.get() > employee.getVersion()) {
+					overtaken.add(employee);
+				}
+			}
+		}
+		return overtaken;
+	}
+
+	private void deadLetterOvertaken(List<Employee> overtaken) {
+		for (Employee employee : overtaken) {
+			deadLetter(employee, "Employee was written with a newer version before the update of version " + employee.getVersion());
+		}
+	}
+
+	private void deadLetter(Employee employee, String reason) {
+		LOGGER.error("Moving write-behind update of employee {} to the dead letter file: {}", employee.getId(), reason);
+		this.updateLog.deadLetter(employee, reason);
+		this.deadLetters.increment();
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException exception) {
+			/* Keep the schedule alive, the updates are still pending and in the log */
+			LOGGER.warn("Flushing write-behind employee updates failed", exception);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("employees.write.behind.pending", this, EmployeeWriteBehindQueue::size)
+				.description("Employee updates acknowledged but not written to the database yet")
+				.register(registry);
+		FunctionCounter.builder("employees.write.behind.dead.letters", this.deadLetters, LongAdder::sum)
+				.description("Acknowledged employee updates the database refused, kept in the dead letter file")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,5 @@
+-- Run once before the first node with EmployeeIdGenerator starts, and again after any import that wrote ids directly.
+-- It moves hibernate_sequence.next_val past every id already stored in employees, so the blocks reserved by the
+-- pooled-lo optimizer can never collide with existing rows. The statement only ever raises next_val, re-running it is safe.
+UPDATE hibernate_sequence
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM employees));
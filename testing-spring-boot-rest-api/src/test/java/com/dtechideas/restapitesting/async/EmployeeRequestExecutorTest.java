@@ -0,0 +1,58 @@
+package com.dtechideas.restapitesting.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeRequestExecutorTest {
+
+	private EmployeeRequestExecutor employeeRequestExecutor;
+
+	@BeforeEach
+	public void setUp() {
+		employeeRequestExecutor = EmployeeRequestExecutor.bounded(1, 1);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		employeeRequestExecutor.shutdown();
+	}
+
+	@Test
+	@DisplayName("JUnit test for request executor - rejects once pool and queue are full")
+	public void givenFullExecutor_whenExecute_thenRejectUntilATaskCompletes() throws Exception {
+		// given - precondition or setup
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(2);
+		Runnable blockingTask = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			}
+			finished.countDown();
+		};
+		employeeRequestExecutor.execute(blockingTask);
+		employeeRequestExecutor.execute(blockingTask);
+		// when - action or the behaviour
+		assertThrows(RejectedExecutionException.class, () -> {
+			employeeRequestExecutor.execute(() -> { });
+		});
+		int inFlight = employeeRequestExecutor.inFlight();
+		release.countDown();
+		// then - verify the output
+		assertThat(inFlight).isEqualTo(2);
+		assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+		CountDownLatch accepted = new CountDownLatch(1);
+		employeeRequestExecutor.execute(accepted::countDown);
+		assertThat(accepted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+}
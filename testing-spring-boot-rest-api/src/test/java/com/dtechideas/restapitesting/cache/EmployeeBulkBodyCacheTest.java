@@ -0,0 +1,116 @@
+package com.dtechideas.restapitesting.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.dtechideas.restapitesting.converter.ContentCoding;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeBulkBodyCacheTest {
+
+	@Mock
+	private EmployeeService employeeService;
+
+	private ObjectMapper objectMapper;
+
+	private EmployeeBulkBodyCache employeeBulkBodyCache;
+
+	private List<Employee> employees;
+
+	@BeforeEach
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+		employeeBulkBodyCache = new EmployeeBulkBodyCache(employeeService, objectMapper, DataSize.ofKilobytes(2));
+		employees = new ArrayList<>();
+		for (long id = 1; id <= 50; id++) {
+			employees.add(new Employee(id, "Richard", "Parker" + id, "richard.parker" + id + "@dtechideas.com"));
+		}
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - the same version is compressed once")
+	public void givenVersionedEmployees_whenGetAllEmployeesTwice_thenCompressOnce() throws Exception {
+		// given - precondition or setup
+		given(employeeService.getEmployeesVersion()).willReturn(OptionalLong.of(1));
+		given(employeeService.getAllEmployees()).willReturn(employees);
+		// when - action or the behaviour
+		Optional<byte[]> body = employeeBulkBodyCache.getAllEmployees(MediaType.APPLICATION_JSON, ContentCoding.GZIP);
+		Optional<byte[]> cachedBody = employeeBulkBodyCache.getAllEmployees(MediaType.APPLICATION_JSON, ContentCoding.GZIP);
+		// then - verify the output
+		assertThat(cachedBody.get()).isSameAs(body.get());
+		assertThat(gunzip(body.get())).isEqualTo(objectMapper.writeValueAsBytes(employees));
+		assertThat(employeeBulkBodyCache.getSize()).isEqualTo(body.get().length);
+		verify(employeeService, times(1)).getAllEmployees();
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - a new version is compressed again")
+	public void givenCachedBody_whenVersionChanges_thenCompressAgain() throws Exception {
+		// given - precondition or setup
+		given(employeeService.getEmployeesVersion()).willReturn(OptionalLong.of(1), OptionalLong.of(2));
+		given(employeeService.getAllEmployees()).willReturn(employees, employees.subList(0, 40));
+		byte[] body = employeeBulkBodyCache.getAllEmployees(MediaType.APPLICATION_JSON, ContentCoding.GZIP).get();
+		// when - action or the behaviour
+		byte[] newBody = employeeBulkBodyCache.getAllEmployees(MediaType.APPLICATION_JSON, ContentCoding.GZIP).get();
+		// then - verify the output
+		assertThat(newBody).isNotEqualTo(body);
+		assertThat(gunzip(newBody)).isEqualTo(objectMapper.writeValueAsBytes(employees.subList(0, 40)));
+		assertThat(employeeBulkBodyCache.getSize()).isEqualTo(newBody.length);
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - rows without version are not cached")
+	public void givenUnversionedEmployees_whenGetAllEmployees_thenReturnEmpty() {
+		// given - precondition or setup
+		given(employeeService.getEmployeesVersion()).willReturn(OptionalLong.empty());
+		// when - action or the behaviour
+		Optional<byte[]> body = employeeBulkBodyCache.getAllEmployees(MediaType.APPLICATION_JSON, ContentCoding.GZIP);
+		// then - verify the output
+		assertThat(body).isEmpty();
+		verify(employeeService, times(0)).getAllEmployees();
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - bodies below min-response-size are not compressed")
+	public void givenSmallBody_whenGet_thenReturnEmpty() {
+		// given - precondition or setup
+		given(employeeService.getEmployeesVersion()).willReturn(OptionalLong.of(1));
+		// when - action or the behaviour
+		Optional<byte[]> body = employeeBulkBodyCache.get("export", ContentCoding.DEFLATE, outputStream -> outputStream.write(new byte[100]));
+		Optional<byte[]> cachedBody = employeeBulkBodyCache.get("export", ContentCoding.DEFLATE, outputStream -> {
+			throw new AssertionError("the body was already written for this version");
+		});
+		// then - verify the output
+		assertThat(body).isEmpty();
+		assertThat(cachedBody).isEmpty();
+	}
+
+	private static byte[] gunzip(byte[] body) throws Exception {
+		try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return StreamUtils.copyToByteArray(inputStream);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.dtechideas.restapitesting.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EmployeeCacheTest {
+
+	private EmployeeCache employeeCache;
+
+	private Employee employee;
+
+	private AtomicInteger loads;
+
+	@BeforeEach
+	public void setUp() {
+		employeeCache = new EmployeeCache(100, Duration.ofMinutes(1), 100, Duration.ofMillis(50));
+		employee = new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com");
+		loads = new AtomicInteger();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		employeeCache = null;
+		employee = null;
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - updated employee is reloaded")
+	public void givenCachedEmployee_whenEmployeeUpdated_thenNextGetLoadsAgain() {
+		// given - precondition or setup
+		employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		Employee updatedEmployee = new Employee(1L, "Sudhakar", "Dhandapani", "sudhakar.dhandapani@dtechideas.com");
+		// when - action or the behaviour
+		employeeCache.onEmployeeChanged(EmployeeChangedEvent.updated(updatedEmployee));
+		Optional<Employee> foundEmployee = employeeCache.get(employee.getId(), loader(Optional.of(updatedEmployee)));
+		// then - verify the output
+		assertThat(foundEmployee).containsSame(updatedEmployee);
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - deleted employee is not served")
+	public void givenCachedEmployee_whenEmployeeDeleted_thenNextGetIsEmpty() {
+		// given - precondition or setup
+		employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		// when - action or the behaviour
+		employeeCache.onEmployeeChanged(EmployeeChangedEvent.deleted(employee.getId()));
+		Optional<Employee> foundEmployee = employeeCache.get(employee.getId(), loader(Optional.empty()));
+		// then - verify the output
+		assertThat(foundEmployee).isEmpty();
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - missing id expires after the short TTL")
+	public void givenMissingEmployee_whenNegativeEntryExpires_thenLoadAgain() throws InterruptedException {
+		// given - precondition or setup
+		employeeCache.get(employee.getId(), loader(Optional.empty()));
+		employeeCache.get(employee.getId(), loader(Optional.empty()));
+		assertThat(loads.get()).isEqualTo(1);
+		// when - action or the behaviour
+		Thread.sleep(100);
+		Optional<Employee> foundEmployee = employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		// then - verify the output
+		assertThat(foundEmployee).containsSame(employee);
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for created employee - remembered missing id is forgotten")
+	public void givenMissingEmployee_whenEmployeeCreated_thenLoadAgain() {
+		// given - precondition or setup
+		employeeCache.get(employee.getId(), loader(Optional.empty()));
+		// when - action or the behaviour
+		employeeCache.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+		Optional<Employee> foundEmployee = employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		// then - verify the output
+		assertThat(foundEmployee).containsSame(employee);
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - a miss racing with a create is not remembered")
+	public void givenEmployeeCreatedDuringLoad_whenGetMisses_thenNextGetLoadsAgain() throws InterruptedException {
+		// given - precondition or setup
+		Thread creator = new Thread(() -> employeeCache.onEmployeeChanged(EmployeeChangedEvent.created(employee)));
+		Optional<Employee> missingEmployee = employeeCache.get(employee.getId(), id -> {
+			/* The create commits after the loader's query, its invalidation waits for the load to finish */
+			creator.start();
+			long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+			while ((creator.getState() == Thread.State.NEW || creator.getState() == Thread.State.RUNNABLE) && System.nanoTime() < deadline) {
+				Thread.yield();
+			}
+			return Optional.empty();
+		});
+		creator.join();
+		// when - action or the behaviour
+		Optional<Employee> foundEmployee = employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		// then - verify the output
+		assertThat(missingEmployee).isEmpty();
+		assertThat(foundEmployee).containsSame(employee);
+	}
+
+	@Test
+	@DisplayName("JUnit test for cache metrics")
+	public void givenHitAndMiss_whenBoundToRegistry_thenPublishCounters() {
+		// given - precondition or setup
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		employeeCache.bindTo(registry);
+		// when - action or the behaviour
+		employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		employeeCache.get(employee.getId(), loader(Optional.of(employee)));
+		// then - verify the output
+		assertThat(registry.get("cache.gets").tag("cache", "employees").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.gets").tag("cache", "employees").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.evictions").tag("cache", "employees").functionCounter()).isNotNull();
+	}
+
+	private Function<Long, Optional<Employee>> loader(Optional<Employee> result) {
+		return id -> {
+			loads.incrementAndGet();
+			return result;
+		};
+	}
+}
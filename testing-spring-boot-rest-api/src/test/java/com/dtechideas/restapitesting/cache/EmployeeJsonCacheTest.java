@@ -0,0 +1,96 @@
+package com.dtechideas.restapitesting.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class EmployeeJsonCacheTest {
+
+	private ObjectMapper objectMapper;
+
+	private EmployeeJsonCache employeeJsonCache;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+		employeeJsonCache = new EmployeeJsonCache(objectMapper, DataSize.ofKilobytes(64));
+		employee = new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		employeeJsonCache = null;
+		employee = null;
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - same version is served from the cache")
+	public void givenCachedEmployee_whenGetSameVersion_thenReturnCachedJson() throws Exception {
+		// given - precondition or setup
+		byte[] cachedJson = employeeJsonCache.get(employee);
+		// when - action or the behaviour
+		byte[] json = employeeJsonCache.get(employee);
+		// then - verify the output
+		assertThat(json).isSameAs(cachedJson);
+		assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(employee));
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - a new version is serialized again")
+	public void givenCachedEmployee_whenVersionChanges_thenSerializeAgain() throws Exception {
+		// given - precondition or setup
+		employeeJsonCache.get(employee);
+		Employee updatedEmployee = new Employee(1L, "Sudhakar", "Dhandapani", "sudhakar.dhandapani@dtechideas.com", 1L);
+		// when - action or the behaviour
+		byte[] json = employeeJsonCache.get(updatedEmployee);
+		// then - verify the output
+		assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(updatedEmployee));
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - fields changed under the same version are serialized again")
+	public void givenCachedEmployee_whenFieldsChangeUnderSameVersion_thenSerializeAgain() throws Exception {
+		// given - precondition or setup
+		employeeJsonCache.get(employee);
+		/* a write-behind update coalesced with a pending one keeps its version */
+		Employee pendingEmployee = new Employee(1L, "Sudhakar", "Dhandapani", employee.getEmail(), employee.getVersion());
+		// when - action or the behaviour
+		byte[] json = employeeJsonCache.get(pendingEmployee);
+		// then - verify the output
+		assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(pendingEmployee));
+	}
+
+	@Test
+	@DisplayName("JUnit test for getWeightedSize operation - an entry weighs its body, its fields and a fixed overhead")
+	public void givenCachedEmployee_whenGetWeightedSize_thenCountMoreThanTheBody() {
+		// given - precondition or setup
+		byte[] json = employeeJsonCache.get(employee);
+		int fieldChars = employee.getFirstName().length() + employee.getLastName().length() + employee.getEmail().length();
+		// when - action or the behaviour
+		long weightedSize = employeeJsonCache.getWeightedSize();
+		// then - verify the output
+		assertThat(weightedSize).isEqualTo(EmployeeJsonCache.ENTRY_OVERHEAD + json.length + 2L * fieldChars);
+	}
+
+	@Test
+	@DisplayName("JUnit test for get operation - deleted employee is evicted")
+	public void givenCachedEmployee_whenEmployeeDeleted_thenSerializeAgain() {
+		// given - precondition or setup
+		byte[] cachedJson = employeeJsonCache.get(employee);
+		// when - action or the behaviour
+		employeeJsonCache.onEmployeeChanged(EmployeeChangedEvent.deleted(employee.getId()));
+		byte[] json = employeeJsonCache.get(employee);
+		// then - verify the output
+		assertThat(json).isNotSameAs(cachedJson).isEqualTo(cachedJson);
+	}
+}
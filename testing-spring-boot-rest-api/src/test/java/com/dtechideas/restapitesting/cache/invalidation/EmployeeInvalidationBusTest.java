@@ -0,0 +1,119 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtechideas.restapitesting.cache.EmployeeCache;
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.index.EmployeeEmailIndex;
+import com.dtechideas.restapitesting.index.EmployeeNameIndex;
+import com.dtechideas.restapitesting.model.Employee;
+
+public class EmployeeInvalidationBusTest {
+
+	private EmployeeCache cacheOnNodeA;
+	private EmployeeCache cacheOnNodeB;
+	private EmployeeInvalidationBus busOnNodeA;
+	private EmployeeInvalidationBus busOnNodeB;
+	private Employee employee;
+	private AtomicInteger loadsOnNodeB;
+	/* What node B reads from the primary when another node invalidates an id */
+	private Map<Long, Employee> primaryOfNodeB;
+
+	@BeforeEach
+	public void setUp() {
+		// two nodes sharing one in-JVM transport
+		LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+		cacheOnNodeA = new EmployeeCache(100, Duration.ofHours(1), 100, Duration.ofSeconds(5));
+		cacheOnNodeB = new EmployeeCache(100, Duration.ofHours(1), 100, Duration.ofSeconds(5));
+		primaryOfNodeB = new HashMap<>();
+		busOnNodeA = new EmployeeInvalidationBus("node-a", transport, cacheOnNodeA, id -> Optional.empty());
+		busOnNodeB = new EmployeeInvalidationBus("node-b", transport, cacheOnNodeB, id -> Optional.ofNullable(primaryOfNodeB.get(id)));
+		employee = new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com");
+		loadsOnNodeB = new AtomicInteger();
+	}
+
+	@Test
+	@DisplayName("JUnit test for invalidation bus - update on one node evicts the other node")
+	public void givenEmployeeCachedOnBothNodes_whenUpdatedOnNodeA_thenNodeBReloads() {
+		// given - precondition or setup
+		cacheOnNodeA.get(employee.getId(), id -> Optional.of(employee));
+		readOnNodeB(employee);
+		Employee updatedEmployee = new Employee(1L, "Sudhakar", "Dhandapani", "sudhakar.dhandapani@dtechideas.com");
+		// when - action or the behaviour
+		cacheOnNodeA.onEmployeeChanged(EmployeeChangedEvent.updated(updatedEmployee));
+		busOnNodeA.onEmployeeChanged(EmployeeChangedEvent.updated(updatedEmployee));
+		Optional<Employee> foundOnNodeB = readOnNodeB(updatedEmployee);
+		// then - verify the output
+		assertThat(foundOnNodeB).containsSame(updatedEmployee);
+		assertThat(loadsOnNodeB.get()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for invalidation bus - unrelated ids stay cached")
+	public void givenEmployeeCachedOnNodeB_whenOtherEmployeeDeletedOnNodeA_thenNodeBServesFromCache() {
+		// given - precondition or setup
+		readOnNodeB(employee);
+		// when - action or the behaviour
+		busOnNodeA.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+		readOnNodeB(employee);
+		// then - verify the output
+		assertThat(loadsOnNodeB.get()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for invalidation bus - indexes of the other node follow updates and deletes")
+	public void givenIndexesOnNodeB_whenEmployeesChangedOnNodeA_thenNodeBIndexesFollow() {
+		// given - precondition or setup
+		EmployeeEmailIndex emailIndexOnNodeB = new EmployeeEmailIndex();
+		EmployeeNameIndex nameIndexOnNodeB = new EmployeeNameIndex();
+		emailIndexOnNodeB.setInvalidationBus(busOnNodeB);
+		nameIndexOnNodeB.setInvalidationBus(busOnNodeB);
+		Employee deletedEmployee = new Employee(2L, "Arun", "Kumar", "arun.kumar@dtechideas.com");
+		for (Employee indexed : new Employee[] { employee, deletedEmployee }) {
+			emailIndexOnNodeB.put(indexed);
+			nameIndexOnNodeB.put(indexed);
+		}
+		Employee updatedEmployee = new Employee(1L, "Sudhakar", "Dhandapani", "sudhakar.dhandapani@dtechideas.com");
+		primaryOfNodeB.put(1L, updatedEmployee);
+		// when - action or the behaviour
+		busOnNodeA.onEmployeeChanged(EmployeeChangedEvent.updated(updatedEmployee));
+		busOnNodeA.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+		// then - verify the output
+		assertThat(emailIndexOnNodeB.contains("sudhakar.dhandapani@dtechideas.com")).isTrue();
+		assertThat(emailIndexOnNodeB.contains(employee.getEmail())).isFalse();
+		assertThat(emailIndexOnNodeB.contains(deletedEmployee.getEmail())).isFalse();
+		assertThat(nameIndexOnNodeB.search("sudhakar", 10)).containsExactly(1L);
+		assertThat(nameIndexOnNodeB.search("arun", 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("JUnit test for invalidation bus - a node's own changes are not read again")
+	public void givenSubscriberOnNodeA_whenEmployeeChangedOnNodeA_thenSubscriberIsNotCalled() {
+		// given - precondition or setup
+		List<EmployeeChangedEvent> remoteChanges = new ArrayList<>();
+		busOnNodeA.subscribeToRemoteChanges(remoteChanges::add);
+		// when - action or the behaviour
+		busOnNodeA.onEmployeeChanged(EmployeeChangedEvent.deleted(employee.getId()));
+		// then - verify the output
+		assertThat(remoteChanges).isEmpty();
+	}
+
+	private Optional<Employee> readOnNodeB(Employee result) {
+		return cacheOnNodeB.get(result.getId(), id -> {
+			loadsOnNodeB.incrementAndGet();
+			return Optional.of(result);
+		});
+	}
+}
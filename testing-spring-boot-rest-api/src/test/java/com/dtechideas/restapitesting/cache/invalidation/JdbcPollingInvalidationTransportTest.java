@@ -0,0 +1,74 @@
+package com.dtechideas.restapitesting.cache.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class JdbcPollingInvalidationTransportTest {
+
+	private EmbeddedDatabase database;
+	private JdbcPollingInvalidationTransport transportOnNodeA;
+	private JdbcPollingInvalidationTransport transportOnNodeB;
+	private List<EmployeeInvalidation> receivedOnNodeB;
+
+	@BeforeEach
+	public void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		// polling is driven by the test, the scheduled poll never fires
+		transportOnNodeA = new JdbcPollingInvalidationTransport(database, Duration.ofHours(1), Duration.ofSeconds(10), Duration.ofMinutes(10));
+		transportOnNodeA.afterPropertiesSet();
+		transportOnNodeB = new JdbcPollingInvalidationTransport(database, Duration.ofHours(1), Duration.ofSeconds(10), Duration.ofMinutes(10));
+		transportOnNodeB.afterPropertiesSet();
+		receivedOnNodeB = new CopyOnWriteArrayList<>();
+		transportOnNodeB.subscribe(receivedOnNodeB::add);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		transportOnNodeA.destroy();
+		transportOnNodeB.destroy();
+		database.shutdown();
+	}
+
+	@Test
+	@DisplayName("JUnit test for jdbc transport - published invalidation reaches the other node once")
+	public void givenInvalidationPublishedOnNodeA_whenNodeBPolls_thenDeliverItOnce() {
+		// given - precondition or setup
+		transportOnNodeA.publish(new EmployeeInvalidation("node-a", 42L));
+		// when - action or the behaviour
+		transportOnNodeB.poll();
+		transportOnNodeB.poll();
+		// then - verify the output
+		assertThat(receivedOnNodeB).hasSize(1);
+		assertThat(receivedOnNodeB.get(0).getEmployeeId()).isEqualTo(42L);
+		assertThat(receivedOnNodeB.get(0).getOriginNodeId()).isEqualTo("node-a");
+	}
+
+	@Test
+	@DisplayName("JUnit test for jdbc transport - row committed late behind a newer one is still delivered")
+	public void givenRowCommittedOutOfOrder_whenNodeBPolls_thenDeliverItFromTheGap() {
+		// given - precondition or setup
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.update("insert into employee_invalidations (id, employee_id, origin_node, created_at) values (1, 10, 'node-a', current_timestamp)");
+		jdbcTemplate.update("insert into employee_invalidations (id, employee_id, origin_node, created_at) values (3, 30, 'node-a', current_timestamp)");
+		transportOnNodeB.poll();
+		assertThat(transportOnNodeB.trackedGaps()).isEqualTo(1);
+		// when - action or the behaviour
+		jdbcTemplate.update("insert into employee_invalidations (id, employee_id, origin_node, created_at) values (2, 20, 'node-a', current_timestamp)");
+		transportOnNodeB.poll();
+		// then - verify the output
+		assertThat(receivedOnNodeB).extracting(EmployeeInvalidation::getEmployeeId).containsExactly(10L, 30L, 20L);
+		assertThat(transportOnNodeB.trackedGaps()).isZero();
+	}
+}
@@ -0,0 +1,116 @@
+package com.dtechideas.restapitesting.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.dtechideas.restapitesting.async.EmployeeRequestExecutor;
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
+import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Import({ EmployeeJsonCache.class, EmployeeBulkBodyCache.class, EmployeeHandlers.class })
+@WebMvcTest(controllers = AsyncEmployeeController.class, properties = "employees.async.enabled=true")
+public class AsyncEmployeeControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@MockBean
+	private EmployeeService employeeService;
+
+	@MockBean
+	private EmployeeRequestExecutor employeeRequestExecutor;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setUp() {
+		employee = new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com");
+		// run the submitted work on the calling thread
+		willAnswer(invocation -> {
+			invocation.getArgument(0, Runnable.class).run();
+			return null;
+		}).given(employeeRequestExecutor).execute(any(Runnable.class));
+	}
+
+	@Test
+	@DisplayName("JUnit test for asynchronous getEmployeeById operation")
+	public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeAsynchronously() throws Exception {
+		// given - precondition or setup
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		MvcResult mvcResult = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+		.andExpect(jsonPath("$.email", is(employee.getEmail())));
+	}
+
+	@Test
+	@DisplayName("JUnit test for asynchronous getEmployeeById operation - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnNotFoundAsynchronously() throws Exception {
+		// given - precondition or setup
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.empty());
+		// when - action or the behaviour
+		MvcResult mvcResult = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isNotFound());
+	}
+
+	@Test
+	@DisplayName("JUnit test for asynchronous createEmployee operation - executor full")
+	public void givenFullExecutor_whenCreateEmployee_thenReturnTooManyRequests() throws Exception {
+		// given - precondition or setup
+		willThrow(new RejectedExecutionException()).given(employeeRequestExecutor).execute(any(Runnable.class));
+		given(employeeRequestExecutor.getMaxInFlight()).willReturn(110);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employee)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isTooManyRequests())
+		.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+		.andExpect(jsonPath("$.message", is("Too many Employee requests, 110 are already in flight")));
+	}
+}
@@ -0,0 +1,80 @@
+package com.dtechideas.restapitesting.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeBatchResult;
+import com.dtechideas.restapitesting.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Import({ EmployeeJsonCache.class, EmployeeBulkBodyCache.class, EmployeeHandlers.class })
+@WebMvcTest
+public class EmployeeBatchControllerTest {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeService employeeService;
+
+	@Test
+	@DisplayName("JUnit test for createEmployees batch operation")
+	public void givenEmployeesList_whenCreateEmployees_thenReturnOutcomePerItem() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		Employee savedEmployee1 = new Employee(1L, "Richard", "Parker", "richard.parker@dtechideas.com");
+		given(employeeService.saveEmployees(anyList())).willReturn(List.of(
+				new EmployeeBatchResult(0, EmployeeBatchResult.Status.CREATED, savedEmployee1, null),
+				new EmployeeBatchResult(1, EmployeeBatchResult.Status.ALREADY_EXISTS, null, "already exists")));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(this.objectMapper.writeValueAsBytes(List.of(employee1, employee2))));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(2)))
+		.andExpect(jsonPath("$[0].status", is("CREATED")))
+		.andExpect(jsonPath("$[0].employee.id", is(1)))
+		.andExpect(jsonPath("$[1].index", is(1)))
+		.andExpect(jsonPath("$[1].status", is("ALREADY_EXISTS")));
+	}
+
+	@Test
+	@DisplayName("JUnit test for deleteEmployees bulk operation")
+	public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+		// given - precondition or setup
+		given(employeeService.deleteEmployeesByIds(List.of(1L, 2L, 3L))).willReturn(2);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(delete("/api/v1/employees").param("ids", "1,2,3"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(content().string("2 employees deleted successfully"));
+	}
+}
@@ -0,0 +1,149 @@
+package com.dtechideas.restapitesting.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
+import com.dtechideas.restapitesting.converter.EmployeeCbor;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+/* Round trips of Employee and List<Employee> as application/cbor, JSON stays the default */
+@Import({ EmployeeJsonCache.class, EmployeeBulkBodyCache.class, EmployeeHandlers.class })
+@WebMvcTest
+public class EmployeeCborControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeService employeeService;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setUp() {
+		employee = new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com");
+		employee.setVersion(3L);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		employee = null;
+	}
+
+	@Test
+	@DisplayName("JUnit test for createEmployee operation - CBOR request and response")
+	public void givenCborEmployee_whenCreateEmployee_thenReturnCborSavedEmployee() throws Exception {
+		// given - precondition or setup
+		Employee newEmployee = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> {
+			Employee savedEmployee = invocation.getArgument(0);
+			savedEmployee.setId(2L);
+			return savedEmployee;
+		});
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees")
+				.contentType(MediaType.APPLICATION_CBOR)
+				.accept(MediaType.APPLICATION_CBOR)
+				.content(EmployeeCbor.encode(newEmployee)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isCreated())
+		.andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+		Employee savedEmployee = EmployeeCbor.decodeEmployee(response.andReturn().getResponse().getContentAsByteArray());
+		assertThat(savedEmployee.getId()).isEqualTo(2L);
+		assertThat(savedEmployee.getFirstName()).isEqualTo(newEmployee.getFirstName());
+		assertThat(savedEmployee.getLastName()).isEqualTo(newEmployee.getLastName());
+		assertThat(savedEmployee.getEmail()).isEqualTo(newEmployee.getEmail());
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - CBOR response")
+	public void givenEmployeeId_whenGetEmployeeByIdAcceptingCbor_thenReturnCborEmployee() throws Exception {
+		// given - precondition or setup
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()).accept(MediaType.APPLICATION_CBOR));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+		.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+		Employee foundEmployee = EmployeeCbor.decodeEmployee(response.andReturn().getResponse().getContentAsByteArray());
+		assertThat(foundEmployee.getId()).isEqualTo(employee.getId());
+		assertThat(foundEmployee.getEmail()).isEqualTo(employee.getEmail());
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - JSON without or with a wildcard Accept")
+	public void givenEmployeeId_whenGetEmployeeByIdWithoutAccept_thenReturnJsonEmployee() throws Exception {
+		// given - precondition or setup
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()));
+		ResultActions wildcardResponse = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()).accept(MediaType.ALL));
+		// then - verify the output
+		for (ResultActions resultActions : Arrays.asList(response, wildcardResponse)) {
+			resultActions.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.email", is(employee.getEmail())));
+		}
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - CBOR list")
+	public void givenEmployeesList_whenGetAllEmployeesAcceptingCbor_thenReturnCborEmployeesList() throws Exception {
+		// given - precondition or setup
+		List<Employee> employees = Arrays.asList(employee, new Employee(2L, "Richard", "Parker", "richard.parker@dtechideas.com"));
+		given(employeeService.getAllEmployees()).willReturn(employees);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true").accept(MediaType.APPLICATION_CBOR));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+		List<Employee> foundEmployees = EmployeeCbor.decodeEmployees(response.andReturn().getResponse().getContentAsByteArray());
+		assertThat(foundEmployees).extracting(Employee::getEmail).containsExactly(employee.getEmail(), "richard.parker@dtechideas.com");
+	}
+
+	@Test
+	@DisplayName("JUnit test for createEmployee operation - malformed CBOR")
+	public void givenMalformedCbor_whenCreateEmployee_thenReturnBadRequest() throws Exception {
+		// given - precondition or setup
+		byte[] truncated = Arrays.copyOf(EmployeeCbor.encode(employee), 10);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_CBOR).content(truncated));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isBadRequest());
+	}
+}
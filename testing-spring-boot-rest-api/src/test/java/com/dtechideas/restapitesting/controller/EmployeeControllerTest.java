@@ -7,32 +7,51 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
 import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.exception.InvalidCursorException;
+import com.dtechideas.restapitesting.exception.PreconditionFailedException;
 import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 import com.dtechideas.restapitesting.service.EmployeeService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.Optional;
 
+@Import({ EmployeeJsonCache.class, EmployeeBulkBodyCache.class, EmployeeHandlers.class })
 @WebMvcTest
 public class EmployeeControllerTest {
 
@@ -49,6 +68,9 @@ public class EmployeeControllerTest {
 	@MockBean
 	private EmployeeService employeeService;
 
+	@SpyBean
+	private EmployeeJsonCache employeeJsonCache;
+
 	private Employee employee;
 
 	@BeforeEach
@@ -92,32 +114,141 @@ public class EmployeeControllerTest {
 		List<Employee> employees = List.of(employee1, employee2);
 		given(employeeService.getAllEmployees()).willReturn(employees);
 		// when - action or the behaviour
-		ResultActions response = mockMvc.perform(get("/api/v1/employees"));
+		ResultActions response = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"));
 		// then - verify the output
 		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(employees.size())));
 	}
 	
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation")
+	public void givenEmployeesPage_whenGetEmployees_thenReturnPageWithNextCursor() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee(1L,"Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee(2L,"Peter", "Parker", "peter.parker@dtechideas.com");
+		EmployeePage employeePage = new EmployeePage(List.of(employee1, employee2), "Mg");
+		given(employeeService.getEmployeesPage(isNull(), anyInt())).willReturn(employeePage);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees").param("size", "2"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.content.size()", is(2)))
+		.andExpect(jsonPath("$.size", is(2)))
+		.andExpect(jsonPath("$.next", is("Mg")));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation - InvalidCursorException")
+	public void givenInvalidCursor_whenGetEmployees_thenReturnBadRequest() throws Exception {
+		// given - precondition or setup
+		given(employeeService.getEmployeesPage(any(String.class), anyInt())).willThrow(InvalidCursorException.class);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees").param("cursor", "not-a-cursor"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for searchEmployees operation")
+	public void givenSearchParameters_whenSearchEmployees_thenBindCriteriaAndReturnPage() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee(1L,"Richard", "Parker", "richard.parker@dtechideas.com");
+		given(employeeService.searchEmployees(argThat(criteria -> "Par".equals(criteria.getLastName()) && criteria.getFirstName() == null
+				&& criteria.getMatch() == EmployeeSearchCriteria.Match.PREFIX), isNull(), eq(10)))
+				.willReturn(new EmployeePage(List.of(employee1), null));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/search").param("lastName", "Par").param("match", "PREFIX")
+				.param("size", "10"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.content.size()", is(1)))
+		.andExpect(jsonPath("$.content[0].email", is(employee1.getEmail())));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for autocompleteEmployees operation")
+	public void givenPrefix_whenAutocompleteEmployees_thenReturnSuggestions() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee(1L,"Richard", "Parker", "richard.parker@dtechideas.com");
+		given(employeeService.autocompleteEmployees("par", 5)).willReturn(List.of(employee1));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/autocomplete").param("q", "par").param("limit", "5"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(1)))
+		.andExpect(jsonPath("$[0].email", is(employee1.getEmail())));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for searchEmployees operation - unknown match mode")
+	public void givenUnknownMatch_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/search").param("lastName", "Par").param("match", "FUZZY"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isBadRequest());
+	}
+	
 	@Test
 	@DisplayName("JUnit test for getEmployeeById operation")
 	public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployee() throws Exception {
 		// given - precondition or setup 
-		given(employeeService.getEmployeeById(employee.getId())).willReturn(employee);
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.of(employee));
 		// when - action or the behaviour
 		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()));
 		// then - verify the output
 		response.andDo(print())
 		.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
 		.andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
 		.andExpect(jsonPath("$.lastName", is(employee.getLastName())))
 		.andExpect(jsonPath("$.email",is(employee.getEmail())));
 		
 	}
 	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - If-None-Match with current ETag")
+	public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModifiedWithoutBody() throws Exception {
+		// given - precondition or setup 
+		employee.setVersion(3L);
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isNotModified())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+		.andExpect(content().string(""));
+		verify(employeeJsonCache, never()).get(any(Employee.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - If-None-Match listing a weak ETag of the current version")
+	public void givenETagListWithWeakCurrentETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+		// given - precondition or setup 
+		employee.setVersion(3L);
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		ResultActions matching = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"2\", W/\"3\""));
+		ResultActions stale = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"2\""));
+		// then - verify the output
+		matching.andExpect(status().isNotModified());
+		stale.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+		.andExpect(jsonPath("$.email", is(employee.getEmail())));
+	}
+	
 	@Test
 	@DisplayName("JUnit test for getEmployeeById operation - ResourceNotFoundException")
 	public void givenInvalidEmployeeId_whenGetEmployeeById_thenThrowsResourceNotFoundException() throws Exception {
 		// given - precondition or setup 
-		given(employeeService.getEmployeeById(employee.getId())).willThrow(ResourceNotFoundException.class);
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.empty());
 		// when - action or the behaviour
 		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()));
 		// then - verify the output
@@ -125,12 +256,28 @@ public class EmployeeControllerTest {
 		.andExpect(status().isNotFound());
 	}
 	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - not found error detail")
+	public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnErrorDetail() throws Exception {
+		// given - precondition or setup
+		given(employeeService.findEmployeeById(employee.getId())).willReturn(Optional.empty());
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isNotFound())
+		.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+		.andExpect(jsonPath("$.message", is("Resource Employee with id : '" + employee.getId() + "' not found")))
+		.andExpect(jsonPath("$.detail", is("uri=/api/v1/employees/" + employee.getId())))
+		.andExpect(jsonPath("$.timestamp", lessThanOrEqualTo(System.currentTimeMillis())));
+	}
+	
 	@Test
 	@DisplayName("JUnit test for updateEmployee operation")
 	public void givenEmployeeWithUpdates_whenUpdatedEmployee_thenReturnEmployeeUpdated() throws JsonProcessingException, Exception {
 		// given - precondition or setup
 		Employee employeeForUpdate = new Employee(employee.getId(),"Sudhakar","Dhandapani","sudhakar.dhandapani@outlook.com");
-		given(employeeService.updateEmployee(anyLong(), any(Employee.class))).willReturn(employeeForUpdate);
+		given(employeeService.updateEmployeeIfExists(anyLong(), any(Employee.class), isNull())).willReturn(Optional.of(employeeForUpdate));
 		// when - action or the behaviour
 		ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", employee.getId())
 				.contentType(MediaType.APPLICATION_JSON)
@@ -143,12 +290,46 @@ public class EmployeeControllerTest {
 		.andExpect(jsonPath("$.email",is(employeeForUpdate.getEmail())));
 	}
 	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - If-Match with current ETag")
+	public void givenCurrentETag_whenUpdatedEmployee_thenUpdateConditionallyAndReturnNewETag() throws Exception {
+		// given - precondition or setup
+		Employee employeeForUpdate = new Employee(employee.getId(),"Sudhakar","Dhandapani","sudhakar.dhandapani@outlook.com");
+		employeeForUpdate.setVersion(4L);
+		given(employeeService.updateEmployeeIfExists(anyLong(), any(Employee.class), eq(3L))).willReturn(Optional.of(employeeForUpdate));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", employee.getId())
+				.header(HttpHeaders.IF_MATCH, "\"3\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employeeForUpdate)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+		.andExpect(jsonPath("$.version", is(4)));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - If-Match with stale ETag")
+	public void givenStaleETag_whenUpdatedEmployee_thenReturnPreconditionFailed() throws Exception {
+		// given - precondition or setup
+		given(employeeService.updateEmployeeIfExists(anyLong(), any(Employee.class), eq(2L))).willThrow(PreconditionFailedException.class);
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", employee.getId())
+				.header(HttpHeaders.IF_MATCH, "\"2\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employee)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isPreconditionFailed());
+	}
+	
 	@Test
 	@DisplayName("JUnit test for updateEmployee operation - ResourceNotFoundException")
 	public void givenInvalidEmployeeWithUpdates_whenUpdatedEmployee_thenThrowsResourceNotFoundException() throws JsonProcessingException, Exception {
 		// given - precondition or setup
 		Employee employeeForUpdate = new Employee(employee.getId(),"Sudhakar","Dhandapani","sudhakar.dhandapani@outlook.com");
-		given(employeeService.updateEmployee(anyLong(), any(Employee.class))).willThrow(ResourceNotFoundException.class);
+		given(employeeService.updateEmployeeIfExists(anyLong(), any(Employee.class), isNull())).willReturn(Optional.empty());
 		// when - action or the behaviour
 		ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", employee.getId())
 				.contentType(MediaType.APPLICATION_JSON)
@@ -162,7 +343,7 @@ public class EmployeeControllerTest {
 	@DisplayName("JUnit test for deleteEmployeeById operation")
 	public void givenEmployeeId_whenDeleteEmployeeById_thenReturnTrue()throws Exception {
 		// given - precondition or setup
-		willDoNothing().given(employeeService).deleteEmployeeById(employee.getId());
+		given(employeeService.deleteEmployeeIfExists(employee.getId())).willReturn(true);
 		// when - action or the behaviour
 		ResultActions response = mockMvc.perform(delete("/api/v1/employees/{id}", employee.getId()));
 		// then - verify the output
@@ -174,7 +355,7 @@ public class EmployeeControllerTest {
 	@DisplayName("JUnit test for deleteEmployeeById operation - ResourceNotFoundException")
 	public void givenInvalidEmployeeId_whenDeleteEmployeeById_thenThrowsResourceNotFoundException() throws Exception {
 		// given - precondition or setup
-		willThrow(ResourceNotFoundException.class).given(employeeService).deleteEmployeeById(employee.getId());		
+		given(employeeService.deleteEmployeeIfExists(employee.getId())).willReturn(false);		
 		// when - action or the behaviour
 		ResultActions response = mockMvc.perform(delete("/api/v1/employees/{id}", employee.getId()));
 		// then - verify the output
@@ -0,0 +1,106 @@
+package com.dtechideas.restapitesting.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.StreamUtils;
+
+import com.dtechideas.restapitesting.cache.EmployeeBulkBodyCache;
+import com.dtechideas.restapitesting.cache.EmployeeJsonCache;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+@Import({ EmployeeJsonCache.class, EmployeeBulkBodyCache.class, EmployeeHandlers.class })
+@WebMvcTest
+public class EmployeeExportControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeService employeeService;
+
+	@Test
+	@DisplayName("JUnit test for exportEmployees operation")
+	public void givenEmployees_whenExportEmployees_thenStreamOneJsonDocumentPerLine() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee(1L, "Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee(2L, "Peter", "Parker", "peter.parker@dtechideas.com");
+		willAnswer(invocation -> {
+			Consumer<Employee> consumer = invocation.getArgument(0);
+			consumer.accept(employee1);
+			consumer.accept(employee2);
+			return null;
+		}).given(employeeService).exportEmployees(any());
+		// when - action or the behaviour
+		MvcResult mvcResult = mockMvc.perform(get("/api/v1/employees/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		// then - verify the output
+		mockMvc.perform(asyncDispatch(mvcResult))
+		.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+		.andExpect(content().string(
+				"{\"id\":1,\"firstName\":\"Richard\",\"lastName\":\"Parker\",\"email\":\"richard.parker@dtechideas.com\",\"version\":0}\n"
+				+ "{\"id\":2,\"firstName\":\"Peter\",\"lastName\":\"Parker\",\"email\":\"peter.parker@dtechideas.com\",\"version\":0}\n"));
+	}
+
+	@Test
+	@DisplayName("JUnit test for exportEmployees operation - versioned rows are sent precompressed")
+	public void givenVersionedEmployees_whenExportEmployeesWithGzip_thenReturnCompressedBody() throws Exception {
+		// given - precondition or setup
+		given(employeeService.getEmployeesVersion()).willReturn(OptionalLong.of(1));
+		willAnswer(invocation -> {
+			Consumer<Employee> consumer = invocation.getArgument(0);
+			for (long id = 1; id <= 50; id++) {
+				consumer.accept(new Employee(id, "Richard", "Parker", "richard.parker" + id + "@dtechideas.com"));
+			}
+			return null;
+		}).given(employeeService).exportEmployees(any());
+		// when - action or the behaviour
+		MvcResult mvcResult = mockMvc.perform(get("/api/v1/employees/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		// then - verify the output
+		byte[] body = mockMvc.perform(asyncDispatch(mvcResult))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andReturn().getResponse().getContentAsByteArray();
+		try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			String[] lines = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8).split("\n");
+			assertThat(lines).hasSize(50);
+			assertThat(lines[49]).isEqualTo(
+					"{\"id\":50,\"firstName\":\"Richard\",\"lastName\":\"Parker\",\"email\":\"richard.parker50@dtechideas.com\",\"version\":0}");
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.dtechideas.restapitesting.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+public class ContentCodingTest {
+
+	@Test
+	@DisplayName("JUnit test for negotiate operation - codings without q-value are taken in the order gzip, deflate")
+	public void givenAcceptEncodingWithoutQualities_whenNegotiate_thenReturnGzip() {
+		// given - precondition or setup
+		String acceptEncoding = "deflate, gzip, br";
+		// when - action or the behaviour
+		ContentCoding contentCoding = ContentCoding.negotiate(acceptEncoding);
+		// then - verify the output
+		assertThat(contentCoding).isEqualTo(ContentCoding.GZIP);
+	}
+
+	@Test
+	@DisplayName("JUnit test for negotiate operation - the highest q-value wins, q=0 rules a coding out")
+	public void givenAcceptEncodingWithQualities_whenNegotiate_thenReturnPreferredCoding() {
+		// given - precondition or setup
+		String preferDeflate = "gzip;q=0.5, deflate";
+		String noGzip = "*, gzip;q=0";
+		// when - action or the behaviour
+		ContentCoding preferred = ContentCoding.negotiate(preferDeflate);
+		ContentCoding wildcard = ContentCoding.negotiate(noGzip);
+		// then - verify the output
+		assertThat(preferred).isEqualTo(ContentCoding.DEFLATE);
+		assertThat(wildcard).isEqualTo(ContentCoding.DEFLATE);
+	}
+
+	@Test
+	@DisplayName("JUnit test for negotiate operation - missing header or unsupported codings mean identity")
+	public void givenNoSupportedCoding_whenNegotiate_thenReturnNull() {
+		// given - precondition or setup
+		String unsupported = "br, zstd, identity";
+		String excluded = "gzip;q=0, deflate;q=0";
+		// when - action or the behaviour
+		// then - verify the output
+		assertThat(ContentCoding.negotiate(null)).isNull();
+		assertThat(ContentCoding.negotiate(unsupported)).isNull();
+		assertThat(ContentCoding.negotiate(excluded)).isNull();
+		assertThat(ContentCoding.negotiate("gzip;q=abc")).isNull();
+	}
+
+	@Test
+	@DisplayName("JUnit test for wrap operation - gzip and zlib streams decode to the original bytes")
+	public void givenBody_whenWrap_thenDecodeToSameBytes() throws Exception {
+		// given - precondition or setup
+		byte[] body = "{\"id\":1,\"firstName\":\"Richard\",\"lastName\":\"Parker\"}".getBytes(StandardCharsets.UTF_8);
+		// when - action or the behaviour
+		byte[] gzip = encode(ContentCoding.GZIP, body);
+		byte[] deflate = encode(ContentCoding.DEFLATE, body);
+		// then - verify the output
+		try (InputStream gzipInput = new GZIPInputStream(new ByteArrayInputStream(gzip));
+				InputStream deflateInput = new InflaterInputStream(new ByteArrayInputStream(deflate))) {
+			assertThat(StreamUtils.copyToByteArray(gzipInput)).isEqualTo(body);
+			assertThat(StreamUtils.copyToByteArray(deflateInput)).isEqualTo(body);
+		}
+	}
+
+	private static byte[] encode(ContentCoding contentCoding, byte[] body) throws Exception {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try (OutputStream outputStream = contentCoding.wrap(encoded)) {
+			outputStream.write(body);
+		}
+		return encoded.toByteArray();
+	}
+}
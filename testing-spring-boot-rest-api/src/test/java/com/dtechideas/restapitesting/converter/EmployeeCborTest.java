@@ -0,0 +1,81 @@
+package com.dtechideas.restapitesting.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+public class EmployeeCborTest {
+
+	@Test
+	@DisplayName("JUnit test for encode and decode - employees list round trip")
+	public void givenEmployeesList_whenEncodeAndDecode_thenReturnSameEmployees() {
+		// given - precondition or setup
+		Employee employee = new Employee(300000L, "Zoë", "Ürgüp", "zoe.urgup@dtechideas.com");
+		Employee newEmployee = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		// when - action or the behaviour
+		List<Employee> employees = EmployeeCbor.decodeEmployees(EmployeeCbor.encode(Arrays.asList(employee, newEmployee)));
+		// then - verify the output
+		assertThat(employees).hasSize(2);
+		assertThat(employees.get(0)).usingRecursiveComparison().isEqualTo(employee);
+		assertThat(employees.get(1).getId()).isNull();
+		assertThat(employees.get(1).getEmail()).isEqualTo(newEmployee.getEmail());
+	}
+
+	@Test
+	@DisplayName("JUnit test for decode - indefinite length map, chunked text and unknown keys")
+	public void givenStreamingEncoderOutput_whenDecodeEmployee_thenReadKnownFields() {
+		// given - precondition or setup
+		byte[] cbor = bytes(0xbf,
+				0x62, 'i', 'd', 0x18, 0x2a,
+				0x65, 'e', 'm', 'a', 'i', 'l', 0x7f, 0x62, 'a', '@', 0x61, 'b', 0xff,
+				0x63, 't', 'a', 'g', 0xc1, 0x82, 0x01, 0xf9, 0x3c, 0x00,
+				0x69, 'f', 'i', 'r', 's', 't', 'N', 'a', 'm', 'e', 0x63, 'A', 'n', 'n',
+				0xff);
+		// when - action or the behaviour
+		Employee employee = EmployeeCbor.decodeEmployee(cbor);
+		// then - verify the output
+		assertThat(employee.getId()).isEqualTo(42L);
+		assertThat(employee.getEmail()).isEqualTo("a@b");
+		assertThat(employee.getFirstName()).isEqualTo("Ann");
+		assertThat(employee.getLastName()).isNull();
+	}
+
+	@Test
+	@DisplayName("JUnit test for decode - version sent by a client is ignored")
+	public void givenEmployeeWithVersion_whenDecodeEmployee_thenIgnoreVersion() {
+		// given - precondition or setup
+		Employee employee = new Employee(1L, "Richard", "Parker", "richard.parker@dtechideas.com");
+		employee.setVersion(7L);
+		// when - action or the behaviour
+		Employee decodedEmployee = EmployeeCbor.decodeEmployee(EmployeeCbor.encode(employee));
+		// then - verify the output
+		assertThat(decodedEmployee.getVersion()).isZero();
+	}
+
+	@Test
+	@DisplayName("JUnit test for decode - truncated and trailing input")
+	public void givenMalformedCbor_whenDecodeEmployee_thenThrowIllegalArgumentException() {
+		// given - precondition or setup
+		byte[] cbor = EmployeeCbor.encode(new Employee(1L, "Richard", "Parker", "richard.parker@dtechideas.com"));
+		byte[] trailing = Arrays.copyOf(cbor, cbor.length + 1);
+		// when - action or the behaviour
+		// then - verify the output
+		assertThrows(IllegalArgumentException.class, () -> EmployeeCbor.decodeEmployee(Arrays.copyOf(cbor, cbor.length - 1)));
+		assertThrows(IllegalArgumentException.class, () -> EmployeeCbor.decodeEmployee(trailing));
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,87 @@
+package com.dtechideas.restapitesting.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class ReplicaSetTest {
+
+	private DataSource primary;
+
+	private DataSource replica;
+
+	private ReplicaSet replicaSet;
+
+	@BeforeEach
+	public void setUp() {
+		primary = new DriverManagerDataSource("jdbc:h2:mem:replica-set-primary;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		replica = new DriverManagerDataSource("jdbc:h2:mem:replica-set-replica;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		if (replicaSet != null) {
+			replicaSet.destroy();
+		}
+		new JdbcTemplate(primary).execute("drop table if exists " + ReplicaSet.HEARTBEAT_TABLE);
+		new JdbcTemplate(replica).execute("drop table if exists " + ReplicaSet.HEARTBEAT_TABLE);
+	}
+
+	@Test
+	@DisplayName("JUnit test for choose operation - no replicas configured, reads go to the primary")
+	public void givenNoReplicas_whenChoose_thenReturnPrimary() {
+		// given - precondition or setup
+		replicaSet = new ReplicaSet(primary, Collections.emptyList(), Duration.ofHours(1), 30);
+		// when - action or the behaviour
+		int chosen = replicaSet.choose(0);
+		// then - verify the output
+		assertThat(chosen).isEqualTo(-1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for writePosition operation - answered from the last heartbeat, without querying the primary")
+	public void givenCheckedReplicaSet_whenWritePosition_thenReturnTwoHeartbeatsAhead() throws Exception {
+		// given - precondition or setup
+		replicaSet = new ReplicaSet(primary, Collections.emptyList(), Duration.ofHours(1), 30);
+		replicaSet.afterPropertiesSet();
+		/* Stop the schedule, the test writes the heartbeats itself */
+		replicaSet.destroy();
+		replicaSet.check();
+		long primaryPosition = new JdbcTemplate(primary).queryForObject("select position from " + ReplicaSet.HEARTBEAT_TABLE, Long.class);
+		new JdbcTemplate(primary).execute("drop table " + ReplicaSet.HEARTBEAT_TABLE);
+		// when - action or the behaviour
+		long writePosition = replicaSet.writePosition();
+		// then - verify the output
+		assertThat(writePosition).isEqualTo(primaryPosition + 2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for choose operation - a replica short of the minimum position is skipped")
+	public void givenCaughtUpReplica_whenChoose_thenReturnReplicaUnlessPositionIsAhead() {
+		// given - precondition or setup
+		JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+		replicaTemplate.execute("create table " + ReplicaSet.HEARTBEAT_TABLE + " (id int not null primary key, position bigint not null)");
+		replicaTemplate.update("insert into " + ReplicaSet.HEARTBEAT_TABLE + " (id, position) values (1, 0)");
+		replicaSet = new ReplicaSet(primary, Collections.singletonList(replica), Duration.ofHours(1), 30);
+		replicaSet.afterPropertiesSet();
+		long writePosition = replicaSet.writePosition();
+		replicaTemplate.update("update " + ReplicaSet.HEARTBEAT_TABLE + " set position = ? where id = 1", writePosition);
+		replicaSet.check();
+		// when - action or the behaviour
+		int caughtUp = replicaSet.choose(writePosition);
+		int ahead = replicaSet.choose(writePosition + 1);
+		// then - verify the output
+		assertThat(caughtUp).isEqualTo(0);
+		assertThat(ahead).isEqualTo(-1);
+	}
+}
@@ -0,0 +1,46 @@
+package com.dtechideas.restapitesting.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+
+public class EmployeeEmailIndexTest {
+
+	private EmployeeEmailIndex employeeEmailIndex;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setUp() {
+		employeeEmailIndex = new EmployeeEmailIndex();
+		employee = new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com");
+		employeeEmailIndex.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+	}
+
+	@Test
+	@DisplayName("JUnit test for email index - updated email replaces the old one")
+	public void givenIndexedEmployee_whenEmailUpdated_thenOnlyNewEmailIsKnown() {
+		// when - action or the behaviour
+		Employee updatedEmployee = new Employee(1L, "Dhandapani", "Sudhakar", "sudhakar.dhandapani@dtechideas.com");
+		employeeEmailIndex.onEmployeeChanged(EmployeeChangedEvent.updated(updatedEmployee));
+		// then - verify the output
+		assertThat(employeeEmailIndex.contains(employee.getEmail())).isFalse();
+		assertThat(employeeEmailIndex.contains(updatedEmployee.getEmail())).isTrue();
+		assertThat(employeeEmailIndex.size()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for email index - deleted employee frees the email")
+	public void givenIndexedEmployee_whenDeleted_thenEmailIsUnknown() {
+		// when - action or the behaviour
+		employeeEmailIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(employee.getId()));
+		// then - verify the output
+		assertThat(employeeEmailIndex.contains(employee.getEmail())).isFalse();
+		assertThat(employeeEmailIndex.size()).isZero();
+	}
+}
@@ -0,0 +1,84 @@
+package com.dtechideas.restapitesting.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+
+public class EmployeeNameIndexTest {
+
+	private EmployeeNameIndex employeeNameIndex;
+
+	@BeforeEach
+	public void setUp() {
+		employeeNameIndex = new EmployeeNameIndex();
+		employeeNameIndex.put(new Employee(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com"));
+		employeeNameIndex.put(new Employee(2L, "Meenakshi", "Ramesh", "meenakshi.ramesh@dtechideas.com"));
+		employeeNameIndex.put(new Employee(3L, "Élodie", "Durand", "elodie.durand@dtechideas.com"));
+	}
+
+	@Test
+	@DisplayName("JUnit test for name index - prefix of first name, last name or email")
+	public void givenIndexedEmployees_whenSearch_thenReturnIdsWithMatchingPrefix() {
+		// when - action or the behaviour
+		// then - verify the output
+		assertThat(employeeNameIndex.search("Dhan", 10)).containsExactly(1L);
+		assertThat(employeeNameIndex.search("ram", 10)).containsExactly(2L);
+		assertThat(employeeNameIndex.search("d", 10)).containsExactly(1L, 3L);
+		assertThat(employeeNameIndex.search("x", 10)).isEmpty();
+		assertThat(employeeNameIndex.search("", 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("JUnit test for name index - accents and case are ignored")
+	public void givenAccentedName_whenSearchWithoutAccent_thenReturnId() {
+		// when - action or the behaviour
+		// then - verify the output
+		assertThat(employeeNameIndex.search("elo", 10)).containsExactly(3L);
+		assertThat(employeeNameIndex.search("ÉLO", 10)).containsExactly(3L);
+	}
+
+	@Test
+	@DisplayName("JUnit test for name index - limit counts distinct employees")
+	public void givenManyMatches_whenSearchWithLimit_thenReturnAtMostLimitIds() {
+		// when - action or the behaviour
+		// then - verify the output
+		assertThat(employeeNameIndex.search("d", 1)).containsExactly(1L);
+		assertThat(employeeNameIndex.search("d", 0)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("JUnit test for name index - updated and deleted employees")
+	public void givenIndexedEmployee_whenUpdatedOrDeleted_thenOldTermsAreGone() {
+		// when - action or the behaviour
+		employeeNameIndex.onEmployeeChanged(EmployeeChangedEvent.updated(new Employee(2L, "Meena", "Krishnan", "meena.krishnan@dtechideas.com")));
+		employeeNameIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+		// then - verify the output
+		assertThat(employeeNameIndex.search("ramesh", 10)).isEmpty();
+		assertThat(employeeNameIndex.search("krish", 10)).containsExactly(2L);
+		assertThat(employeeNameIndex.search("dhan", 10)).isEmpty();
+		assertThat(employeeNameIndex.size()).isEqualTo(6);
+	}
+
+	@Test
+	@DisplayName("JUnit test for name index - search across compacted base and delta")
+	public void givenCompactedIndex_whenChangedAndSearched_thenBaseAndDeltaAreMerged() {
+		// given - precondition or setup
+		for (long id = 10; id < 2010; id++) {
+			employeeNameIndex.put(new Employee(id, "Bulk", "Employee" + id, "bulk" + id + "@dtechideas.com"));
+		}
+		// when - action or the behaviour
+		employeeNameIndex.put(new Employee(15L, "Bulk", "Renamed", "bulk15@dtechideas.com"));
+		employeeNameIndex.removeById(16L);
+		// then - verify the output
+		assertThat(employeeNameIndex.search("employee1", 3)).containsExactly(10L, 100L, 1000L);
+		assertThat(employeeNameIndex.search("employee15", 100)).doesNotContain(15L).contains(150L, 1500L);
+		assertThat(employeeNameIndex.search("employee16", 100)).doesNotContain(16L);
+		assertThat(employeeNameIndex.search("renamed", 10)).containsExactly(15L);
+		assertThat(employeeNameIndex.search("bulk", 5000)).hasSize(1999);
+	}
+}
@@ -0,0 +1,79 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest(properties = "employees.async.enabled=true")
+@AutoConfigureMockMvc
+public class AsyncEmployeeControllerITests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	public void setUp() {
+		this.employeeRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("JUnit test for asynchronous createEmployee and getEmployeeById operations")
+	public void givenEmployee_whenCreatedAndReadAsynchronously_thenReturnEmployee() throws Exception {
+		// given - precondition or setup
+		Employee employee = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		String created = dispatch(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employee)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		Integer id = JsonPath.read(created, "$.id");
+		// when - action or the behaviour
+		ResultActions response = dispatch(get("/api/v1/employees/{id}", id));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.email", is(employee.getEmail())));
+	}
+
+	@Test
+	@DisplayName("JUnit test for asynchronous getEmployeeById operation - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenGetEmployeeByIdAsynchronously_thenReturnNotFound() throws Exception {
+		// when - action or the behaviour
+		ResultActions response = dispatch(get("/api/v1/employees/{id}", 0L));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isNotFound());
+	}
+
+	private ResultActions dispatch(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
@@ -0,0 +1,239 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeePage;
+
+/*
+ * Scenarios both variants of the employee API have to pass unchanged - the servlet/JPA one and the reactive/R2DBC
+ * one. Subclasses only provide the client and a way to empty the table.
+ */
+abstract class EmployeeApiContract {
+
+	protected abstract WebTestClient client();
+
+	protected abstract void deleteAllEmployees();
+
+	@BeforeEach
+	public void setUp() {
+		deleteAllEmployees();
+	}
+
+	@Test
+	@DisplayName("JUnit test for createEmployee operation")
+	public void givenEmployee_whenCreateEmployee_thenReturnSavedEmployee() {
+		// given - precondition or setup
+		Employee employee = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().post().uri("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(employee).exchange();
+		// then - verify the output
+		response.expectStatus().isCreated()
+		.expectBody()
+		.jsonPath("$.id").isNumber()
+		.jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+		.jsonPath("$.lastName").isEqualTo(employee.getLastName())
+		.jsonPath("$.email").isEqualTo(employee.getEmail())
+		.jsonPath("$.version").isEqualTo(0);
+	}
+
+	@Test
+	@DisplayName("JUnit test for createEmployee operation - ResourceAlreadyExistsException")
+	public void givenExistingEmail_whenCreateEmployee_thenReturnUnprocessableEntity() {
+		// given - precondition or setup
+		create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().post().uri("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee("Rick", "Parker", "richard.parker@dtechideas.com")).exchange();
+		// then - verify the output
+		response.expectStatus().isEqualTo(422)
+		.expectBody()
+		.jsonPath("$.message").isEqualTo("Resource Employee with email : 'richard.parker@dtechideas.com' already exists")
+		.jsonPath("$.detail").isEqualTo("uri=/api/v1/employees");
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation")
+	public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeWithETag() {
+		// given - precondition or setup
+		Employee savedEmployee = create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange();
+		// then - verify the output
+		response.expectStatus().isOk()
+		.expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+		.expectBody()
+		.jsonPath("$.id").isEqualTo(savedEmployee.getId().intValue())
+		.jsonPath("$.email").isEqualTo(savedEmployee.getEmail());
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - If-None-Match")
+	public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified() {
+		// given - precondition or setup
+		Employee savedEmployee = create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees/{id}", savedEmployee.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"0\"").exchange();
+		// then - verify the output
+		response.expectStatus().isNotModified()
+		.expectBody().isEmpty();
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnNotFound() {
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees/{id}", 0L).exchange();
+		// then - verify the output
+		response.expectStatus().isNotFound()
+		.expectBody()
+		.jsonPath("$.message").isEqualTo("Resource Employee with id : '0' not found")
+		.jsonPath("$.detail").isEqualTo("uri=/api/v1/employees/0");
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation")
+	public void givenEmployees_whenGetEmployeesPage_thenReturnPagesInIdOrder() {
+		// given - precondition or setup
+		Employee first = create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		Employee second = create(new Employee("John", "Parker", "john.parker@dtechideas.com"));
+		Employee third = create(new Employee("Peter", "Parker", "peter.parker@dtechideas.com"));
+		EmployeePage firstPage = client().get().uri("/api/v1/employees?size=2").exchange()
+				.expectStatus().isOk()
+				.expectBody(EmployeePage.class).returnResult().getResponseBody();
+		assertThat(firstPage.getContent()).extracting(Employee::getId).containsExactly(first.getId(), second.getId());
+		assertThat(firstPage.getNext()).isNotNull();
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees?size=2&cursor={cursor}", firstPage.getNext()).exchange();
+		// then - verify the output
+		response.expectStatus().isOk()
+		.expectBody()
+		.jsonPath("$.content.length()").isEqualTo(1)
+		.jsonPath("$.content[0].id").isEqualTo(third.getId().intValue())
+		.jsonPath("$.next").doesNotExist();
+	}
+
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation - InvalidCursorException")
+	public void givenInvalidCursor_whenGetEmployeesPage_thenReturnBadRequest() {
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees?cursor=not-a-cursor").exchange();
+		// then - verify the output
+		response.expectStatus().isBadRequest()
+		.expectBody()
+		.jsonPath("$.message").isEqualTo("Cursor 'not-a-cursor' is not valid");
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation")
+	public void givenEmployees_whenGetAllEmployeesUnpaged_thenReturnEmployeesList() {
+		// given - precondition or setup
+		create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		create(new Employee("John", "Parker", "john.parker@dtechideas.com"));
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees?unpaged=true").exchange();
+		// then - verify the output
+		response.expectStatus().isOk()
+		.expectBody()
+		.jsonPath("$.length()").isEqualTo(2)
+		.jsonPath("$[0].email").isEqualTo("richard.parker@dtechideas.com")
+		.jsonPath("$[1].email").isEqualTo("john.parker@dtechideas.com");
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - empty table")
+	public void givenNoEmployees_whenGetAllEmployeesUnpaged_thenReturnEmptyList() {
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().get().uri("/api/v1/employees?unpaged=true").exchange();
+		// then - verify the output
+		response.expectStatus().isOk()
+		.expectBody().json("[]");
+	}
+
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation")
+	public void givenEmployee_whenUpdateEmployee_thenReturnUpdatedEmployeeWithNewETag() {
+		// given - precondition or setup
+		Employee savedEmployee = create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		Employee update = new Employee("Rick", "Parker", "rick.parker@dtechideas.com");
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().put().uri("/api/v1/employees/{id}", savedEmployee.getId())
+				.contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"0\"").bodyValue(update).exchange();
+		// then - verify the output
+		response.expectStatus().isOk()
+		.expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+		.expectBody()
+		.jsonPath("$.firstName").isEqualTo("Rick")
+		.jsonPath("$.email").isEqualTo("rick.parker@dtechideas.com")
+		.jsonPath("$.version").isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - PreconditionFailedException")
+	public void givenStaleETag_whenUpdateEmployee_thenReturnPreconditionFailed() {
+		// given - precondition or setup
+		Employee savedEmployee = create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		client().put().uri("/api/v1/employees/{id}", savedEmployee.getId()).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee("Rick", "Parker", "richard.parker@dtechideas.com")).exchange()
+				.expectStatus().isOk();
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().put().uri("/api/v1/employees/{id}", savedEmployee.getId())
+				.contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"0\"")
+				.bodyValue(new Employee("Dick", "Parker", "richard.parker@dtechideas.com")).exchange();
+		// then - verify the output
+		response.expectStatus().isEqualTo(412);
+		client().get().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange()
+		.expectBody().jsonPath("$.firstName").isEqualTo("Rick");
+	}
+
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFound() {
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().put().uri("/api/v1/employees/{id}", 0L).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee("Rick", "Parker", "rick.parker@dtechideas.com")).exchange();
+		// then - verify the output
+		response.expectStatus().isNotFound();
+	}
+
+	@Test
+	@DisplayName("JUnit test for deleteEmployeeById operation")
+	public void givenEmployeeId_whenDeleteEmployeeById_thenReturnMessageAndRemoveEmployee() {
+		// given - precondition or setup
+		Employee savedEmployee = create(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().delete().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange();
+		// then - verify the output
+		response.expectStatus().isOk()
+		.expectBody(String.class).isEqualTo("Employee with Id : " + savedEmployee.getId() + " deleted successfully");
+		client().get().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange()
+		.expectStatus().isNotFound();
+	}
+
+	@Test
+	@DisplayName("JUnit test for deleteEmployeeById operation - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenDeleteEmployeeById_thenReturnNotFound() {
+		// when - action or the behaviour
+		WebTestClient.ResponseSpec response = client().delete().uri("/api/v1/employees/{id}", 0L).exchange();
+		// then - verify the output
+		response.expectStatus().isNotFound();
+	}
+
+	private Employee create(Employee employee) {
+		Employee savedEmployee = client().post().uri("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(employee).exchange()
+				.expectStatus().isCreated()
+				.expectBody(Employee.class).returnResult().getResponseBody();
+		assertThat(savedEmployee).isNotNull();
+		return savedEmployee;
+	}
+}
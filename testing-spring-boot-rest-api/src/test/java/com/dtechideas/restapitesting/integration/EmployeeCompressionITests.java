@@ -0,0 +1,136 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshotStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Compression as a client sees it, through the embedded Tomcat: MockMvc bypasses server.compression. With the snapshot
+ * enabled the bulk endpoints are sent precompressed, everything else is compressed by Tomcat above the threshold.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "employees.snapshot.enabled=true")
+public class EmployeeCompressionITests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeSnapshotStore employeeSnapshotStore;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private List<Employee> savedEmployees;
+
+	@BeforeEach
+	public void setUp() {
+		this.employeeRepository.deleteAll();
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			employees.add(new Employee("Compressed", "Employee" + i, "compressed.employee" + i + "@dtechideas.com"));
+		}
+		this.savedEmployees = this.employeeRepository.saveAll(employees);
+		this.employeeSnapshotStore.refresh();
+	}
+
+	@Test
+	@DisplayName("JUnit test for GET /api/v1/employees?unpaged=true with Accept-Encoding: gzip")
+	public void givenSnapshot_whenGetAllEmployeesWithGzip_thenReturnGzipCompressedOnce() throws Exception {
+		// given - precondition or setup
+		HttpURLConnection first = open("/api/v1/employees?unpaged=true", "gzip");
+		byte[] firstBody = StreamUtils.copyToByteArray(first.getInputStream());
+		double hits = cacheHits();
+		// when - action or the behaviour
+		HttpURLConnection connection = open("/api/v1/employees?unpaged=true", "gzip");
+		byte[] body = StreamUtils.copyToByteArray(connection.getInputStream());
+		// then - verify the output
+		assertThat(connection.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(body).isEqualTo(firstBody);
+		assertThat(cacheHits()).isEqualTo(hits + 1);
+		/* decoding once gives the JSON, Tomcat did not compress the compressed body again */
+		JsonNode employees = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(body)));
+		assertThat(employees.size()).isEqualTo(50);
+	}
+
+	@Test
+	@DisplayName("JUnit test for GET /api/v1/employees/export with Accept-Encoding: deflate")
+	public void givenSnapshot_whenExportEmployeesWithDeflate_thenReturnDeflateCompressed() throws Exception {
+		// given - precondition or setup
+		String acceptEncoding = "gzip;q=0.5, deflate";
+		// when - action or the behaviour
+		HttpURLConnection connection = open("/api/v1/employees/export", acceptEncoding);
+		// then - verify the output
+		assertThat(connection.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isEqualTo("deflate");
+		byte[] body = StreamUtils.copyToByteArray(new InflaterInputStream(connection.getInputStream()));
+		assertThat(new String(body, "UTF-8").split("\n")).hasSize(50);
+	}
+
+	@Test
+	@DisplayName("JUnit test for Tomcat compression of responses above and below min-response-size")
+	public void givenCompressionThreshold_whenGetPageAndSingleEmployee_thenCompressOnlyThePage() throws Exception {
+		// given - precondition or setup
+		Long employeeId = this.savedEmployees.get(0).getId();
+		// when - action or the behaviour
+		HttpURLConnection page = open("/api/v1/employees?size=50", "gzip");
+		HttpURLConnection single = open("/api/v1/employees/" + employeeId, "gzip");
+		// then - verify the output
+		assertThat(page.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(objectMapper.readTree(new GZIPInputStream(page.getInputStream())).get("content").size()).isEqualTo(50);
+		assertThat(single.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(objectMapper.readTree(single.getInputStream()).get("id").asLong()).isEqualTo(employeeId);
+	}
+
+	@Test
+	@DisplayName("JUnit test for GET /api/v1/employees?unpaged=true without Accept-Encoding")
+	public void givenNoAcceptEncoding_whenGetAllEmployees_thenReturnIdentity() throws Exception {
+		// given - precondition or setup
+		// when - action or the behaviour
+		HttpURLConnection connection = open("/api/v1/employees?unpaged=true", null);
+		// then - verify the output
+		assertThat(connection.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(objectMapper.readTree(connection.getInputStream()).size()).isEqualTo(50);
+	}
+
+	private double cacheHits() {
+		return meterRegistry.get("cache.gets").tags("cache", "employees.bulk", "result", "hit").functionCounter().count();
+	}
+
+	private HttpURLConnection open(String path, String acceptEncoding) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + this.port + path).openConnection();
+		if (acceptEncoding != null) {
+			connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		assertThat(connection.getResponseCode()).isEqualTo(200);
+		return connection;
+	}
+}
@@ -1,17 +1,21 @@
 package com.dtechideas.restapitesting.integration;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
@@ -24,8 +28,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
@@ -33,6 +39,7 @@ import com.dtechideas.restapitesting.model.Employee;
 import com.dtechideas.restapitesting.repository.EmployeeRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
@@ -69,6 +76,39 @@ public class EmployeeControllerITests {
 				.andExpect(jsonPath("$.email", is(employee.getEmail())));
 	}
 	
+	@Test
+	@DisplayName("JUnit test for createEmployee operation - email already exists")
+	public void givenExistingEmail_whenCreateEmployee_thenReturnUnprocessableEntity() throws Exception {
+		// given - precondition or setup
+		Employee existing = this.employeeRepository.save(new Employee("Peter", "Parker", "peter.parker@dtechideas.com"));
+		Employee employee = new Employee("Pete", "Parker", existing.getEmail());
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(this.objectMapper.writeValueAsBytes(employee)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isUnprocessableEntity());
+		assertThat(this.employeeRepository.count()).isEqualTo(1);
+	}
+	
+	@Test
+	@DisplayName("JUnit test for createEmployees batch operation")
+	public void givenEmployeesList_whenCreateEmployees_thenCreateNewAndReportExisting() throws Exception {
+		// given - precondition or setup
+		Employee existing = this.employeeRepository.save(new Employee("Peter", "Parker", "peter.parker@dtechideas.com"));
+		Employee employee = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(this.objectMapper.writeValueAsBytes(List.of(employee, existing))));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$[0].status", is("CREATED")))
+		.andExpect(jsonPath("$[0].employee.email", is(employee.getEmail())))
+		.andExpect(jsonPath("$[1].status", is("ALREADY_EXISTS")));
+		assertThat(this.employeeRepository.count()).isEqualTo(2);
+	}
+	
 	@Test
 	@DisplayName("JUnit test for getAllEmployees operation")
 	public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
@@ -78,11 +118,100 @@ public class EmployeeControllerITests {
 		List<Employee> employees = List.of(employee1, employee2);
 		this.employeeRepository.saveAll(employees);
 		// when - action or the behaviour
-		ResultActions response = mockMvc.perform(get("/api/v1/employees"));
+		ResultActions response = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"));
 		// then - verify the output
 		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(employees.size())));
 	}
 	
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation")
+	public void givenEmployeesList_whenGetEmployeesPageByPage_thenReturnEveryEmployeeOnce() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		Employee employee3 = new Employee("May", "Parker", "may.parker@dtechideas.com");
+		this.employeeRepository.saveAll(List.of(employee1, employee2, employee3));
+		// when - action or the behaviour
+		MvcResult firstPage = mockMvc.perform(get("/api/v1/employees").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.size", is(2)))
+				.andReturn();
+		String next = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next");
+		ResultActions response = mockMvc.perform(get("/api/v1/employees").param("size", "2").param("cursor", next));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size", is(1)))
+		.andExpect(jsonPath("$.content[0].email", is(employee3.getEmail())))
+		.andExpect(jsonPath("$.next").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for searchEmployees operation")
+	public void givenEmployeesList_whenSearchEmployeesByNamePrefix_thenReturnMatchesInNameOrder() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		Employee employee3 = new Employee("Peter", "Pan", "peter.pan@dtechideas.com");
+		Employee employee4 = new Employee("Mary", "Jane", "mary.jane@dtechideas.com");
+		this.employeeRepository.saveAll(List.of(employee1, employee2, employee3, employee4));
+		// when - action or the behaviour
+		MvcResult firstPage = mockMvc.perform(get("/api/v1/employees/search").param("lastName", "Pa").param("match", "PREFIX")
+				.param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].email", is(employee3.getEmail())))
+				.andExpect(jsonPath("$.content[1].email", is(employee2.getEmail())))
+				.andReturn();
+		String next = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next");
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/search").param("lastName", "Pa").param("match", "PREFIX")
+				.param("size", "2").param("cursor", next));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size", is(1)))
+		.andExpect(jsonPath("$.content[0].email", is(employee1.getEmail())))
+		.andExpect(jsonPath("$.next").doesNotExist());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for autocompleteEmployees operation")
+	public void givenCreatedEmployees_whenAutocompleteEmployees_thenReturnPrefixMatches() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee("Hélène", "Mary", "helene.mary@dtechideas.com");
+		for (Employee employee : List.of(employee1, employee2)) {
+			mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employee))).andExpect(status().isCreated());
+		}
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/autocomplete").param("q", "hele"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(1)))
+		.andExpect(jsonPath("$[0].email", is(employee2.getEmail())));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for exportEmployees operation")
+	public void givenEmployeesList_whenExportEmployees_thenStreamEveryEmployeeAsJsonLine() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		this.employeeRepository.saveAll(List.of(employee1, employee2));
+		// when - action or the behaviour
+		MvcResult mvcResult = mockMvc.perform(get("/api/v1/employees/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		// then - verify the output
+		String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString().split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(objectMapper.readValue(lines[1], Employee.class).getEmail()).isEqualTo(employee2.getEmail());
+	}
+	
 	@Test
 	@DisplayName("JUnit test for getEmployeeById operation")
 	public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployee() throws Exception {
@@ -133,6 +262,36 @@ public class EmployeeControllerITests {
 		.andExpect(jsonPath("$.email",is(employeeToBeUpdated.getEmail())));
 	}
 	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - lost update prevented by If-Match")
+	public void givenTwoClientsWithSameETag_whenBothUpdateEmployee_thenSecondGetsPreconditionFailed() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = this.employeeRepository.save(new Employee("Dhandapani","Sudhakar","dhandapani.sudhakar@outlook.com"));
+		String etag = mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		Employee firstUpdate = new Employee("Sudhakar","Dhandapani","dhandapani.sudhakar@outlook.com");
+		Employee secondUpdate = new Employee("Dhandapani","S","dhandapani.sudhakar@outlook.com");
+		mockMvc.perform(put("/api/v1/employees/{id}", savedEmployee.getId()).header(HttpHeaders.IF_MATCH, etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(firstUpdate)))
+				.andExpect(status().isOk());
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", savedEmployee.getId()).header(HttpHeaders.IF_MATCH, etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(secondUpdate)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isPreconditionFailed());
+		assertThat(this.employeeRepository.findById(savedEmployee.getId()).get().getFirstName()).isEqualTo(firstUpdate.getFirstName());
+		// the cached copy was replaced, a GET with the new ETag is not modified
+		String newEtag = mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId()))
+				.andExpect(jsonPath("$.firstName", is(firstUpdate.getFirstName())))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId()).header(HttpHeaders.IF_NONE_MATCH, newEtag))
+				.andExpect(status().isNotModified());
+	}
+	
 	@Test
 	@DisplayName("JUnit test for updateEmployee operation - ResourceNotFoundException")
 	public void givenInvalidEmployeeWithUpdates_whenUpdatedEmployee_thenThrowsResourceNotFoundException() throws JsonProcessingException, Exception {
@@ -179,6 +338,26 @@ public class EmployeeControllerITests {
 		.andExpect(status().isNotFound());
 	}
 	
+	@Test
+	@DisplayName("JUnit test for deleteEmployees bulk operation")
+	public void givenEmployeeIds_whenDeleteEmployees_thenDeleteOnlyExistingEmployees() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = this.employeeRepository.save(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		Employee employee2 = this.employeeRepository.save(new Employee("Peter", "Parker", "peter.parker@dtechideas.com"));
+		Employee employee3 = this.employeeRepository.save(new Employee("May", "Parker", "may.parker@dtechideas.com"));
+		// cache one of them so the delete has to invalidate it
+		mockMvc.perform(get("/api/v1/employees/{id}", employee1.getId())).andExpect(status().isOk());
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(delete("/api/v1/employees")
+				.param("ids", employee1.getId() + "," + employee2.getId() + ",0"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(content().string("2 employees deleted successfully"));
+		assertThat(this.employeeRepository.findAll()).extracting(Employee::getId).containsExactly(employee3.getId());
+		mockMvc.perform(get("/api/v1/employees/{id}", employee1.getId())).andExpect(status().isNotFound());
+	}
+	
 	@AfterEach
 	public void tearDown() {
 
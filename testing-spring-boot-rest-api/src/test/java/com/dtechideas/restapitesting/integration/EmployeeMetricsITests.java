@@ -0,0 +1,58 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dtechideas.restapitesting.metrics.EmployeeServiceMetricsAspect;
+import com.dtechideas.restapitesting.metrics.SqlStatementMetricsFilter;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeMetricsITests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.employeeRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("JUnit test for metrics - service, repository and SQL statement metrics of a request")
+	public void givenEmployee_whenGetEmployeeById_thenRecordServiceRepositoryAndStatementMetrics() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = this.employeeRepository.save(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		// when - action or the behaviour
+		mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId())).andExpect(status().isOk());
+		// then - verify the output
+		assertThat(meterRegistry.get(EmployeeServiceMetricsAspect.METRIC_NAME).tag("method", "findEmployeeById").timer().count())
+				.isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.get("spring.data.repository.invocations").tag("repository", "EmployeeRepository")
+				.tag("method", "findById").timer().count()).isGreaterThanOrEqualTo(1);
+		DistributionSummary statements = meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME).tag("method", "GET")
+				.tag("uri", "/api/v1/employees/{id}").summary();
+		assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+		assertThat(statements.max()).isEqualTo(1);
+	}
+}
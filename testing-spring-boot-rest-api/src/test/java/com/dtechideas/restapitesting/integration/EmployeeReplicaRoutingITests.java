@@ -0,0 +1,201 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.dtechideas.restapitesting.datasource.ReadYourWritesFilter;
+import com.dtechideas.restapitesting.datasource.ReplicaSet;
+import com.dtechideas.restapitesting.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+/*
+ * Two embedded H2 databases stand in for the replicas. Nothing replicates between the databases here, the tests
+ * copy the heartbeat position to the replicas themselves when they want them to have caught up.
+ */
+@SpringBootTest(properties = { "employees.datasource.replica.urls=jdbc:h2:mem:replica0;MODE=MySQL;DB_CLOSE_DELAY=-1,"
+		+ "jdbc:h2:mem:replica1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"employees.datasource.replica.username=sa", "employees.datasource.replica.password=",
+		"employees.datasource.replica.schema=classpath:employees-schema.sql", "employees.datasource.replica.check-interval=1h" })
+@AutoConfigureMockMvc
+public class EmployeeReplicaRoutingITests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	private ReplicaSet replicaSet;
+
+	private JdbcTemplate primary;
+
+	private JdbcTemplate replica0;
+
+	private JdbcTemplate replica1;
+
+	@BeforeEach
+	public void setUp() {
+		this.primary = new JdbcTemplate(this.primaryDataSource);
+		this.primary.update("delete from employees");
+		for (DataSource replica : this.replicaSet.getReplicas()) {
+			DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("employees-schema.sql")), replica);
+			new JdbcTemplate(replica).update("delete from employees");
+		}
+		this.replica0 = new JdbcTemplate(this.replicaSet.getReplicas().get(0));
+		this.replica1 = new JdbcTemplate(this.replicaSet.getReplicas().get(1));
+		catchUpReplicas();
+	}
+
+	@Test
+	@DisplayName("JUnit test for replica routing - reads are spread over the replicas")
+	public void givenDifferentRowsOnReplicas_whenGetAllEmployeesTwice_thenReadFromEachReplica() throws Exception {
+		// given - precondition or setup
+		insertEmployee(this.replica0, 900001L, "richard.parker@dtechideas.com");
+		insertEmployee(this.replica1, 900002L, "peter.parker@dtechideas.com");
+		// when - action or the behaviour
+		Set<String> emails = new HashSet<>();
+		for (int i = 0; i < 2; i++) {
+			String body = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"))
+					.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+			emails.add(JsonPath.read(body, "$[0].email"));
+		}
+		// then - verify the output
+		assertThat(emails).containsExactlyInAnyOrder("richard.parker@dtechideas.com", "peter.parker@dtechideas.com");
+		assertThat(this.primary.queryForObject("select count(*) from employees", Integer.class)).isZero();
+	}
+
+	@Test
+	@DisplayName("JUnit test for replica routing - a replica failing its health check gets no reads")
+	public void givenUnhealthyReplica_whenGetAllEmployees_thenReadFromHealthyReplicaOnly() throws Exception {
+		// given - precondition or setup
+		insertEmployee(this.replica0, 900001L, "richard.parker@dtechideas.com");
+		insertEmployee(this.replica1, 900002L, "peter.parker@dtechideas.com");
+		this.replica1.execute("drop table " + ReplicaSet.HEARTBEAT_TABLE);
+		this.replicaSet.check();
+		// when - action or the behaviour
+		for (int i = 0; i < 3; i++) {
+			ResultActions response = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"));
+			// then - verify the output
+			response.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].email", is("richard.parker@dtechideas.com")));
+		}
+	}
+
+	@Test
+	@DisplayName("JUnit test for replica routing - writes go to the primary")
+	public void givenNewEmployee_whenCreateEmployee_thenInsertOnPrimaryOnly() throws Exception {
+		// given - precondition or setup
+		Employee employee = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isCreated());
+		assertThat(this.primary.queryForObject("select count(*) from employees where email = ?", Integer.class, employee.getEmail())).isEqualTo(1);
+		assertThat(this.replica0.queryForObject("select count(*) from employees", Integer.class)).isZero();
+		assertThat(this.replica1.queryForObject("select count(*) from employees", Integer.class)).isZero();
+	}
+
+	@Test
+	@DisplayName("JUnit test for replica routing - a client reads its own write from the primary until the replicas caught up")
+	public void givenWriteWithCookie_whenReplicasLag_thenClientReadsFromPrimaryUntilCaughtUp() throws Exception {
+		// given - precondition or setup
+		Employee employee = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		MvcResult write = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee))).andExpect(status().isCreated()).andReturn();
+		Cookie writePosition = write.getResponse().getCookie(ReadYourWritesFilter.WRITE_POSITION_COOKIE);
+		this.replicaSet.check();
+		// when - action or the behaviour
+		ResultActions clientRead = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true").cookie(writePosition));
+		ResultActions otherRead = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"));
+		catchUpReplicas();
+		ResultActions caughtUpRead = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true").cookie(writePosition));
+		// then - verify the output
+		assertThat(write.getRequest().getSession(false)).isNull();
+		assertThat(write.getResponse().getContentAsString()).contains(employee.getEmail());
+		clientRead.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(1)))
+		.andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+		otherRead.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(0)));
+		/* The stand-in replicas never receive the row, an empty list shows the read went to a replica */
+		caughtUpRead.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(0)));
+	}
+
+	@Test
+	@DisplayName("JUnit test for replica routing - a write that is refused sets no write position")
+	public void givenUnknownEmployee_whenUpdateEmployee_thenSetNoWritePositionCookie() throws Exception {
+		// given - precondition or setup
+		Employee employee = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		// when - action or the behaviour
+		MvcResult write = mockMvc.perform(put("/api/v1/employees/{id}", 900004L).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee))).andReturn();
+		// then - verify the output
+		assertThat(write.getResponse().getStatus()).isEqualTo(404);
+		assertThat(write.getResponse().getCookie(ReadYourWritesFilter.WRITE_POSITION_COOKIE)).isNull();
+	}
+
+	@Test
+	@DisplayName("JUnit test for replica routing - a cache miss is loaded from the primary, not a replica without the row")
+	public void givenEmployeeNotReplicatedYet_whenGetEmployeeById_thenLoadFromPrimary() throws Exception {
+		// given - precondition or setup
+		insertEmployee(this.primary, 900003L, "mary.jane@dtechideas.com");
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", 900003L));
+		ResultActions cachedResponse = mockMvc.perform(get("/api/v1/employees/{id}", 900003L));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.email", is("mary.jane@dtechideas.com")));
+		cachedResponse.andExpect(status().isOk());
+	}
+
+	/* What replication would do: the replicas apply the primary's next heartbeat */
+	private void catchUpReplicas() {
+		long position = this.replicaSet.writePosition();
+		for (DataSource replica : this.replicaSet.getReplicas()) {
+			new JdbcTemplate(replica).update("update " + ReplicaSet.HEARTBEAT_TABLE + " set position = ? where id = 1", position);
+		}
+		this.replicaSet.check();
+	}
+
+	private void insertEmployee(JdbcTemplate replica, Long id, String email) {
+		replica.update("insert into employees (id, first_name, last_name, email, version) values (?, 'Replica', 'Employee', ?, 0)", id, email);
+	}
+}
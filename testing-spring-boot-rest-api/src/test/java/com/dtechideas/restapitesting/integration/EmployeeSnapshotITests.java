@@ -0,0 +1,66 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshotStore;
+
+/* The schedule is pushed out of the way, the tests refresh explicitly */
+@SpringBootTest(properties = { "employees.snapshot.enabled=true", "employees.snapshot.refresh-interval=1h" })
+@AutoConfigureMockMvc
+public class EmployeeSnapshotITests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeSnapshotStore snapshotStore;
+
+	@BeforeEach
+	public void setUp() {
+		this.employeeRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - served from the last snapshot")
+	public void givenRefreshedSnapshot_whenGetAllEmployees_thenReturnTableAsOfLastRefresh() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		Employee employee2 = new Employee("Peter", "Parker", "peter.parker@dtechideas.com");
+		this.employeeRepository.saveAll(List.of(employee1, employee2));
+		this.snapshotStore.refresh();
+		this.employeeRepository.save(new Employee("Mary", "Jane", "mary.jane@dtechideas.com"));
+		// when - action or the behaviour
+		ResultActions beforeRefresh = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"));
+		this.snapshotStore.refresh();
+		ResultActions afterRefresh = mockMvc.perform(get("/api/v1/employees").param("unpaged", "true"));
+		// then - verify the output
+		beforeRefresh.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(2)))
+		.andExpect(jsonPath("$[0].email", is(employee1.getEmail())))
+		.andExpect(jsonPath("$[1].version", is(0)));
+		afterRefresh.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.size()", is(3)));
+	}
+}
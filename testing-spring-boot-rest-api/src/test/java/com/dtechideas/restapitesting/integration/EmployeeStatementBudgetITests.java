@@ -0,0 +1,252 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.dtechideas.restapitesting.metrics.SqlStatementMetricsFilter;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Hard per-endpoint budgets of SQL statements, read from the employees.http.sql.statements metric.
+ * A failing test here means a request started to issue extra round-trips (N+1, find-then-save, find-then-delete).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeStatementBudgetITests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		this.employeeRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of GET /api/v1/employees/{id}")
+	public void givenEmployee_whenGetEmployeeById_thenRunOneStatementThenNone() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = saveEmployees(1).get(0);
+		// when - action or the behaviour
+		int firstRead = statements(get("/api/v1/employees/{id}", savedEmployee.getId()), status().isOk());
+		int cachedRead = statements(get("/api/v1/employees/{id}", savedEmployee.getId()), status().isOk());
+		// then - verify the output
+		assertThat(firstRead).isEqualTo(1);
+		assertThat(cachedRead).isZero();
+	}
+
+	@Test
+	@DisplayName("JUnit test for connection use of GET /api/v1/employees/{id} - a cache hit borrows no pooled connection")
+	public void givenCachedEmployee_whenGetEmployeeById_thenAcquireNoConnection() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = saveEmployees(1).get(0);
+		mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId())).andExpect(status().isOk());
+		long acquiredBefore = connectionsAcquired();
+		// when - action or the behaviour
+		for (int i = 0; i < 5; i++) {
+			mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId())).andExpect(status().isOk());
+		}
+		// then - verify the output
+		assertThat(connectionsAcquired()).isEqualTo(acquiredBefore);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of GET /api/v1/employees (one page)")
+	public void givenEmployees_whenGetEmployeesPage_thenRunOneStatement() throws Exception {
+		// given - precondition or setup
+		saveEmployees(20);
+		// when - action or the behaviour
+		int statements = statements(get("/api/v1/employees").param("size", "10"), status().isOk());
+		// then - verify the output
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of GET /api/v1/employees/search (one page)")
+	public void givenEmployees_whenSearchEmployees_thenRunOneStatement() throws Exception {
+		// given - precondition or setup
+		saveEmployees(20);
+		// when - action or the behaviour
+		int statements = statements(get("/api/v1/employees/search").param("lastName", "Employee1").param("match", "PREFIX")
+				.param("size", "5"), status().isOk());
+		// then - verify the output
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of GET /api/v1/employees/autocomplete")
+	public void givenCreatedEmployees_whenAutocompleteEmployees_thenRunOneStatementThenNone() throws Exception {
+		// given - precondition or setup
+		for (int i = 0; i < 3; i++) {
+			Employee employee = new Employee("Typeahead", "Employee" + i, "typeahead.employee" + i + "@dtechideas.com");
+			mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsBytes(employee))).andExpect(status().isCreated());
+		}
+		// when - action or the behaviour
+		int firstRead = statements(get("/api/v1/employees/autocomplete").param("q", "typeahead"), status().isOk());
+		int cachedRead = statements(get("/api/v1/employees/autocomplete").param("q", "typeahead"), status().isOk());
+		// then - verify the output
+		/* the index answers the prefix, the employees come from the cache or from one "id in (...)" query */
+		assertThat(firstRead).isLessThanOrEqualTo(1);
+		assertThat(cachedRead).isZero();
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of GET /api/v1/employees?unpaged=true")
+	public void givenEmployees_whenGetAllEmployees_thenRunOneStatement() throws Exception {
+		// given - precondition or setup
+		saveEmployees(20);
+		// when - action or the behaviour
+		int statements = statements(get("/api/v1/employees").param("unpaged", "true"), status().isOk());
+		// then - verify the output
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of POST /api/v1/employees")
+	public void givenNewEmployee_whenCreateEmployee_thenRunAtMostSequenceAndInsert() throws Exception {
+		// given - precondition or setup
+		Employee employee = new Employee("Richard", "Parker", "richard.parker@dtechideas.com");
+		// when - action or the behaviour
+		int statements = statements(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employee)), status().isCreated());
+		// then - verify the output
+		/* the INSERT, plus one sequence call every employees.id.allocation-size inserts */
+		assertThat(statements).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of PUT /api/v1/employees/{id}")
+	public void givenEmployee_whenUpdateEmployee_thenRunSelectAndUpdate() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = saveEmployees(1).get(0);
+		Employee employee = new Employee("Peter", "Parker", savedEmployee.getEmail());
+		// when - action or the behaviour
+		int statements = statements(put("/api/v1/employees/{id}", savedEmployee.getId()).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employee)), status().isOk());
+		// then - verify the output
+		/* SELECT for the version and the UPDATE guarded by it */
+		assertThat(statements).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of PUT /api/v1/employees/{id} with If-Match")
+	public void givenEmployeeAndETag_whenUpdateEmployee_thenRunOneUpdate() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = saveEmployees(1).get(0);
+		Employee employee = new Employee("Peter", "Parker", savedEmployee.getEmail());
+		// when - action or the behaviour
+		int statements = statements(put("/api/v1/employees/{id}", savedEmployee.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(employee)), status().isOk());
+		// then - verify the output
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of DELETE /api/v1/employees/{id}")
+	public void givenEmployee_whenDeleteEmployeeById_thenRunOneDelete() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = saveEmployees(1).get(0);
+		// when - action or the behaviour
+		int statements = statements(delete("/api/v1/employees/{id}", savedEmployee.getId()), status().isOk());
+		// then - verify the output
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of DELETE /api/v1/employees?ids=")
+	public void givenEmployees_whenDeleteEmployees_thenRunOneDeletePerChunk() throws Exception {
+		// given - precondition or setup
+		List<Employee> savedEmployees = saveEmployees(20);
+		StringBuilder ids = new StringBuilder();
+		for (Employee savedEmployee : savedEmployees) {
+			ids.append(ids.length() == 0 ? "" : ",").append(savedEmployee.getId());
+		}
+		// when - action or the behaviour
+		int statements = statements(delete("/api/v1/employees").param("ids", ids.toString()), status().isOk());
+		// then - verify the output
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("JUnit test for statement budget of POST /api/v1/employees/batch")
+	public void givenNewEmployees_whenCreateEmployees_thenRunDuplicateCheckAndBatchedInserts() throws Exception {
+		// given - precondition or setup
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			employees.add(new Employee("Batch", "Employee" + i, "batch.employee" + i + "@dtechideas.com"));
+		}
+		// when - action or the behaviour
+		int statements = statements(post("/api/v1/employees/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employees)), status().isOk());
+		// then - verify the output
+		/* the "email in (...)" check, at most one sequence call and one batched INSERT, never one statement per item */
+		assertThat(statements).isLessThanOrEqualTo(3);
+	}
+
+	/* Every getConnection() on the Hikari pool, transactions that never run a statement included */
+	private long connectionsAcquired() {
+		return this.meterRegistry.get("hikaricp.connections.acquire").timer().count();
+	}
+
+	private List<Employee> saveEmployees(int count) {
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			employees.add(new Employee("Budget", "Employee" + i, "budget.employee" + i + "@dtechideas.com"));
+		}
+		return this.employeeRepository.saveAll(employees);
+	}
+
+	/* Performs the request and returns the statements it added to the statement metric of its endpoint */
+	private int statements(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+		Map<Meter.Id, Double> amountsBefore = new HashMap<>();
+		Map<Meter.Id, Long> countsBefore = new HashMap<>();
+		for (DistributionSummary summary : meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME).summaries()) {
+			amountsBefore.put(summary.getId(), summary.totalAmount());
+			countsBefore.put(summary.getId(), summary.count());
+		}
+		mockMvc.perform(request).andExpect(expectedStatus);
+		for (DistributionSummary summary : meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME).summaries()) {
+			if (summary.count() > countsBefore.getOrDefault(summary.getId(), 0L)) {
+				return (int) (summary.totalAmount() - amountsBefore.getOrDefault(summary.getId(), 0.0));
+			}
+		}
+		throw new AssertionError("No statements were recorded for the request");
+	}
+}
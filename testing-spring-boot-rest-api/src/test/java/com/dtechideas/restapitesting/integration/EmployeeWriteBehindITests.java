@@ -0,0 +1,112 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+import com.dtechideas.restapitesting.writebehind.EmployeeWriteBehindQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* The schedule is pushed out of the way, the tests flush explicitly */
+@SpringBootTest(properties = { "employees.write-behind.enabled=true", "employees.write-behind.log-dir=target/employee-updates-itests",
+		"employees.write-behind.flush-interval=1h" })
+@AutoConfigureMockMvc
+public class EmployeeWriteBehindITests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeWriteBehindQueue writeBehindQueue;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	public void setUp() {
+		this.writeBehindQueue.flush();
+		this.employeeRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind updateEmployee - read-your-writes before the flush, one write after it")
+	public void givenTwoUpdates_whenReadBeforeAndAfterFlush_thenReturnLatestStateAndWriteItOnce() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = employeeRepository.save(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		update(savedEmployee.getId(), new Employee("Rick", "Parker", "richard.parker@dtechideas.com")).andExpect(status().isOk());
+		update(savedEmployee.getId(), new Employee("Dick", "Parker", "richard.parker@dtechideas.com"))
+		.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId()));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.firstName", is("Dick")));
+		assertThat(employeeRepository.findById(savedEmployee.getId()).get().getFirstName()).isEqualTo("Richard");
+		writeBehindQueue.flush();
+		Employee flushedEmployee = employeeRepository.findById(savedEmployee.getId()).get();
+		assertThat(flushedEmployee.getFirstName()).isEqualTo("Dick");
+		assertThat(flushedEmployee.getVersion()).isEqualTo(2);
+		mockMvc.perform(get("/api/v1/employees/{id}", savedEmployee.getId()))
+		.andExpect(jsonPath("$.firstName", is("Dick")))
+		.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind updateEmployee - If-Match is checked against the flushed state")
+	public void givenPendingUpdate_whenUpdateWithIfMatch_thenFlushAndApplyConditionally() throws Exception {
+		// given - precondition or setup
+		Employee savedEmployee = employeeRepository.save(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		update(savedEmployee.getId(), new Employee("Rick", "Parker", "richard.parker@dtechideas.com")).andExpect(status().isOk());
+		// when - action or the behaviour
+		ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", savedEmployee.getId())
+				.header(HttpHeaders.IF_MATCH, "\"1\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new Employee("Dick", "Parker", "richard.parker@dtechideas.com"))));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+		assertThat(writeBehindQueue.isEmpty()).isTrue();
+		assertThat(employeeRepository.findById(savedEmployee.getId()).get().getFirstName()).isEqualTo("Dick");
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind updateEmployee - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFoundAndEnqueueNothing() throws Exception {
+		// when - action or the behaviour
+		ResultActions response = update(0L, new Employee("Rick", "Parker", "rick.parker@dtechideas.com"));
+		// then - verify the output
+		response.andDo(print())
+		.andExpect(status().isNotFound());
+		assertThat(writeBehindQueue.isEmpty()).isTrue();
+	}
+
+	private ResultActions update(Long id, Employee employee) throws Exception {
+		return mockMvc.perform(put("/api/v1/employees/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)));
+	}
+}
@@ -0,0 +1,38 @@
+package com.dtechideas.restapitesting.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.dtechideas.restapitesting.reactive.ReactiveEmployeeApplication;
+
+/* EmployeeApiContract against ReactiveEmployeeApplication, WebFlux and R2DBC on an in-memory H2 database */
+public class ReactiveEmployeeApiContractITests extends EmployeeApiContract {
+
+	private static ConfigurableApplicationContext context;
+
+	@BeforeAll
+	public static void startReactiveApplication() {
+		context = ReactiveEmployeeApplication.builder().run("--server.port=0",
+				"--employees.reactive.r2dbc.url=r2dbc:h2:mem:///reactive-contract?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+				"--employees.reactive.r2dbc.username=sa", "--employees.reactive.r2dbc.password=",
+				"--employees.reactive.r2dbc.schema=classpath:employees-schema.sql");
+	}
+
+	@AfterAll
+	public static void stopReactiveApplication() {
+		context.close();
+	}
+
+	@Override
+	protected WebTestClient client() {
+		return WebTestClient.bindToApplicationContext(context).build();
+	}
+
+	@Override
+	protected void deleteAllEmployees() {
+		context.getBean(DatabaseClient.class).sql("delete from employees").fetch().rowsUpdated().block();
+	}
+}
@@ -0,0 +1,89 @@
+package com.dtechideas.restapitesting.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.dtechideas.restapitesting.cache.invalidation.EmployeeInvalidation;
+import com.dtechideas.restapitesting.cache.invalidation.JdbcPollingInvalidationTransport;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.reactive.ReactiveEmployeeApplication;
+
+/*
+ * ReactiveEmployeeApplication with the jdbc invalidation transport, and the transport a servlet node would poll with
+ * over plain JDBC. Both reach the same in-memory H2 database by name.
+ */
+public class ReactiveEmployeeInvalidationITests {
+
+	private ConfigurableApplicationContext context;
+
+	private JdbcPollingInvalidationTransport servletNodeTransport;
+
+	private BlockingQueue<EmployeeInvalidation> receivedOnServletNode;
+
+	@BeforeEach
+	public void setUp() {
+		context = ReactiveEmployeeApplication.builder().run("--server.port=0",
+				"--employees.reactive.r2dbc.url=r2dbc:h2:mem:///reactive-invalidation?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+				"--employees.reactive.r2dbc.username=sa", "--employees.reactive.r2dbc.password=",
+				"--employees.reactive.r2dbc.schema=classpath:employees-schema.sql",
+				"--employees.cache.invalidation.transport=jdbc", "--employees.cache.invalidation.node-id=reactive-node");
+		servletNodeTransport = new JdbcPollingInvalidationTransport(
+				new DriverManagerDataSource("jdbc:h2:mem:reactive-invalidation;DB_CLOSE_DELAY=-1;MODE=MySQL", "sa", ""),
+				Duration.ofMillis(50), Duration.ofSeconds(10), Duration.ofMinutes(10));
+		servletNodeTransport.afterPropertiesSet();
+		receivedOnServletNode = new LinkedBlockingQueue<>();
+		servletNodeTransport.subscribe(receivedOnServletNode::add);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		servletNodeTransport.destroy();
+		context.close();
+	}
+
+	@Test
+	@DisplayName("JUnit test for reactive writes - create, update and delete reach the servlet node's poller")
+	public void givenReactiveWrites_whenServletNodePolls_thenReceiveInvalidationForEach() throws Exception {
+		// given - precondition or setup
+		WebTestClient client = WebTestClient.bindToApplicationContext(context).build();
+		Employee created = client.post().uri("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee("Richard", "Parker", "richard.parker@dtechideas.com")).exchange()
+				.expectStatus().isCreated().expectBody(Employee.class).returnResult().getResponseBody();
+		// when - action or the behaviour
+		client.put().uri("/api/v1/employees/{id}", created.getId()).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee("Rick", "Parker", "richard.parker@dtechideas.com")).exchange().expectStatus().isOk();
+		client.delete().uri("/api/v1/employees/{id}", created.getId()).exchange().expectStatus().isOk();
+		// then - verify the output
+		for (int write = 0; write < 3; write++) {
+			EmployeeInvalidation invalidation = receivedOnServletNode.poll(5, TimeUnit.SECONDS);
+			assertThat(invalidation).isNotNull();
+			assertThat(invalidation.getEmployeeId()).isEqualTo(created.getId());
+			assertThat(invalidation.getOriginNodeId()).isEqualTo("reactive-node");
+		}
+	}
+
+	@Test
+	@DisplayName("JUnit test for reactive writes - a failed update publishes nothing")
+	public void givenMissingEmployee_whenUpdateEmployee_thenPublishNothing() throws Exception {
+		// given - precondition or setup
+		WebTestClient client = WebTestClient.bindToApplicationContext(context).build();
+		// when - action or the behaviour
+		client.put().uri("/api/v1/employees/{id}", 404404L).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee("Rick", "Parker", "rick.parker@dtechideas.com")).exchange().expectStatus().isNotFound();
+		// then - verify the output
+		assertThat(receivedOnServletNode.poll(300, TimeUnit.MILLISECONDS)).isNull();
+	}
+}
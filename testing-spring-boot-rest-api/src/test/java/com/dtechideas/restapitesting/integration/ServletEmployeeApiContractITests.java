@@ -0,0 +1,30 @@
+package com.dtechideas.restapitesting.integration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+
+/* EmployeeApiContract against EmployeeController, Spring MVC and JPA */
+@SpringBootTest
+public class ServletEmployeeApiContractITests extends EmployeeApiContract {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Override
+	protected WebTestClient client() {
+		return MockMvcWebTestClient.bindToApplicationContext(this.webApplicationContext).build();
+	}
+
+	@Override
+	protected void deleteAllEmployees() {
+		this.employeeRepository.deleteAll();
+	}
+}
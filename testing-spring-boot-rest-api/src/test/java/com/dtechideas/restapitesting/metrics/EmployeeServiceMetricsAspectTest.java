@@ -0,0 +1,64 @@
+package com.dtechideas.restapitesting.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.service.EmployeeService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EmployeeServiceMetricsAspectTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private EmployeeService employeeService;
+
+	private EmployeeService timedEmployeeService;
+
+	@BeforeEach
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		employeeService = mock(EmployeeService.class);
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(employeeService);
+		proxyFactory.addAspect(new EmployeeServiceMetricsAspect(meterRegistry));
+		timedEmployeeService = proxyFactory.getProxy();
+	}
+
+	@Test
+	@DisplayName("JUnit test for service metrics - successful calls are timed per method")
+	public void givenEmployeeService_whenMethodSucceeds_thenRecordTimerPerMethod() {
+		// given - precondition or setup
+		given(employeeService.getEmployeeById(1L)).willReturn(new Employee(1L, "Richard", "Parker", "richard.parker@dtechideas.com"));
+		// when - action or the behaviour
+		timedEmployeeService.getEmployeeById(1L);
+		timedEmployeeService.getEmployeeById(1L);
+		// then - verify the output
+		Timer timer = meterRegistry.get(EmployeeServiceMetricsAspect.METRIC_NAME).tag("method", "getEmployeeById").tag("exception", "none").timer();
+		assertThat(timer.count()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for service metrics - failed calls are tagged with the exception")
+	public void givenEmployeeService_whenMethodThrows_thenRecordTimerWithException() {
+		// given - precondition or setup
+		given(employeeService.getEmployeeById(0L)).willThrow(new ResourceNotFoundException("Employee", "id", 0L));
+		// when - action or the behaviour
+		assertThrows(ResourceNotFoundException.class, () -> {
+			timedEmployeeService.getEmployeeById(0L);
+		});
+		// then - verify the output
+		Timer timer = meterRegistry.get(EmployeeServiceMetricsAspect.METRIC_NAME).tag("method", "getEmployeeById")
+				.tag("exception", "ResourceNotFoundException").timer();
+		assertThat(timer.count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,28 @@
+package com.dtechideas.restapitesting.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SqlStatementCounterTest {
+
+	private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+
+	@Test
+	@DisplayName("JUnit test for SQL statement counter - counts only between start and stop")
+	public void givenStartedCounter_whenStatementsInspected_thenCountThemUntilStop() {
+		// given - precondition or setup
+		sqlStatementCounter.inspect("select 1");
+		SqlStatementCounter.start();
+		// when - action or the behaviour
+		String sql = sqlStatementCounter.inspect("select * from employees");
+		sqlStatementCounter.inspect("delete from employees where id = ?");
+		int statements = SqlStatementCounter.stop();
+		sqlStatementCounter.inspect("select 1");
+		// then - verify the output
+		assertThat(sql).isEqualTo("select * from employees");
+		assertThat(statements).isEqualTo(2);
+		assertThat(SqlStatementCounter.current()).isZero();
+	}
+}
@@ -2,9 +2,14 @@ package com.dtechideas.restapitesting.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import javax.sql.DataSource;
+
+import org.hibernate.Session;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,8 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 
 // By default, it will expect in-memory database (like H2) for testing, If we want to test against any other database like MySQL, use the following annotation: @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) 
 @DataJpaTest
@@ -23,6 +32,12 @@ public class EmployeeRepositoryTest {
 	@Autowired
 	private EmployeeRepository employeeRepository;
 	
+	@Autowired
+	private DataSource dataSource;
+	
+	@Autowired
+	private TestEntityManager testEntityManager;
+	
 	private Employee employee;
 	
 	@BeforeEach
@@ -63,6 +78,80 @@ public class EmployeeRepositoryTest {
 		assertThat(employees.size()).isEqualTo(3);
 	}
 
+	// JUnit test for keyset page of Employees
+	@Test
+	@DisplayName("JUnit test for find next page of Employees operation")
+	public void givenEmployeesList_whenFindNextPage_thenReturnEmployeesAfterId() {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Aravinth", "Palanisamy", "aravinth.p@dtechideas.com");
+		Employee employee2 = new Employee("Balamurugan", "Mani", "balamurugan.m@dtechideas.com");
+		Employee employee3 = new Employee("Chandru", "Ravichandran", "chandru.r@dtechideas.com");
+		employeeRepository.save(employee1);
+		employeeRepository.save(employee2);
+		employeeRepository.save(employee3);
+		// when - action or the behaviour
+		List<Employee> employees = employeeRepository.findNextPage(employee1.getId(), PageRequest.of(0, 1));
+		// then - verify the output
+		assertThat(employees).hasSize(1);
+		assertThat(employees.get(0).getId()).isEqualTo(employee2.getId());
+	}
+
+	// JUnit test for visiting every Employee through the streaming cursor
+	@Test
+	@DisplayName("JUnit test for for each Employee operation")
+	public void givenEmployeesList_whenForEachEmployee_thenVisitEveryEmployeeInIdOrder() {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Aravinth", "Palanisamy", "aravinth.p@dtechideas.com");
+		Employee employee2 = new Employee("Balamurugan", "Mani", "balamurugan.m@dtechideas.com");
+		employeeRepository.save(employee1);
+		employeeRepository.save(employee2);
+		// when - action or the behaviour
+		List<Long> visitedIds = new ArrayList<>();
+		employeeRepository.forEachEmployee(visitedEmployee -> visitedIds.add(visitedEmployee.getId()));
+		// then - verify the output
+		assertThat(visitedIds).containsExactly(employee1.getId(), employee2.getId());
+	}
+
+	// JUnit test for visiting every Employee row without loading entities
+	@Test
+	@DisplayName("JUnit test for for each Employee row operation")
+	public void givenEmployeesList_whenForEachEmployeeRow_thenVisitColumnsWithoutManagedEntities() {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Aravinth", "Palanisamy", "aravinth.p@dtechideas.com");
+		Employee employee2 = new Employee("Balamurugan", "Mani", "balamurugan.m@dtechideas.com");
+		employeeRepository.save(employee1);
+		employeeRepository.save(employee2);
+		testEntityManager.flush();
+		testEntityManager.clear();
+		// when - action or the behaviour
+		List<String> visitedRows = new ArrayList<>();
+		employeeRepository.forEachEmployeeRow((id, firstName, lastName, email, version) -> visitedRows.add(id + " " + email + " " + version));
+		// then - verify the output
+		assertThat(visitedRows).containsExactly(employee1.getId() + " aravinth.p@dtechideas.com 0", employee2.getId() + " balamurugan.m@dtechideas.com 0");
+		assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	// JUnit test for the projections that bypass the persistence context
+	@Test
+	@DisplayName("JUnit test for find all projected Employees operation")
+	public void givenEmployeesList_whenFindAllProjected_thenReturnUnmanagedEmployees() {
+		// given - precondition or setup
+		Employee employee1 = new Employee("Aravinth", "Palanisamy", "aravinth.p@dtechideas.com");
+		Employee employee2 = new Employee("Balamurugan", "Mani", "balamurugan.m@dtechideas.com");
+		employeeRepository.save(employee1);
+		employeeRepository.save(employee2);
+		testEntityManager.flush();
+		testEntityManager.clear();
+		// when - action or the behaviour
+		List<Employee> employees = employeeRepository.findAllProjected();
+		Employee projectedEmployee = employeeRepository.findProjectedById(employee2.getId()).get();
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getEmail).containsExactly(employee1.getEmail(), employee2.getEmail());
+		assertThat(projectedEmployee.getFirstName()).isEqualTo("Balamurugan");
+		assertThat(testEntityManager.getEntityManager().contains(projectedEmployee)).isFalse();
+		assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
 	// JUnit test for get Employee by Id
 	@Test
 	@DisplayName("JUnit test for get Employee By Id operation")
@@ -91,6 +180,18 @@ public class EmployeeRepositoryTest {
 		assertThat(foundEmployee.getEmail()).isEqualTo(employee.getEmail());
 	}
 
+	// JUnit test for checking many Emails with one query
+	@Test
+	@DisplayName("JUnit test for find existing Emails operation")
+	public void givenEmployee_whenFindExistingEmails_thenReturnOnlyKnownEmails() {
+		// given - precondition or setup
+		employeeRepository.save(employee);
+		// when - action or the behaviour
+		List<String> existingEmails = employeeRepository.findExistingEmails(List.of(employee.getEmail(), "unknown@dtechideas.com"));
+		// then - verify the output
+		assertThat(existingEmails).containsExactly(employee.getEmail());
+	}
+
 	// JUnit test for update Employee
 	@Test
 	@DisplayName("JUnit test for update Employee operation")
@@ -108,6 +209,41 @@ public class EmployeeRepositoryTest {
 		assertThat(updatedEmployee.getEmail()).isEqualTo(newEmail);
 	}
 
+	// JUnit test for conditional update of Employee
+	@Test
+	@DisplayName("JUnit test for update Employee if version matches operation")
+	public void givenEmployee_whenUpdateIfVersionMatches_thenUpdateOnlyCurrentVersion() {
+		// given - precondition or setup
+		Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+		long version = savedEmployee.getVersion();
+		// when - action or the behaviour
+		int staleUpdates = employeeRepository.updateIfVersionMatches(savedEmployee.getId(), version + 1, "Stale", "Write", savedEmployee.getEmail());
+		int updates = employeeRepository.updateIfVersionMatches(savedEmployee.getId(), version, "Sudhakar", "Dhandapani", savedEmployee.getEmail());
+		// then - verify the output
+		assertThat(staleUpdates).isZero();
+		assertThat(updates).isEqualTo(1);
+		Employee updatedEmployee = employeeRepository.findById(savedEmployee.getId()).get();
+		assertThat(updatedEmployee.getFirstName()).isEqualTo("Sudhakar");
+		assertThat(updatedEmployee.getVersion()).isEqualTo(version + 1);
+	}
+
+	// JUnit test for write-behind update of Employee
+	@Test
+	@DisplayName("JUnit test for update Employee to version operation")
+	public void givenEmployee_whenUpdateToVersion_thenUpdateOnlyToNewerVersion() {
+		// given - precondition or setup
+		Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+		long version = savedEmployee.getVersion();
+		// when - action or the behaviour
+		int updates = employeeRepository.updateToVersion(savedEmployee.getId(), version + 2, "Sudhakar", "Dhandapani", savedEmployee.getEmail());
+		int olderUpdates = employeeRepository.updateToVersion(savedEmployee.getId(), version + 1, "Stale", "Write", savedEmployee.getEmail());
+		// then - verify the output
+		assertThat(updates).isEqualTo(1);
+		assertThat(olderUpdates).isZero();
+		assertThat(employeeRepository.findVersionById(savedEmployee.getId())).contains(version + 2);
+		assertThat(employeeRepository.findById(savedEmployee.getId()).get().getFirstName()).isEqualTo("Sudhakar");
+	}
+
 	// JUnit test for delete Employee by Id
 	@Test
 	@DisplayName("JUnit test for delete Employee By Id operation")
@@ -122,8 +258,40 @@ public class EmployeeRepositoryTest {
 		assertThat(optionalEmployee).isEmpty();
 	}
 
+	// JUnit test for single statement delete Employee by Id
+	@Test
+	@DisplayName("JUnit test for delete Employee By Id returning the affected row count")
+	public void givenEmployee_whenDeleteEmployeeById_thenReturnAffectedRowCount() {
+		// given - precondition or setup
+		Employee savedEmployee = employeeRepository.save(employee);
+		// when - action or the behaviour
+		int deleted = employeeRepository.deleteEmployeeById(savedEmployee.getId());
+		int deletedAgain = employeeRepository.deleteEmployeeById(savedEmployee.getId());
+		// then - verify the output
+		assertThat(deleted).isEqualTo(1);
+		assertThat(deletedAgain).isZero();
+		assertThat(employeeRepository.findById(savedEmployee.getId())).isEmpty();
+	}
+
+	// JUnit test for delete Employees by Ids
+	@Test
+	@DisplayName("JUnit test for delete Employees By Ids operation")
+	public void givenEmployees_whenDeleteEmployeesByIds_thenRemoveOnlyGivenEmployees() {
+		// given - precondition or setup
+		Employee employee1 = employeeRepository.save(new Employee("Richard", "Parker", "richard.parker@dtechideas.com"));
+		Employee employee2 = employeeRepository.save(new Employee("Peter", "Parker", "peter.parker@dtechideas.com"));
+		Employee employee3 = employeeRepository.save(new Employee("May", "Parker", "may.parker@dtechideas.com"));
+		// when - action or the behaviour
+		int deleted = employeeRepository.deleteEmployeesByIds(List.of(employee1.getId(), employee3.getId(), 0L));
+		// then - verify the output
+		assertThat(deleted).isEqualTo(2);
+		assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(employee2.getId());
+	}
+
 	// JUnit test for custom query using JPQL with Index
+	// The name finders below are deprecated for searchEmployees(), these tests keep them working until they are removed
 	@Test
+	@SuppressWarnings("deprecation")
 	@DisplayName("JUnit test for custom query using JPQL with Index")
 	public void givenFirstNameLastName_whenFindByJPQLFirstNameLastName_thenReturnEmployee() {
 		// given - precondition or setup
@@ -140,6 +308,7 @@ public class EmployeeRepositoryTest {
 
 	// JUnit test for custom query using JPQL with Named Parameters
 	@Test
+	@SuppressWarnings("deprecation")
 	@DisplayName("JUnit test for custom query using JPQL with Named Parameters")
 	public void givenFirstNameLastName_whenFindByJPQLNamedParamsFirstNameLastName_thenReturnEmployee() {
 		// given - precondition or setup
@@ -156,6 +325,7 @@ public class EmployeeRepositoryTest {
 	
 	// JUnit test for custom query using Native SQL with Index
 		@Test
+		@SuppressWarnings("deprecation")
 		@DisplayName("JUnit test for custom query using Native SQL with Index")
 		public void givenFirstNameLastName_whenFindByNativeSQLFirstNameLastName_thenReturnEmployee() {
 			// given - precondition or setup
@@ -172,6 +342,7 @@ public class EmployeeRepositoryTest {
 
 		// JUnit test for custom query using Native SQL with Named Parameters
 		@Test
+		@SuppressWarnings("deprecation")
 		@DisplayName("JUnit test for custom query using Native SQL with Named Parameters")
 		public void givenFirstNameLastName_whenFindByNativeSQLNamedParamsFirstNameLastName_thenReturnEmployee() {
 			// given - precondition or setup
@@ -186,6 +357,92 @@ public class EmployeeRepositoryTest {
 			assertThat(foundEmployee.getLastName()).isEqualTo(savedEmployee.getLastName());
 		}
 		
+		// JUnit test for the deprecated name lookups with a name that is not unique
+		@Test
+		@SuppressWarnings("deprecation")
+		@DisplayName("JUnit test for custom query using JPQL with Index - duplicate names")
+		public void givenDuplicateNames_whenFindByJPQLFirstNameLastName_thenReturnFirstEmployee() {
+			// given - precondition or setup
+			Employee savedEmployee = employeeRepository.save(employee);
+			employeeRepository.save(new Employee(employee.getFirstName(), employee.getLastName(), "sudhakar.d@dtechideas.com"));
+			// when - action or the behaviour
+			Employee foundEmployee = employeeRepository.findByJPQLFirstNameLastName(employee.getFirstName(), employee.getLastName());
+			// then - verify the output
+			assertThat(foundEmployee.getId()).isEqualTo(savedEmployee.getId());
+		}
+		
+		// JUnit test for search by exact name
+		@Test
+		@DisplayName("JUnit test for search Employees operation - exact name")
+		public void givenDuplicateNames_whenSearchEmployeesByExactName_thenReturnAllInIdOrder() {
+			// given - precondition or setup
+			Employee employee1 = employeeRepository.save(new Employee("Arun", "Kumar", "arun.kumar1@dtechideas.com"));
+			Employee employee2 = employeeRepository.save(new Employee("Arun", "Kumar", "arun.kumar2@dtechideas.com"));
+			employeeRepository.save(new Employee("Arun", "Kumaran", "arun.kumaran@dtechideas.com"));
+			// when - action or the behaviour
+			List<Employee> employees = employeeRepository.searchEmployees(EmployeeSearchCriteria.exactName("Arun", "Kumar"), null, 10);
+			// then - verify the output
+			assertThat(employees).extracting(Employee::getId).containsExactly(employee1.getId(), employee2.getId());
+		}
+		
+		// JUnit test for search by prefix, ordered by last name and first name, one page after another
+		@Test
+		@DisplayName("JUnit test for search Employees operation - prefix and next page")
+		public void givenEmployees_whenSearchEmployeesByPrefix_thenReturnPagesInNameOrder() {
+			// given - precondition or setup
+			Employee employee1 = employeeRepository.save(new Employee("Bala", "Kumaran", "bala.kumaran@dtechideas.com"));
+			Employee employee2 = employeeRepository.save(new Employee("Arun", "Kumar", "arun.kumar@dtechideas.com"));
+			Employee employee3 = employeeRepository.save(new Employee("Arun", "Kumaran", "arun.kumaran@dtechideas.com"));
+			employeeRepository.save(new Employee("Kumar", "Raja", "kumar.raja@dtechideas.com"));
+			EmployeeSearchCriteria criteria = new EmployeeSearchCriteria(null, "Kum", null, EmployeeSearchCriteria.Match.PREFIX);
+			// when - action or the behaviour
+			List<Employee> firstPage = employeeRepository.searchEmployees(criteria, null, 2);
+			List<Employee> secondPage = employeeRepository.searchEmployees(criteria, firstPage.get(1), 2);
+			// then - verify the output
+			assertThat(firstPage).extracting(Employee::getId).containsExactly(employee2.getId(), employee3.getId());
+			assertThat(secondPage).extracting(Employee::getId).containsExactly(employee1.getId());
+		}
+		
+		// JUnit test for search by prefix with LIKE wildcards in the value
+		@Test
+		@DisplayName("JUnit test for search Employees operation - wildcards are matched literally")
+		public void givenWildcardInPrefix_whenSearchEmployees_thenMatchLiterally() {
+			// given - precondition or setup
+			Employee employee1 = employeeRepository.save(new Employee("Arun", "Kumar", "a_kumar@dtechideas.com"));
+			employeeRepository.save(new Employee("Arun", "Kumar", "ab.kumar@dtechideas.com"));
+			EmployeeSearchCriteria criteria = new EmployeeSearchCriteria(null, null, "a_", EmployeeSearchCriteria.Match.PREFIX);
+			// when - action or the behaviour
+			List<Employee> employees = employeeRepository.searchEmployees(criteria, null, 10);
+			// then - verify the output
+			assertThat(employees).extracting(Employee::getId).containsExactly(employee1.getId());
+		}
+		
+		// JUnit test for the query plan of a name search, it has to use the composite name index
+		@Test
+		@DisplayName("JUnit test for search Employees operation - query plan uses the name index")
+		public void givenEmployees_whenExplainNameSearch_thenUseNameIndex() {
+			// given - precondition or setup
+			List<Employee> employees = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				employees.add(new Employee("First" + i, "Last" + (i % 50), "employee" + i + "@dtechideas.com"));
+			}
+			employeeRepository.saveAll(employees);
+			employeeRepository.flush();
+			EmployeeSearchQuery searchQuery = EmployeeSearchQuery.of(new EmployeeSearchCriteria("First", "Last1",
+					null, EmployeeSearchCriteria.Match.PREFIX), new Employee(10L, "First10", "Last10", null), 50);
+			// when - action or the behaviour
+			String plan = String.join(" ", new NamedParameterJdbcTemplate(dataSource).query("explain " + searchQuery.getSql(),
+					searchQuery.getParameters(), (resultSet, rowNum) -> {
+						StringBuilder row = new StringBuilder();
+						for (int column = 1; column <= resultSet.getMetaData().getColumnCount(); column++) {
+							row.append(resultSet.getString(column)).append(' ');
+						}
+						return row.toString();
+					}));
+			// then - verify the output
+			assertThat(plan).containsIgnoringCase("idx_employees_last_name_first_name");
+		}
+		
 		@AfterEach
 		public void tearDown()
 		{
@@ -1,15 +1,23 @@
 package com.dtechideas.restapitesting.service;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -19,21 +27,52 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import com.dtechideas.restapitesting.cache.EmployeeCache;
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.exception.InvalidCursorException;
+import com.dtechideas.restapitesting.exception.PreconditionFailedException;
 import com.dtechideas.restapitesting.exception.ResourceAlreadyExistsException;
 import com.dtechideas.restapitesting.exception.ResourceNotFoundException;
+import com.dtechideas.restapitesting.index.EmployeeEmailIndex;
+import com.dtechideas.restapitesting.index.EmployeeNameIndex;
 import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.model.EmployeeBatchResult;
+import com.dtechideas.restapitesting.model.EmployeePage;
+import com.dtechideas.restapitesting.model.EmployeeSearchCriteria;
 import com.dtechideas.restapitesting.repository.EmployeeRepository;
 import com.dtechideas.restapitesting.service.impl.EmployeeServiceImpl;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshot;
+import com.dtechideas.restapitesting.snapshot.EmployeeSnapshotStore;
+import com.dtechideas.restapitesting.writebehind.EmployeeWriteBehindQueue;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTest {
 
 	@Mock
 	private EmployeeRepository employeeRepository;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@Mock
+	private EmployeeWriteBehindQueue writeBehindQueue;
+	@Mock
+	private EmployeeSnapshotStore snapshotStore;
+	/* A real cache, so every test starts empty and still reads through to the mocked repository */
+	@Spy
+	private EmployeeCache employeeCache = new EmployeeCache(100, Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+	@Spy
+	private EmployeeEmailIndex employeeEmailIndex = new EmployeeEmailIndex();
+	@Spy
+	private EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
 	@InjectMocks
 	private EmployeeServiceImpl employeeService;
 
@@ -54,12 +93,13 @@ public class EmployeeServiceTest {
 	@DisplayName("JUnit test for saveEmployee operation")
 	public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
 		// given - precondition or setup
-		given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
 		given(employeeRepository.save(employee)).willReturn(employee);
 		// when - action or the behaviour
 		Employee savedEmployee = employeeService.saveEmployee(employee);
 		// then - verify the output
 		assertThat(savedEmployee).isNotNull();
+		// an email unknown to the index is not looked up, the unique constraint decides
+		verify(employeeRepository, never()).findByEmail(any(String.class));
 
 	}
 
@@ -67,6 +107,7 @@ public class EmployeeServiceTest {
 	@DisplayName("JUnit test for saveEmployee operation - ResourceAlreadyExists Exception")
 	public void givenEmployeeObject_whenSaveEmployee_thenThrowsResourceAlreadyExistsException() {
 		// given - precondition or setup
+		employeeEmailIndex.put(employee);
 		given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
 		// when - action or the behaviour
 		assertThrows(ResourceAlreadyExistsException.class, () -> {
@@ -76,6 +117,55 @@ public class EmployeeServiceTest {
 		verify(employeeRepository, never()).save(any(Employee.class));
 	}
 	
+	@Test
+	@DisplayName("JUnit test for saveEmployee operation - unique constraint violation becomes ResourceAlreadyExists Exception")
+	public void givenEmailTakenConcurrently_whenSaveEmployee_thenThrowsResourceAlreadyExistsException() {
+		// given - precondition or setup
+		given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException("could not execute statement",
+				new SQLException("Duplicate entry for key 'employees.email'", "23000", 1062)));
+		// when - action or the behaviour
+		ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class, () -> {
+			employeeService.saveEmployee(employee);
+		});
+		// then - verify the output
+		assertThat(exception.getFieldValue()).isEqualTo(employee.getEmail());
+		verify(employeeRepository, never()).findByEmail(any(String.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for saveEmployee operation - stale email index entry")
+	public void givenStaleEmailIndexEntry_whenSaveEmployee_thenConfirmWithRepositoryAndSave() {
+		// given - precondition or setup
+		employeeEmailIndex.put(new Employee(2L, "Meenakshi", "R", employee.getEmail()));
+		given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
+		given(employeeRepository.save(employee)).willReturn(employee);
+		// when - action or the behaviour
+		Employee savedEmployee = employeeService.saveEmployee(employee);
+		// then - verify the output
+		assertThat(savedEmployee).isSameAs(employee);
+		assertThat(employeeEmailIndex.contains(employee.getEmail())).isFalse();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for saveEmployees batch operation")
+	public void givenEmployeesList_whenSaveEmployees_thenCheckEmailsOnceAndReportOutcomePerItem() {
+		// given - precondition or setup
+		Employee existing = new Employee("Dhandapani","Sudhakar","dhandapani.sudhakar@dtechideas.com");
+		Employee duplicateInRequest = new Employee("Meena","Ramesh","meenakshi.ramesh@dtechideas.com");
+		given(employeeRepository.findExistingEmails(anySet())).willReturn(List.of(existing.getEmail()));
+		given(employeeRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+		// when - action or the behaviour
+		List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, existing, duplicateInRequest));
+		// then - verify the output
+		assertThat(results).extracting(EmployeeBatchResult::getStatus).containsExactly(EmployeeBatchResult.Status.CREATED,
+				EmployeeBatchResult.Status.ALREADY_EXISTS, EmployeeBatchResult.Status.ALREADY_EXISTS);
+		assertThat(results.get(0).getEmployee()).isSameAs(employee);
+		assertThat(results.get(1).getMessage()).contains(existing.getEmail());
+		verify(employeeRepository, times(1)).findExistingEmails(anySet());
+		verify(employeeRepository, times(1)).saveAll(List.of(employee));
+		verify(employeeRepository, never()).findByEmail(any(String.class));
+	}
+	
 	@Test
 	@DisplayName("JUnit test for getAllEmployees operation")
 	public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
@@ -102,6 +192,173 @@ public class EmployeeServiceTest {
 		assertThat(employees.size()).isEqualTo(0);
 	}
 	
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - served from snapshot")
+	public void givenSnapshot_whenGetAllEmployees_thenReturnSnapshotRowsWithoutRepository() {
+		// given - precondition or setup
+		employeeService.setSnapshotStore(snapshotStore);
+		given(snapshotStore.current()).willReturn(EmployeeSnapshot.builder()
+				.add(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com", 0L)
+				.add(2L, "Kathirvel", "Sudhakar", "kathirvel.sudhakar@dtechideas.com", 0L)
+				.build());
+		// when - action or the behaviour
+		List<Employee> employees = employeeService.getAllEmployees();
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getEmail).containsExactly("dhandapani.sudhakar@dtechideas.com", "kathirvel.sudhakar@dtechideas.com");
+		verify(employeeRepository, never()).findAll();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for exportEmployees operation - before the first snapshot")
+	public void givenNoSnapshotYet_whenExportEmployees_thenVisitEveryEmployeeThroughRepositoryCursor() {
+		// given - precondition or setup
+		employeeService.setSnapshotStore(snapshotStore);
+		given(snapshotStore.current()).willReturn(null);
+		Consumer<Employee> consumer = exportedEmployee -> { };
+		// when - action or the behaviour
+		employeeService.exportEmployees(consumer);
+		// then - verify the output
+		verify(employeeRepository).forEachEmployee(consumer);
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getAllEmployees operation - projections")
+	public void givenReadProjections_whenGetAllEmployees_thenUseProjectionQuery() {
+		// given - precondition or setup
+		employeeService.setReadProjections(true);
+		given(employeeRepository.findAllProjected()).willReturn(List.of(employee));
+		// when - action or the behaviour
+		List<Employee> employees = employeeService.getAllEmployees();
+		// then - verify the output
+		assertThat(employees).containsExactly(employee);
+		verify(employeeRepository, never()).findAll();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation")
+	public void givenMoreEmployeesThanPageSize_whenGetEmployeesPage_thenReturnPageWithNextCursor() {
+		// given - precondition or setup
+		Employee employee1 = new Employee(1L,"Dhandapani","Sudhakar","dhandapani.sudhakar@dtechideas.com");
+		Employee employee2 = new Employee(2L,"Kathirvel","Sudhakar","kathirvel.sudhakar@dtechideas.com");
+		given(employeeRepository.findNextPage(0L, PageRequest.of(0, 2))).willReturn(List.of(employee1,employee2));
+		given(employeeRepository.findNextPage(1L, PageRequest.of(0, 2))).willReturn(List.of(employee2));
+		// when - action or the behaviour
+		EmployeePage firstPage = employeeService.getEmployeesPage(null, 1);
+		EmployeePage lastPage = employeeService.getEmployeesPage(firstPage.getNext(), 1);
+		// then - verify the output
+		assertThat(firstPage.getContent()).containsExactly(employee1);
+		assertThat(firstPage.getNext()).isNotNull();
+		assertThat(lastPage.getContent()).containsExactly(employee2);
+		assertThat(lastPage.getNext()).isNull();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation - page size is capped")
+	public void givenOversizedPageSize_whenGetEmployeesPage_thenQueryMaxPageSize() {
+		// given - precondition or setup
+		given(employeeRepository.findNextPage(anyLong(), any(PageRequest.class))).willReturn(Collections.emptyList());
+		// when - action or the behaviour
+		EmployeePage employeePage = employeeService.getEmployeesPage(null, Integer.MAX_VALUE);
+		// then - verify the output
+		assertThat(employeePage.getContent()).isEmpty();
+		verify(employeeRepository).findNextPage(0L, PageRequest.of(0, EmployeeServiceImpl.MAX_PAGE_SIZE + 1));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for searchEmployees operation")
+	public void givenMoreMatchesThanPageSize_whenSearchEmployees_thenReturnPageWithNameCursor() {
+		// given - precondition or setup
+		EmployeeSearchCriteria criteria = new EmployeeSearchCriteria(null, "Sudhakar", null, EmployeeSearchCriteria.Match.EXACT);
+		Employee employee1 = new Employee(1L,"Dhandapani","Sudhakar","dhandapani.sudhakar@dtechideas.com");
+		Employee employee2 = new Employee(2L,"Kathirvel","Sudhakar","kathirvel.sudhakar@dtechideas.com");
+		given(employeeRepository.searchEmployees(criteria, null, 2)).willReturn(List.of(employee1, employee2));
+		given(employeeRepository.searchEmployees(any(EmployeeSearchCriteria.class), argThat(after -> after != null && after.getId().equals(1L)
+				&& after.getFirstName().equals("Dhandapani") && after.getLastName().equals("Sudhakar")), anyInt())).willReturn(List.of(employee2));
+		// when - action or the behaviour
+		EmployeePage firstPage = employeeService.searchEmployees(criteria, null, 1);
+		EmployeePage lastPage = employeeService.searchEmployees(criteria, firstPage.getNext(), 1);
+		// then - verify the output
+		assertThat(firstPage.getContent()).containsExactly(employee1);
+		assertThat(lastPage.getContent()).containsExactly(employee2);
+		assertThat(lastPage.getNext()).isNull();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for autocompleteEmployees operation")
+	public void givenIndexedEmployees_whenAutocompleteEmployees_thenLoadMissesOnceAndKeepIndexOrder() {
+		// given - precondition or setup
+		Employee employee1 = new Employee(1L,"Dhandapani","Sudhakar","dhandapani.sudhakar@dtechideas.com");
+		Employee employee2 = new Employee(2L,"Kathirvel","Sudhakar","kathirvel.sudhakar@dtechideas.com");
+		employeeNameIndex.put(employee1);
+		employeeNameIndex.put(employee2);
+		employeeNameIndex.put(new Employee(3L,"Deleted","Sudhakar","deleted.sudhakar@dtechideas.com"));
+		given(employeeRepository.findAllById(anySet())).willReturn(List.of(employee2, employee1));
+		// when - action or the behaviour
+		List<Employee> suggestions = employeeService.autocompleteEmployees("sudha", 10);
+		List<Employee> cachedSuggestions = employeeService.autocompleteEmployees("sudha", 10);
+		// then - verify the output
+		assertThat(suggestions).containsExactly(employee1, employee2);
+		assertThat(cachedSuggestions).containsExactly(employee1, employee2);
+		verify(employeeRepository, times(1)).findAllById(anySet());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for autocompleteEmployees operation - no match")
+	public void givenUnknownPrefix_whenAutocompleteEmployees_thenReturnEmptyListWithoutQuery() {
+		// when - action or the behaviour
+		List<Employee> suggestions = employeeService.autocompleteEmployees("nobody", 10);
+		// then - verify the output
+		assertThat(suggestions).isEmpty();
+		verify(employeeRepository, never()).findAllById(anySet());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for searchEmployees operation - throw InvalidCursorException")
+	public void givenInvalidCursor_whenSearchEmployees_thenThrowInvalidCursorException() {
+		// when - action or the behaviour
+		assertThrows(InvalidCursorException.class, () -> {
+			employeeService.searchEmployees(new EmployeeSearchCriteria(), "not-a-cursor", 10);
+		});
+		// then - verify the output
+		verify(employeeRepository, never()).searchEmployees(any(EmployeeSearchCriteria.class), any(Employee.class), anyInt());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeesPage operation - throw InvalidCursorException")
+	public void givenInvalidCursor_whenGetEmployeesPage_thenThrowInvalidCursorException() {
+		// when - action or the behaviour
+		assertThrows(InvalidCursorException.class, () -> {
+			employeeService.getEmployeesPage("%%%", 10);
+		});
+		// then - verify the output
+		verify(employeeRepository, never()).findNextPage(anyLong(), any(PageRequest.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for exportEmployees operation")
+	public void givenConsumer_whenExportEmployees_thenVisitEveryEmployeeThroughRepositoryCursor() {
+		// given - precondition or setup
+		Consumer<Employee> consumer = exportedEmployee -> { };
+		// when - action or the behaviour
+		employeeService.exportEmployees(consumer);
+		// then - verify the output
+		verify(employeeRepository).forEachEmployee(consumer);
+		verify(employeeRepository, never()).findAll();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - projections")
+	public void givenReadProjections_whenGetEmployeeById_thenLoadProjection() {
+		// given - precondition or setup
+		employeeService.setReadProjections(true);
+		given(employeeRepository.findProjectedById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		Employee foundEmployee = employeeService.getEmployeeById(employee.getId());
+		// then - verify the output
+		assertThat(foundEmployee).isSameAs(employee);
+		verify(employeeRepository, never()).findById(anyLong());
+	}
+	
 	@Test
 	@DisplayName("JUnit test for getEmployeeById operation")
 	public void givenEmployeeId_whenFindEmployeeById_thenReturnEmployee() {
@@ -120,9 +377,47 @@ public class EmployeeServiceTest {
 		// given - precondition or setup
 		given(employeeRepository.findById(anyLong())).willReturn(Optional.ofNullable(null));
 		// when - action or the behaviour
-		assertThrows(ResourceNotFoundException.class, () -> {
+		ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
 			employeeService.getEmployeeById(employee.getId());
 		});
+		// then - verify the output
+		assertThat(exception.getStackTrace()).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for findEmployeeById operation - missing employee")
+	public void givenMissingEmployeeId_whenFindEmployeeById_thenReturnEmptyOptional() {
+		// given - precondition or setup
+		given(employeeRepository.findById(anyLong())).willReturn(Optional.empty());
+		// when - action or the behaviour
+		Optional<Employee> foundEmployee = employeeService.findEmployeeById(employee.getId());
+		// then - verify the output
+		assertThat(foundEmployee).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - repeated reads are served from the cache")
+	public void givenEmployeeId_whenFindEmployeeByIdTwice_thenQueryRepositoryOnce() {
+		// given - precondition or setup
+		given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+		// when - action or the behaviour
+		employeeService.getEmployeeById(employee.getId());
+		Employee foundEmployee = employeeService.getEmployeeById(employee.getId());
+		// then - verify the output
+		assertThat(foundEmployee).isSameAs(employee);
+		verify(employeeRepository, times(1)).findById(employee.getId());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - missing ids are remembered")
+	public void givenMissingEmployeeId_whenFindEmployeeByIdTwice_thenQueryRepositoryOnce() {
+		// given - precondition or setup
+		given(employeeRepository.findById(anyLong())).willReturn(Optional.empty());
+		// when - action or the behaviour
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(employee.getId()));
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(employee.getId()));
+		// then - verify the output
+		verify(employeeRepository, times(1)).findById(employee.getId());
 	}
 	
 	@Test
@@ -131,23 +426,219 @@ public class EmployeeServiceTest {
 		// given - precondition or setup
 		given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
 		employee.setEmail("meenakshi.r@dtechideas.com");
-		given(employeeRepository.save(employee)).willReturn(employee);
+		given(employeeRepository.updateIfVersionMatches(employee.getId(), employee.getVersion(), employee.getFirstName(),
+				employee.getLastName(), employee.getEmail())).willReturn(1);
 		// when - action or the behaviour
 		Employee updatedEmployee = employeeService.updateEmployee(employee.getId(),employee);
 		// then - verify the output
 		assertThat(updatedEmployee).isNotNull();
 		assertThat(updatedEmployee.getEmail()).isEqualTo(employee.getEmail());
+		assertThat(updatedEmployee.getVersion()).isEqualTo(employee.getVersion() + 1);
+		verify(employeeRepository, never()).save(any(Employee.class));
+		verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent event) -> event.getType() == EmployeeChangedEvent.Type.UPDATED
+				&& event.getEmployeeId().equals(employee.getId())));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - updated by someone else after it was read")
+	public void givenConcurrentUpdate_whenUpdateEmployee_thenThrowObjectOptimisticLockingFailureException() {
+		// given - precondition or setup
+		given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+		given(employeeRepository.updateIfVersionMatches(anyLong(), anyLong(), any(String.class), any(String.class), any(String.class))).willReturn(0);
+		given(employeeRepository.existsById(employee.getId())).willReturn(true);
+		// when - action or the behaviour
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+			employeeService.updateEmployee(employee.getId(), employee);
+		});
+		// then - verify the output
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - expected version matches")
+	public void givenCurrentVersion_whenUpdateEmployee_thenUpdateWithOneStatement() {
+		// given - precondition or setup
+		given(employeeRepository.updateIfVersionMatches(employee.getId(), 3L, employee.getFirstName(), employee.getLastName(),
+				employee.getEmail())).willReturn(1);
+		// when - action or the behaviour
+		Employee updatedEmployee = employeeService.updateEmployee(employee.getId(), employee, 3L);
+		// then - verify the output
+		assertThat(updatedEmployee.getVersion()).isEqualTo(4L);
+		assertThat(updatedEmployee.getEmail()).isEqualTo(employee.getEmail());
+		verify(employeeRepository, never()).findById(anyLong());
+		verify(employeeRepository, never()).save(any(Employee.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - expected version is stale")
+	public void givenStaleVersion_whenUpdateEmployee_thenThrowPreconditionFailedException() {
+		// given - precondition or setup
+		given(employeeRepository.updateIfVersionMatches(anyLong(), anyLong(), any(String.class), any(String.class), any(String.class))).willReturn(0);
+		given(employeeRepository.existsById(employee.getId())).willReturn(true);
+		// when - action or the behaviour
+		assertThrows(PreconditionFailedException.class, () -> {
+			employeeService.updateEmployee(employee.getId(), employee, 2L);
+		});
+		// then - verify the output
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - expected version of missing employee")
+	public void givenMissingEmployee_whenUpdateEmployeeWithVersion_thenThrowResourceNotFoundException() {
+		// given - precondition or setup
+		given(employeeRepository.updateIfVersionMatches(anyLong(), anyLong(), any(String.class), any(String.class), any(String.class))).willReturn(0);
+		given(employeeRepository.existsById(employee.getId())).willReturn(false);
+		// when - action or the behaviour
+		assertThrows(ResourceNotFoundException.class, () -> {
+			employeeService.updateEmployee(employee.getId(), employee, 2L);
+		});
 	}
 	
 	@Test
 	@DisplayName("JUnit test for deleteEmployeeById operation")
 	public void givenEmployeeId_whenDeleteEmployeeById_thenReturnTrue() {
 		// given - precondition or setup
+		given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
+		// when - action or the behaviour
+		employeeService.deleteEmployeeById(employee.getId());
+		// then - verify the output
+		verify(employeeRepository,times(1)).deleteEmployeeById(employee.getId());
+		verify(employeeRepository, never()).findById(anyLong());
+		verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent event) -> event.getType() == EmployeeChangedEvent.Type.DELETED
+				&& event.getEmployeeId().equals(employee.getId())));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployeeIfExists operation - missing employee")
+	public void givenMissingEmployee_whenUpdateEmployeeIfExists_thenReturnEmptyOptional() {
+		// given - precondition or setup
+		given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
+		// when - action or the behaviour
+		Optional<Employee> updatedEmployee = employeeService.updateEmployeeIfExists(employee.getId(), employee, null);
+		// then - verify the output
+		assertThat(updatedEmployee).isEmpty();
+		verify(employeeRepository, never()).save(any(Employee.class));
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for deleteEmployeeIfExists operation - missing employee")
+	public void givenInvalidEmployeeId_whenDeleteEmployeeIfExists_thenReturnFalse() {
+		// given - precondition or setup
+		given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(0);
+		// when - action or the behaviour
+		boolean deleted = employeeService.deleteEmployeeIfExists(employee.getId());
+		// then - verify the output
+		assertThat(deleted).isFalse();
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for deleteEmployeeById operation - ResourceNotFoundException")
+	public void givenInvalidEmployeeId_whenDeleteEmployeeById_thenThrowsResourceNotFoundException() {
+		// given - precondition or setup
+		given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(0);
+		// when - action or the behaviour
+		assertThrows(ResourceNotFoundException.class, () -> {
+			employeeService.deleteEmployeeById(employee.getId());
+		});
+		// then - verify the output
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for deleteEmployeesByIds operation")
+	public void givenEmployeeIds_whenDeleteEmployeesByIds_thenDeleteInChunks() {
+		// given - precondition or setup
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1; id <= EmployeeServiceImpl.BATCH_CHUNK_SIZE + 10; id++) {
+			ids.add(id);
+		}
+		ids.add(1L);
+		given(employeeRepository.deleteEmployeesByIds(anyList())).willReturn(EmployeeServiceImpl.BATCH_CHUNK_SIZE, 7);
+		// when - action or the behaviour
+		int deleted = employeeService.deleteEmployeesByIds(ids);
+		// then - verify the output
+		assertThat(deleted).isEqualTo(EmployeeServiceImpl.BATCH_CHUNK_SIZE + 7);
+		verify(employeeRepository, times(2)).deleteEmployeesByIds(anyList());
+		verify(eventPublisher, times(EmployeeServiceImpl.BATCH_CHUNK_SIZE + 10)).publishEvent(any(EmployeeChangedEvent.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - write-behind")
+	public void givenWriteBehindQueue_whenUpdateEmployee_thenEnqueueWithoutWriting() {
+		// given - precondition or setup
+		employeeService.setWriteBehindQueue(writeBehindQueue);
+		employee.setVersion(3);
+		given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+		Employee update = new Employee("Meena", "Ramesh", employee.getEmail());
+		// when - action or the behaviour
+		Employee updatedEmployee = employeeService.updateEmployee(employee.getId(), update);
+		// then - verify the output
+		assertThat(updatedEmployee.getFirstName()).isEqualTo("Meena");
+		assertThat(updatedEmployee.getVersion()).isEqualTo(4);
+		verify(writeBehindQueue).enqueue(updatedEmployee);
+		verify(employeeRepository, never()).save(any(Employee.class));
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - write-behind gives a coalesced update the next version")
+	public void givenPendingUpdate_whenUpdateEmployee_thenReturnNextVersion() {
+		// given - precondition or setup
+		employeeService.setWriteBehindQueue(writeBehindQueue);
+		Employee pendingEmployee = new Employee(employee.getId(), "Meena", "Ramesh", employee.getEmail());
+		pendingEmployee.setVersion(4);
+		given(writeBehindQueue.get(employee.getId())).willReturn(pendingEmployee);
+		// when - action or the behaviour
+		Employee updatedEmployee = employeeService.updateEmployee(employee.getId(), new Employee("Meenu", "Ramesh", employee.getEmail()));
+		// then - verify the output
+		assertThat(updatedEmployee.getVersion()).isEqualTo(5);
+		verify(employeeRepository, never()).findById(anyLong());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for updateEmployee operation - write-behind refuses an email pending for another employee")
+	public void givenEmailPendingForOtherEmployee_whenUpdateEmployee_thenThrowsResourceAlreadyExistsException() {
+		// given - precondition or setup
+		employeeService.setWriteBehindQueue(writeBehindQueue);
 		given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
-		willDoNothing().given(employeeRepository).deleteById(employee.getId());
+		given(writeBehindQueue.isEmailPendingForOther(employee.getId(), "meena@dtechideas.com")).willReturn(true);
+		// when - action or the behaviour
+		assertThrows(ResourceAlreadyExistsException.class, () -> {
+			employeeService.updateEmployee(employee.getId(), new Employee("Meena", "Ramesh", "meena@dtechideas.com"));
+		});
+		// then - verify the output
+		verify(writeBehindQueue, never()).enqueue(any(Employee.class));
+	}
+	
+	@Test
+	@DisplayName("JUnit test for getEmployeeById operation - write-behind read-your-writes")
+	public void givenPendingUpdate_whenGetEmployeeById_thenReturnPendingState() {
+		// given - precondition or setup
+		employeeService.setWriteBehindQueue(writeBehindQueue);
+		Employee pendingEmployee = new Employee(employee.getId(), "Meena", "Ramesh", employee.getEmail());
+		given(writeBehindQueue.get(employee.getId())).willReturn(pendingEmployee);
+		// when - action or the behaviour
+		Employee foundEmployee = employeeService.getEmployeeById(employee.getId());
+		// then - verify the output
+		assertThat(foundEmployee).isSameAs(pendingEmployee);
+		verify(employeeRepository, never()).findById(anyLong());
+	}
+	
+	@Test
+	@DisplayName("JUnit test for deleteEmployeeById operation - write-behind flushes the pending update first")
+	public void givenPendingUpdate_whenDeleteEmployeeById_thenFlushBeforeDelete() {
+		// given - precondition or setup
+		employeeService.setWriteBehindQueue(writeBehindQueue);
+		given(writeBehindQueue.get(employee.getId())).willReturn(employee);
+		given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
 		// when - action or the behaviour
 		employeeService.deleteEmployeeById(employee.getId());
 		// then - verify the output
-		verify(employeeRepository,times(1)).deleteById(employee.getId());
+		InOrder inOrder = inOrder(writeBehindQueue, employeeRepository);
+		inOrder.verify(writeBehindQueue).flush();
+		inOrder.verify(employeeRepository).deleteEmployeeById(employee.getId());
 	}
 }
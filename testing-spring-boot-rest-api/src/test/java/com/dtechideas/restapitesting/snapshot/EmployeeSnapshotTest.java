@@ -0,0 +1,50 @@
+package com.dtechideas.restapitesting.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtechideas.restapitesting.model.Employee;
+
+public class EmployeeSnapshotTest {
+
+	@Test
+	@DisplayName("JUnit test for employee snapshot - rows read back as they were added")
+	public void givenRows_whenToList_thenReturnEmployeesInRowOrder() {
+		// given - precondition or setup
+		EmployeeSnapshot snapshot = EmployeeSnapshot.builder()
+				.add(1L, "Dhandapani", "Sudhakar", "dhandapani.sudhakar@dtechideas.com", 3L)
+				.add(2L, "Élodie", "Durand", "élodie.durand@dtechideas.com", 0L)
+				.build();
+		// when - action or the behaviour
+		List<Employee> employees = snapshot.toList();
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getId).containsExactly(1L, 2L);
+		assertThat(employees.get(0).getVersion()).isEqualTo(3L);
+		assertThat(employees.get(1).getFirstName()).isEqualTo("Élodie");
+		assertThat(employees.get(1).getEmail()).isEqualTo("élodie.durand@dtechideas.com");
+	}
+
+	@Test
+	@DisplayName("JUnit test for employee snapshot - repeated names share the dictionary")
+	public void givenManyRowsWithRepeatedNames_whenBuild_thenKeepEveryRowAndDistinctNamesOnce() {
+		// given - precondition or setup
+		EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder();
+		for (long id = 1; id <= 5000; id++) {
+			builder.add(id, "First" + (id % 10), "Last" + (id % 20), "employee" + id + "@dtechideas.com", 0L);
+		}
+		// when - action or the behaviour
+		EmployeeSnapshot snapshot = builder.build();
+		List<Employee> employees = new ArrayList<>();
+		snapshot.forEach(employees::add);
+		// then - verify the output
+		assertThat(snapshot.size()).isEqualTo(5000);
+		assertThat(snapshot.dictionarySize()).isEqualTo(30);
+		assertThat(employees.get(4999).getEmail()).isEqualTo("employee5000@dtechideas.com");
+		assertThat(employees.get(4999).getLastName()).isEqualTo("Last0");
+	}
+}
@@ -0,0 +1,231 @@
+package com.dtechideas.restapitesting.writebehind;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dtechideas.restapitesting.event.EmployeeChangedEvent;
+import com.dtechideas.restapitesting.model.Employee;
+import com.dtechideas.restapitesting.repository.EmployeeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeWriteBehindQueueTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@TempDir
+	Path logDirectory;
+
+	private EmployeeWriteBehindQueue writeBehindQueue;
+
+	@BeforeEach
+	public void setUp() {
+		writeBehindQueue = newQueue();
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		writeBehindQueue.destroy();
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - updates of the same id are coalesced, each with its own version")
+	public void givenTwoUpdatesOfSameId_whenGet_thenReturnLatestAndKeepOneEntry() {
+		// given - precondition or setup
+		writeBehindQueue.enqueue(employee(1L, "Meena", 1));
+		// when - action or the behaviour
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 1));
+		// then - verify the output
+		assertThat(writeBehindQueue.get(1L).getFirstName()).isEqualTo("Meenakshi");
+		assertThat(writeBehindQueue.get(1L).getVersion()).isEqualTo(2);
+		assertThat(writeBehindQueue.size()).isEqualTo(1);
+		assertThat(writeBehindQueue.get(2L)).isNull();
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - flush writes the latest state and version once")
+	public void givenCoalescedUpdates_whenFlush_thenWriteLatestStateAndDeleteLog() throws Exception {
+		// given - precondition or setup
+		given(employeeRepository.updateToVersion(anyLong(), anyLong(), any(), any(), any())).willReturn(1);
+		writeBehindQueue.enqueue(employee(1L, "Meena", 1));
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 2));
+		// when - action or the behaviour
+		writeBehindQueue.flush();
+		// then - verify the output
+		verify(employeeRepository, times(1)).updateToVersion(1L, 2L, "Meenakshi", "Ramesh", "meenakshi.ramesh1@dtechideas.com");
+		verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent event) -> event.getType() == EmployeeChangedEvent.Type.UPDATED
+				&& event.getEmployeeId().equals(1L)));
+		verify(transactionManager).commit(any());
+		assertThat(writeBehindQueue.isEmpty()).isTrue();
+		try (Stream<Path> segments = Files.list(logDirectory)) {
+			assertThat(segments).isEmpty();
+		}
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - an update the database refuses is dead-lettered, not dropped")
+	public void givenUpdateViolatingConstraint_whenFlush_thenMoveItToDeadLetterFile() throws Exception {
+		// given - precondition or setup
+		given(employeeRepository.updateToVersion(anyLong(), anyLong(), any(), any(), any()))
+				.willThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 1));
+		// when - action or the behaviour
+		writeBehindQueue.flush();
+		// then - verify the output
+		assertThat(writeBehindQueue.isEmpty()).isTrue();
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+		try (Stream<Path> files = Files.list(logDirectory)) {
+			assertThat(files).extracting(file -> file.getFileName().toString()).containsExactly(EmployeeUpdateLog.DEAD_LETTER_FILE);
+		}
+		assertThat(new String(Files.readAllBytes(logDirectory.resolve(EmployeeUpdateLog.DEAD_LETTER_FILE)), StandardCharsets.UTF_8))
+				.contains("\"email\":\"meenakshi.ramesh1@dtechideas.com\"", "\"reason\":\"Unique index or primary key violation\"");
+		writeBehindQueue = newQueue();
+		assertThat(writeBehindQueue.isEmpty()).isTrue();
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - an update overtaken by a newer version is dead-lettered, not written")
+	public void givenNewerVersionInDatabase_whenFlush_thenMoveUpdateToDeadLetterFile() throws Exception {
+		// given - precondition or setup
+		given(employeeRepository.updateToVersion(anyLong(), anyLong(), any(), any(), any())).willReturn(0);
+		given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(3L));
+		given(employeeRepository.findVersionById(2L)).willReturn(Optional.of(2L));
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 2));
+		writeBehindQueue.enqueue(employee(2L, "Ramesh", 2));
+		writeBehindQueue.enqueue(employee(3L, "Kathirvel", 2));
+		// when - action or the behaviour
+		writeBehindQueue.flush();
+		// then - verify the output
+		assertThat(writeBehindQueue.isEmpty()).isTrue();
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+		List<String> deadLetters = Files.readAllLines(logDirectory.resolve(EmployeeUpdateLog.DEAD_LETTER_FILE), StandardCharsets.UTF_8);
+		assertThat(deadLetters).hasSize(1);
+		assertThat(deadLetters.get(0)).contains("\"id\":1,", "\"version\":2,", "newer version");
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - an email is pending for the id that set it only")
+	public void givenPendingUpdate_whenIsEmailPendingForOther_thenMatchOtherIdsOnly() {
+		// given - precondition or setup
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 1));
+		// when - action or the behaviour
+		// then - verify the output
+		assertThat(writeBehindQueue.isEmailPendingForOther(2L, "meenakshi.ramesh1@dtechideas.com")).isTrue();
+		assertThat(writeBehindQueue.isEmailPendingForOther(1L, "meenakshi.ramesh1@dtechideas.com")).isFalse();
+		assertThat(writeBehindQueue.isEmailPendingForOther(2L, "ramesh@dtechideas.com")).isFalse();
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - nothing pending, nothing written")
+	public void givenNoUpdates_whenFlush_thenDoNotTouchDatabase() {
+		// when - action or the behaviour
+		writeBehindQueue.flush();
+		// then - verify the output
+		verify(employeeRepository, never()).updateToVersion(anyLong(), anyLong(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - acknowledged updates survive a restart")
+	public void givenUnflushedUpdates_whenRestarted_thenUpdatesArePendingAgain() throws Exception {
+		// given - precondition or setup
+		writeBehindQueue.enqueue(employee(1L, "Meena", 1));
+		writeBehindQueue.enqueue(employee(2L, "Ramesh", 4));
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 1));
+		/* Simulate a crash: the log is closed without the final flush of destroy() */
+		writeBehindQueue = newQueue();
+		// when - action or the behaviour
+		Employee recoveredEmployee = writeBehindQueue.get(1L);
+		// then - verify the output
+		assertThat(recoveredEmployee.getFirstName()).isEqualTo("Meenakshi");
+		assertThat(recoveredEmployee.getVersion()).isEqualTo(2);
+		assertThat(writeBehindQueue.get(2L).getVersion()).isEqualTo(4);
+		assertThat(writeBehindQueue.size()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - updates acknowledged by concurrent writers sharing an fsync survive a restart")
+	public void givenConcurrentUpdates_whenRestarted_thenEveryAcknowledgedUpdateIsPendingAgain() throws Exception {
+		// given - precondition or setup
+		ExecutorService writers = Executors.newFixedThreadPool(8);
+		List<Future<?>> acknowledgements = new ArrayList<>();
+		for (long id = 1; id <= 200; id++) {
+			Employee employee = employee(id, "Meenakshi", 1);
+			acknowledgements.add(writers.submit(() -> writeBehindQueue.enqueue(employee)));
+		}
+		for (Future<?> acknowledgement : acknowledgements) {
+			acknowledgement.get();
+		}
+		writers.shutdown();
+		/* Simulate a crash: the log is closed without the final flush of destroy() */
+		writeBehindQueue = newQueue();
+		// when - action or the behaviour
+		int recoveredUpdates = writeBehindQueue.size();
+		// then - verify the output
+		assertThat(recoveredUpdates).isEqualTo(200);
+		assertThat(writeBehindQueue.get(200L).getFirstName()).isEqualTo("Meenakshi");
+	}
+
+	@Test
+	@DisplayName("JUnit test for write-behind queue - a torn last line is skipped on recovery")
+	public void givenTornLastLine_whenRestarted_thenRecoverCompleteLines() throws Exception {
+		// given - precondition or setup
+		writeBehindQueue.enqueue(employee(1L, "Meenakshi", 1));
+		Path segment;
+		try (Stream<Path> segments = Files.list(logDirectory)) {
+			segment = segments.findFirst().get();
+		}
+		Files.write(segment, "{\"id\":2,\"firstN".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		// when - action or the behaviour
+		writeBehindQueue = newQueue();
+		// then - verify the output
+		assertThat(writeBehindQueue.get(1L).getFirstName()).isEqualTo("Meenakshi");
+		assertThat(writeBehindQueue.get(2L)).isNull();
+	}
+
+	private EmployeeWriteBehindQueue newQueue() {
+		EmployeeWriteBehindQueue queue = new EmployeeWriteBehindQueue(employeeRepository, transactionManager, eventPublisher,
+				logDirectory, Duration.ofHours(1), 1000, 500);
+		queue.afterPropertiesSet();
+		return queue;
+	}
+
+	private static Employee employee(Long id, String firstName, long version) {
+		Employee employee = new Employee(id, firstName, "Ramesh", "meenakshi.ramesh" + id + "@dtechideas.com");
+		employee.setVersion(version);
+		return employee;
+	}
+}
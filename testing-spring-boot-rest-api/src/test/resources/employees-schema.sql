@@ -0,0 +1,13 @@
+create table if not exists employees (
+	id bigint not null primary key,
+	first_name varchar(255) not null,
+	last_name varchar(255) not null,
+	email varchar(255) not null,
+	version bigint default 0 not null,
+	constraint uk_employees_email unique (email)
+);
+create index if not exists idx_employees_last_name_first_name on employees (last_name, first_name);
+create table if not exists hibernate_sequence (next_val bigint);
+insert into hibernate_sequence (next_val) select 1 where not exists (select 1 from hibernate_sequence);
+create table if not exists employees_replication_heartbeat (id int not null primary key, position bigint not null);
+insert into employees_replication_heartbeat (id, position) select 1, 0 where not exists (select 1 from employees_replication_heartbeat where id = 1);